@@ -0,0 +1,70 @@
+package com.nisum.oppenheimer.benchmark;
+
+import com.nisum.oppenheimer.model.id.TimeOrderedIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the insert throughput of a user row with a per-row sequence round trip and a random UUIDv4 key
+ * ({@code sequence}) against an in-memory time-ordered id and a UUIDv7 key ({@code timeOrdered}), on a private
+ * in-memory H2 database with the id primary key and the xkey index of the users table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IdGenerationBenchmark {
+
+    private static final String INSERT = "INSERT INTO users (id, xkey, name, email, password) VALUES (?, ?, ?, ?, ?)";
+
+    @Param({"sequence", "timeOrdered"})
+    private String ids;
+
+    private JdbcTemplate jdbc;
+    private TimeOrderedIdGenerator generator;
+    private long row;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:id-benchmark-" + ids + ";DB_CLOSE_DELAY=-1",
+                                                            "sa", ""));
+        jdbc.execute("CREATE SEQUENCE user_sequence START WITH 1 INCREMENT BY 1");
+        jdbc.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, xkey VARCHAR(36) NOT NULL, name VARCHAR(255), "
+                     + "email VARCHAR(255) UNIQUE, password VARCHAR(255))");
+        jdbc.execute("CREATE INDEX idx_users_xkey ON users (xkey)");
+        generator = new TimeOrderedIdGenerator(0, Clock.systemUTC());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbc.execute("SHUTDOWN");
+    }
+
+    @Benchmark
+    public int insert() {
+        long id;
+        String xkey;
+        if ("sequence".equals(ids)) {
+            id = jdbc.queryForObject("SELECT NEXT VALUE FOR user_sequence", Long.class);
+            xkey = UUID.randomUUID().toString();
+        } else {
+            id = generator.nextId();
+            xkey = generator.nextKey().toString();
+        }
+        long n = row++;
+        return jdbc.update(INSERT, id, xkey, "User " + n, "user-" + n + "@nisum.com", "hash");
+    }
+}
@@ -0,0 +1,58 @@
+package com.nisum.oppenheimer.benchmark;
+
+import com.nisum.oppenheimer.config.Argon2Settings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one Argon2 hash and one verification. The parameters default to the {@code password.*} values of
+ * {@code application.yml}; add values to them to compare other costs in the same run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "Hunter2@Secret";
+
+    @Param({"60000"})
+    private int memory;
+
+    @Param({"10"})
+    private int iterations;
+
+    @Param({"1"})
+    private int parallelism;
+
+    private Argon2PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new Argon2Settings(16, 32, parallelism, memory, iterations).toEncoder();
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+}
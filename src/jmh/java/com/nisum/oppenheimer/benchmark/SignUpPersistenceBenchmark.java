@@ -0,0 +1,78 @@
+package com.nisum.oppenheimer.benchmark;
+
+import com.nisum.oppenheimer.Application;
+import com.nisum.oppenheimer.model.Phone;
+import com.nisum.oppenheimer.model.User;
+import com.nisum.oppenheimer.model.id.IdGenerator;
+import com.nisum.oppenheimer.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the insert of a new user with a varying number of phones, through the repository and the
+ * in-memory H2 database of the application. The password hash is precomputed: Argon2 is measured by its
+ * own benchmark. Sampled times show the tail of the insert, not only its average.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SignUpPersistenceBenchmark {
+
+    private static final String HASH = "$argon2id$v=19$m=60000,t=10,p=1$c2FsdA$aGFzaA";
+
+    @Param({"0", "1", "10"})
+    private int phones;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private IdGenerator idGenerator;
+    private List<Phone> phoneList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties("warmup.enabled=false",
+                            "spring.datasource.url=jdbc:h2:mem:signup-benchmark-" + phones)
+                .run();
+        userRepository = context.getBean(UserRepository.class);
+        idGenerator = context.getBean(IdGenerator.class);
+        phoneList = IntStream.range(0, phones)
+                             .mapToObj(i -> new Phone(8093433200L + i, (short) 1, (short) 57))
+                             .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User insert() {
+        return userRepository.save(User.builder()
+                                       .xkey(idGenerator.nextKey().toString())
+                                       .name("Juan Rodriguez")
+                                       .email("juan" + sequence.incrementAndGet() + "@rodriguez.org")
+                                       .password(HASH)
+                                       .phones(phoneList)
+                                       .build());
+    }
+}
@@ -0,0 +1,56 @@
+package com.nisum.oppenheimer.benchmark;
+
+import com.auth0.jwt.interfaces.Claim;
+import com.nisum.oppenheimer.model.User;
+import com.nisum.oppenheimer.security.SigningKeyRing;
+import com.nisum.oppenheimer.service.impl.TokenServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures issuing and checking the sign-up token with the HS256 key ring the default configuration builds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenServiceBenchmark {
+
+    private TokenServiceImpl tokenService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenServiceImpl(SigningKeyRing.hmac("benchmarkSecretKey"), 3_600_000L);
+        user = User.builder()
+                   .xkey(UUID.randomUUID().toString())
+                   .name("Juan Rodriguez")
+                   .email("juan@rodriguez.org")
+                   .build();
+        token = tokenService.generate(user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return tokenService.generate(user);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return tokenService.verify(token);
+    }
+
+    @Benchmark
+    public Map<String, Claim> decode() {
+        return tokenService.decode(token);
+    }
+}
@@ -0,0 +1,62 @@
+package com.nisum.oppenheimer.benchmark;
+
+import com.nisum.oppenheimer.util.Constants;
+import com.nisum.oppenheimer.validation.CharacterRules;
+import com.nisum.oppenheimer.validation.ValidPasswordValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the password and email checks of the sign-up request against the precompiled regexes they replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidPasswordValidatorBenchmark {
+
+    private static final Pattern PASSWORD_PATTERN = Pattern.compile(Constants.PASSWORD_REGEX);
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(Constants.EMAIL_REGEX);
+
+    @Param({"Hunter2@Secret", "weakpassword", "Aa1@Aa1@Aa1@Aa1@Aa1@Aa1@Aa1@Aa1@Aa1@Aa1@"})
+    private String password;
+
+    @Param({"juan@rodriguez.org"})
+    private String email;
+
+    private ValidPasswordValidator validator;
+
+    @Setup
+    public void setUp() {
+        validator = new ValidPasswordValidator();
+        validator.initialize(null);
+    }
+
+    @Benchmark
+    public boolean passwordValidator() {
+        return validator.isValid(password, null);
+    }
+
+    @Benchmark
+    public boolean passwordRegex() {
+        return PASSWORD_PATTERN.matcher(password).matches();
+    }
+
+    @Benchmark
+    public boolean emailRules() {
+        return CharacterRules.isEmail(email);
+    }
+
+    @Benchmark
+    public boolean emailRegex() {
+        return EMAIL_PATTERN.matcher(email).matches();
+    }
+}
@@ -0,0 +1,60 @@
+package com.nisum.oppenheimer.service.impl;
+
+import com.nisum.oppenheimer.api.restful.controllers.dto.PhoneDTO;
+import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO;
+import com.nisum.oppenheimer.model.User;
+import com.nisum.oppenheimer.model.id.IdGenerator;
+import com.nisum.oppenheimer.model.id.TimeOrderedIdGenerator;
+import com.nisum.oppenheimer.service.record.UserRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the mapping done by {@link UserServiceImpl} and {@link UserEntityMapper} around the database call, with a precomputed password
+ * hash: Argon2 is measured by its own benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserMappingBenchmark {
+
+    private static final String HASH = "$argon2id$v=19$m=60000,t=10,p=1$c2FsdA$aGFzaA";
+
+    private IdGenerator idGenerator;
+    private UserServiceImpl userService;
+    private UserDTO dto;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        idGenerator = new TimeOrderedIdGenerator(1, Clock.systemUTC());
+        userService = new UserServiceImpl(null, null, null, null, idGenerator, null, null, null, null, null, null);
+        dto = UserDTO.builder()
+                     .name("Juan Rodriguez")
+                     .email("juan@rodriguez.org")
+                     .password("Hunter2@Secret")
+                     .phones(List.of(PhoneDTO.builder().number("1234567").cityCode("1").countryCode("57").build(),
+                                     PhoneDTO.builder().number("7654321").cityCode("2").countryCode("57").build()))
+                     .build();
+        user = UserEntityMapper.toUserEntity(dto, HASH, idGenerator);
+    }
+
+    @Benchmark
+    public User mapToUserEntity() {
+        return UserEntityMapper.toUserEntity(dto, HASH, idGenerator);
+    }
+
+    @Benchmark
+    public UserRecord mapToUserRecord() {
+        return userService.mapToUserRecord(user, "token");
+    }
+}
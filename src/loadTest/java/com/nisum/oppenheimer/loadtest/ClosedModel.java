@@ -0,0 +1,61 @@
+package com.nisum.oppenheimer.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends sign-ups from a fixed number of users, each waiting for its response before the next request, like a
+ * pool of clients with a bounded number of connections would.
+ * <p>
+ * Without pacing, a user sends its next request as soon as the previous one completes, so the offered load
+ * adapts to the server and the response time equals the service time. With pacing, each user is due to start a
+ * request every pacing interval; a request that starts late because the previous one was slow is measured from
+ * when it was due, which corrects for coordinated omission.
+ * </p>
+ */
+final class ClosedModel {
+
+    private final SignUpClient client;
+
+    ClosedModel(SignUpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Runs the users on virtual threads until the duration elapses and their last responses arrive.
+     *
+     * @param measurement the measurement to record into
+     * @param users       the number of concurrent users
+     * @param pacing      the interval between the due starts of a user's requests, or zero for none
+     * @param duration    how long users keep starting requests
+     */
+    void run(Measurement measurement, int users, Duration pacing, Duration duration) {
+        long interval = pacing.toNanos();
+
+        measurement.start();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                // Paced users are spread evenly over the interval instead of starting in lockstep
+                long firstStart = start + interval * user / users;
+                executor.submit(() -> {
+                    long intendedStart = firstStart;
+                    while (intendedStart < end) {
+                        long wait = intendedStart - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                        long sentAt = System.nanoTime();
+                        int status = client.signUp().join();
+                        long completedAt = System.nanoTime();
+                        measurement.record(interval > 0 ? intendedStart : sentAt, sentAt, completedAt, status);
+                        intendedStart = interval > 0 ? intendedStart + interval : completedAt;
+                    }
+                });
+            }
+        }
+        measurement.stop();
+    }
+}
@@ -0,0 +1,146 @@
+package com.nisum.oppenheimer.loadtest;
+
+import com.nisum.oppenheimer.Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Entry point of the {@code loadTest} Gradle task.
+ * <p>
+ * Unless {@code load.target} names a running instance, the application is started in this JVM on a random
+ * port with the default configuration, so requests go through the embedded server, the H2 datasource and the
+ * Hikari pool of {@code application.yml}. Generator and server then share the machine, so the results compare
+ * changes on the same host rather than predict production capacity. Every measured run is preceded by an
+ * unmeasured warm-up at the same load.
+ * </p>
+ *
+ * <p>
+ * The {@code threads} mode runs the open model twice at {@code load.rate}, once on a fresh instance serving
+ * requests on platform threads and once on one serving them on virtual threads, and writes both reports
+ * side by side.
+ * </p>
+ *
+ * <p>
+ * The {@code coldstart} mode measures the first {@code load.coldRequests} requests at {@code load.rate} on a
+ * freshly started instance, without any load warm-up. Run it once with {@code load.appWarmup=true} and once
+ * without: each Gradle run is a new JVM, so the second report shows the same requests on a JIT-cold instance.
+ * </p>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) {
+        var options = LoadTestOptions.fromSystemProperties();
+        if ("threads".equals(options.mode())) {
+            compareThreads(options, args);
+            return;
+        }
+
+        ConfigurableApplicationContext context = null;
+        var target = options.target();
+        if (target == null) {
+            context = start(args, options.virtualThreads(), options.appWarmup());
+            target = baseUri(context);
+        }
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var client = new SignUpClient(target, options.requestTimeout(), executor);
+            var openModel = new OpenModel(client, options.maxInFlight());
+            System.out.printf("Load test of %s in %s mode%n", client.uri(), options.mode());
+
+            switch (options.mode()) {
+                case "open" -> {
+                    openModel.run(new Measurement("warmup", options.rate()), options.rate(), options.warmup(),
+                                  options.requestTimeout());
+                    var measurement = new Measurement("open", options.rate());
+                    openModel.run(measurement, options.rate(), options.duration(), options.requestTimeout());
+                    System.out.println(measurement.write(options.reportDir()));
+                }
+                case "closed" -> {
+                    var closedModel = new ClosedModel(client);
+                    double rate = options.pacing().isZero()
+                            ? 0 : options.users() * 1e9 / options.pacing().toNanos();
+                    closedModel.run(new Measurement("warmup", rate), options.users(), options.pacing(),
+                                    options.warmup());
+                    var measurement = new Measurement("closed", rate);
+                    closedModel.run(measurement, options.users(), options.pacing(), options.duration());
+                    System.out.println(measurement.write(options.reportDir()));
+                }
+                case "coldstart" -> {
+                    var name = options.appWarmup() ? "coldstart-warm" : "coldstart-cold";
+                    var measurement = new Measurement(name, options.rate());
+                    var duration = Duration.ofNanos((long) (options.coldRequests() * 1e9 / options.rate()));
+                    openModel.run(measurement, options.rate(), duration, options.requestTimeout());
+                    System.out.println(measurement.write(options.reportDir()));
+                }
+                case "sweep" -> {
+                    openModel.run(new Measurement("warmup", options.sweepFrom()), options.sweepFrom(),
+                                  options.warmup(), options.requestTimeout());
+                    new SaturationSweep(openModel, options).run();
+                }
+                default -> throw new IllegalArgumentException("Unknown load.mode: " + options.mode());
+            }
+            System.out.printf("Reports written to %s%n", options.reportDir().toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Runs the same open-model load against an instance on platform threads and one on virtual threads.
+     */
+    private static void compareThreads(LoadTestOptions options, String[] args) {
+        if (options.target() != null) {
+            throw new IllegalArgumentException("The threads mode starts its own instances; remove load.target");
+        }
+        var summaries = new ArrayList<Measurement.Summary>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            var name = virtual ? "threads-virtual" : "threads-platform";
+            try (var context = start(args, virtual, options.appWarmup());
+                 var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                var client = new SignUpClient(baseUri(context), options.requestTimeout(), executor);
+                var openModel = new OpenModel(client, options.maxInFlight());
+                System.out.printf("Load test of %s on %s threads%n", client.uri(), virtual ? "virtual" : "platform");
+
+                openModel.run(new Measurement("warmup", options.rate()), options.rate(), options.warmup(),
+                              options.requestTimeout());
+                var measurement = new Measurement(name, options.rate());
+                openModel.run(measurement, options.rate(), options.duration(), options.requestTimeout());
+                summaries.add(measurement.write(options.reportDir()));
+            }
+        }
+        summaries.forEach(System.out::println);
+        System.out.printf("Reports written to %s%n", options.reportDir().toAbsolutePath());
+    }
+
+    /**
+     * Starts the application. The overrides are passed as command-line arguments, which take precedence over
+     * {@code application.yml}.
+     */
+    private static ConfigurableApplicationContext start(String[] args, boolean virtualThreads, boolean appWarmup) {
+        var overrides = Stream.of("--server.port=0",
+                                  "--logging.level.com.nisum.oppenheimer=WARN",
+                                  "--logging.level.com.nisum.oppenheimer.config.WarmUpRunner=INFO",
+                                  "--spring.threads.virtual.enabled=" + virtualThreads,
+                                  "--warmup.enabled=" + appWarmup);
+        return new SpringApplicationBuilder(Application.class)
+                .run(Stream.concat(Stream.of(args), overrides).toArray(String[]::new));
+    }
+
+    private static URI baseUri(ConfigurableApplicationContext context) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        var contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+        return URI.create("http://localhost:" + port + contextPath + "/");
+    }
+}
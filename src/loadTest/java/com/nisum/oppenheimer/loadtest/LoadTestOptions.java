@@ -0,0 +1,70 @@
+package com.nisum.oppenheimer.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * The load test settings, read from {@code load.*} system properties, which the {@code loadTest} Gradle task
+ * copies from the matching project properties.
+ *
+ * @param mode           {@code open}, {@code closed}, {@code sweep}, {@code threads} or {@code coldstart}
+ * @param target         the base URI of a running instance, or null to start one in process
+ * @param virtualThreads whether the instance started in process serves requests on virtual threads
+ * @param appWarmup      whether the instance started in process runs its warm-up before it is ready
+ * @param rate           the arrival rate of the open model, in requests per second
+ * @param users          the concurrent users of the closed model
+ * @param pacing         the time between the starts of consecutive requests of a closed-model user, or zero
+ *                       to send the next request as soon as the previous one completes
+ * @param duration       how long each measured run lasts
+ * @param warmup         how long the unmeasured run before each measured one lasts
+ * @param maxInFlight    the outstanding requests above which the open model drops arrivals instead of sending them
+ * @param requestTimeout the time after which a request counts as failed
+ * @param sweepFrom      the first rate of the saturation sweep
+ * @param sweepTo        the last rate of the saturation sweep
+ * @param sweepStep      the rate increment of the saturation sweep
+ * @param coldRequests   the requests measured right after startup in the coldstart mode
+ * @param kneeFactor     how many times the p99 of the first sweep step a later step may reach before it is
+ *                       past the knee
+ * @param reportDir      the directory the reports are written to
+ */
+record LoadTestOptions(String mode,
+                       URI target,
+                       boolean virtualThreads,
+                       boolean appWarmup,
+                       double rate,
+                       int users,
+                       Duration pacing,
+                       Duration duration,
+                       Duration warmup,
+                       int maxInFlight,
+                       Duration requestTimeout,
+                       double sweepFrom,
+                       double sweepTo,
+                       double sweepStep,
+                       double kneeFactor,
+                       int coldRequests,
+                       Path reportDir) {
+
+    static LoadTestOptions fromSystemProperties() {
+        var target = System.getProperty("load.target");
+        return new LoadTestOptions(
+                System.getProperty("load.mode", "open"),
+                target == null ? null : URI.create(target.endsWith("/") ? target : target + "/"),
+                Boolean.getBoolean("load.virtualThreads"),
+                Boolean.getBoolean("load.appWarmup"),
+                Double.parseDouble(System.getProperty("load.rate", "20")),
+                Integer.getInteger("load.users", 8),
+                Duration.parse(System.getProperty("load.pacing", "PT0S")),
+                Duration.parse(System.getProperty("load.duration", "PT30S")),
+                Duration.parse(System.getProperty("load.warmup", "PT10S")),
+                Integer.getInteger("load.maxInFlight", 1000),
+                Duration.parse(System.getProperty("load.requestTimeout", "PT30S")),
+                Double.parseDouble(System.getProperty("load.sweep.from", "10")),
+                Double.parseDouble(System.getProperty("load.sweep.to", "200")),
+                Double.parseDouble(System.getProperty("load.sweep.step", "10")),
+                Double.parseDouble(System.getProperty("load.kneeFactor", "3")),
+                Integer.getInteger("load.coldRequests", 200),
+                Path.of(System.getProperty("load.reportDir", "build/reports/loadtest")));
+    }
+}
@@ -0,0 +1,185 @@
+package com.nisum.oppenheimer.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The latencies and response statuses of one run.
+ * <p>
+ * Two histograms are kept. The response time is measured from the moment a request was due to be sent, which
+ * corrects for coordinated omission: when the server stalls, requests queued behind the stall are charged the
+ * time they waited to be sent. The service time is measured from the moment the request was actually sent,
+ * which is what a load generator that waits for the server would report. Both are recorded in nanoseconds.
+ * </p>
+ */
+final class Measurement {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String name;
+    private final double targetRate;
+    private final Histogram responseTime = new ConcurrentHistogram(3);
+    private final Histogram serviceTime = new ConcurrentHistogram(3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    private long startedAt;
+    private long endedAt;
+
+    /**
+     * @param name       the name the reports are written under
+     * @param targetRate the intended arrival rate, in requests per second, or zero for a closed model without pacing
+     */
+    Measurement(String name, double targetRate) {
+        this.name = name;
+        this.targetRate = targetRate;
+    }
+
+    void start() {
+        startedAt = System.nanoTime();
+    }
+
+    void stop() {
+        endedAt = System.nanoTime();
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param intendedStart when the request was due to be sent
+     * @param sentAt        when the request was sent
+     * @param completedAt   when the response, or the failure, arrived
+     * @param status        the response status, or {@link SignUpClient#NO_RESPONSE}
+     */
+    void record(long intendedStart, long sentAt, long completedAt, int status) {
+        responseTime.recordValue(Math.max(0, completedAt - intendedStart));
+        serviceTime.recordValue(Math.max(0, completedAt - sentAt));
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Records an arrival the open model did not send because too many requests were outstanding.
+     */
+    void drop() {
+        dropped.increment();
+    }
+
+    /**
+     * Summarizes the run. Throughput only counts successful sign-ups; every other outcome is an error.
+     *
+     * @return the summary
+     */
+    Summary summary() {
+        var byStatus = new TreeMap<Integer, Long>();
+        statuses.forEach((status, count) -> byStatus.put(status, count.sum()));
+        long succeeded = byStatus.entrySet().stream()
+                                 .filter(entry -> entry.getKey() >= 200 && entry.getKey() < 300)
+                                 .mapToLong(Map.Entry::getValue)
+                                 .sum();
+        long total = responseTime.getTotalCount();
+        double seconds = (endedAt - startedAt) / 1e9;
+
+        return new Summary(name,
+                           targetRate,
+                           succeeded / seconds,
+                           total,
+                           total - succeeded,
+                           dropped.sum(),
+                           byStatus,
+                           millis(responseTime.getValueAtPercentile(50)),
+                           millis(responseTime.getValueAtPercentile(99)),
+                           millis(responseTime.getValueAtPercentile(99.9)),
+                           millis(responseTime.getMaxValue()),
+                           millis(serviceTime.getValueAtPercentile(50)),
+                           millis(serviceTime.getValueAtPercentile(99)),
+                           millis(serviceTime.getValueAtPercentile(99.9)));
+    }
+
+    /**
+     * Writes the summary as JSON and both full percentile distributions in the {@code .hgrm} format, which
+     * the HdrHistogram plotter reads, with values in milliseconds.
+     *
+     * @param dir the report directory
+     * @return the summary
+     */
+    Summary write(Path dir) {
+        var summary = summary();
+        try {
+            Files.createDirectories(dir);
+            JSON.writeValue(dir.resolve(name + ".json").toFile(), summary);
+            try (var out = new PrintStream(Files.newOutputStream(dir.resolve(name + "-response-time.hgrm")))) {
+                responseTime.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+            try (var out = new PrintStream(Files.newOutputStream(dir.resolve(name + "-service-time.hgrm")))) {
+                serviceTime.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return summary;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * The summary of a run. Latencies are in milliseconds.
+     *
+     * @param name             the run name
+     * @param targetRate       the intended arrival rate, in requests per second
+     * @param throughput       the successful sign-ups per second
+     * @param requests         the requests completed
+     * @param errors           the completed requests that did not succeed
+     * @param dropped          the arrivals the open model did not send
+     * @param statuses         the completed requests by response status
+     * @param p50              the median response time
+     * @param p99              the 99th percentile response time
+     * @param p999             the 99.9th percentile response time
+     * @param max              the maximum response time
+     * @param serviceTimeP50   the median service time
+     * @param serviceTimeP99   the 99th percentile service time
+     * @param serviceTimeP999  the 99.9th percentile service time
+     */
+    record Summary(String name,
+                   double targetRate,
+                   double throughput,
+                   long requests,
+                   long errors,
+                   long dropped,
+                   Map<Integer, Long> statuses,
+                   double p50,
+                   double p99,
+                   double p999,
+                   double max,
+                   double serviceTimeP50,
+                   double serviceTimeP99,
+                   double serviceTimeP999) {
+
+        double errorRate() {
+            long attempted = requests + dropped;
+            return attempted == 0 ? 0 : (double) (errors + dropped) / attempted;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-24s target %8.1f/s  throughput %8.1f/s  requests %7d  errors %6d  dropped %6d"
+                                 + "  p50 %8.2f ms  p99 %8.2f ms  p99.9 %8.2f ms  max %8.2f ms  %s",
+                                 name, targetRate, throughput, requests, errors, dropped,
+                                 p50, p99, p999, max, statuses);
+        }
+    }
+}
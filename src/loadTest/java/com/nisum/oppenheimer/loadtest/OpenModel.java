@@ -0,0 +1,75 @@
+package com.nisum.oppenheimer.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends sign-ups at a constant arrival rate, whatever the server's response time, like independent clients
+ * would. Each request is due at a fixed point of the schedule and its response time is measured from that
+ * point, so a late send, whether the generator or the server is to blame, is charged to the request.
+ */
+final class OpenModel {
+
+    private final SignUpClient client;
+    private final int maxInFlight;
+
+    OpenModel(SignUpClient client, int maxInFlight) {
+        this.client = client;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Runs the schedule and waits for the outstanding responses.
+     *
+     * @param measurement  the measurement to record into
+     * @param rate         the arrival rate, in requests per second
+     * @param duration     how long arrivals are scheduled for
+     * @param drainTimeout how long to wait for outstanding responses after the last arrival
+     */
+    void run(Measurement measurement, double rate, Duration duration, Duration drainTimeout) {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        var pending = new Phaser(1);
+        var inFlight = new AtomicInteger();
+
+        measurement.start();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * interval;
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            // Blocking here would hold back the schedule, so arrivals over the limit are dropped and reported
+            if (inFlight.incrementAndGet() > maxInFlight) {
+                inFlight.decrementAndGet();
+                measurement.drop();
+                continue;
+            }
+            pending.register();
+            long sentAt = System.nanoTime();
+            client.signUp().thenAccept(status -> {
+                measurement.record(intendedStart, sentAt, System.nanoTime(), status);
+                inFlight.decrementAndGet();
+                pending.arriveAndDeregister();
+            });
+        }
+
+        try {
+            pending.awaitAdvanceInterruptibly(pending.arrive(), drainTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            System.err.printf("%d requests still outstanding after %s%n", inFlight.get(), drainTimeout);
+        }
+        measurement.stop();
+    }
+}
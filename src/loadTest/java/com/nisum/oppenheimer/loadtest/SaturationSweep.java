@@ -0,0 +1,97 @@
+package com.nisum.oppenheimer.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs the open model at increasing arrival rates to find the knee of the latency curve: the highest rate the
+ * server sustains before queueing takes over.
+ * <p>
+ * A step is past the knee when the throughput falls more than 5% short of the arrival rate, when more than 1%
+ * of the arrivals fail or are dropped, or when its p99 exceeds {@code load.kneeFactor} times the p99 of the
+ * first step. The sweep stops after two consecutive steps past the knee, since the server only gets slower
+ * from there.
+ * </p>
+ */
+final class SaturationSweep {
+
+    private static final double MIN_THROUGHPUT_RATIO = 0.95;
+    private static final double MAX_ERROR_RATE = 0.01;
+    private static final int STEPS_PAST_KNEE = 2;
+
+    private final OpenModel openModel;
+    private final LoadTestOptions options;
+
+    SaturationSweep(OpenModel openModel, LoadTestOptions options) {
+        this.openModel = openModel;
+        this.options = options;
+    }
+
+    /**
+     * Runs the sweep, writing the report of every step and a summary of the sweep.
+     *
+     * @return the highest rate sustained, or zero if even the first step was past the knee
+     */
+    double run() {
+        var steps = new ArrayList<Measurement.Summary>();
+        double baselineP99 = 0;
+        double knee = 0;
+        int pastKnee = 0;
+
+        for (double rate = options.sweepFrom(); rate <= options.sweepTo() && pastKnee < STEPS_PAST_KNEE;
+             rate += options.sweepStep()) {
+            var measurement = new Measurement(String.format(Locale.ROOT, "sweep-%07.1f", rate), rate);
+            openModel.run(measurement, rate, options.duration(), options.requestTimeout());
+            var summary = measurement.write(options.reportDir());
+            steps.add(summary);
+            System.out.println(summary);
+
+            if (steps.size() == 1) {
+                baselineP99 = summary.p99();
+            }
+            if (sustained(summary, baselineP99)) {
+                knee = rate;
+                pastKnee = 0;
+            } else {
+                pastKnee++;
+            }
+        }
+
+        System.out.printf("Knee of the curve: %.1f sign-ups/s%n", knee);
+        write(new Result(knee, options.kneeFactor(), steps));
+        return knee;
+    }
+
+    private boolean sustained(Measurement.Summary summary, double baselineP99) {
+        return summary.throughput() >= summary.targetRate() * MIN_THROUGHPUT_RATIO
+               && summary.errorRate() <= MAX_ERROR_RATE
+               && summary.p99() <= baselineP99 * options.kneeFactor();
+    }
+
+    private void write(Result result) {
+        try {
+            Files.createDirectories(options.reportDir());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                              .writeValue(options.reportDir().resolve("sweep.json").toFile(), result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The outcome of a sweep.
+     *
+     * @param knee       the highest rate sustained
+     * @param kneeFactor the p99 growth over the first step that marks a step as past the knee
+     * @param steps      the summaries of the steps run
+     */
+    record Result(double knee, double kneeFactor, List<Measurement.Summary> steps) {
+    }
+}
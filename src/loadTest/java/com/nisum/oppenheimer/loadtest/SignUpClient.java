@@ -0,0 +1,65 @@
+package com.nisum.oppenheimer.loadtest;
+
+import com.nisum.oppenheimer.util.Constants;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends sign-up requests, each with an email never used before, so that every request takes the full
+ * creation path instead of failing fast as a duplicate.
+ */
+final class SignUpClient {
+
+    /**
+     * The status recorded for a request that failed without a response, such as a timeout or a reset.
+     */
+    static final int NO_RESPONSE = -1;
+
+    private static final String BODY = """
+            {"name":"Load User %1$d","email":"load.%2$s.%1$d@oppenheimer.test","password":"Load@Test%1$d",\
+            "phones":[{"number":"%3$07d","citycode":"1","countrycode":"57"}]}""";
+
+    private final HttpClient httpClient;
+    private final URI uri;
+    private final Duration requestTimeout;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+
+    SignUpClient(URI baseUri, Duration requestTimeout, Executor executor) {
+        this.httpClient = HttpClient.newBuilder()
+                                    .version(HttpClient.Version.HTTP_1_1)
+                                    .connectTimeout(Duration.ofSeconds(5))
+                                    .executor(executor)
+                                    .build();
+        this.uri = baseUri.resolve(Constants.USER_PATH_REST_ENDPOINT.substring(1));
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Sends one sign-up.
+     *
+     * @return the response status, or {@link #NO_RESPONSE} when the request failed
+     */
+    CompletableFuture<Integer> signUp() {
+        long n = sequence.incrementAndGet();
+        var request = HttpRequest.newBuilder(uri)
+                                 .timeout(requestTimeout)
+                                 .header("Content-Type", Constants.USER_V1_MEDIA_TYPE)
+                                 .header("Accept", Constants.USER_V1_MEDIA_TYPE)
+                                 .POST(HttpRequest.BodyPublishers.ofString(BODY.formatted(n, runId, n % 10_000_000)))
+                                 .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                         .handle((response, error) -> error == null ? response.statusCode() : NO_RESPONSE);
+    }
+
+    URI uri() {
+        return uri;
+    }
+}
@@ -1,11 +1,16 @@
 package com.nisum.oppenheimer;
 
+import com.nisum.oppenheimer.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling
 @EnableJpaAuditing
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class Application {
 	public static void main(String[] args) {
 		SpringApplication.run(Application.class, args);
@@ -1,11 +1,19 @@
 package com.nisum.oppenheimer.api.restful.controllers;
 
+import com.nisum.oppenheimer.service.exception.AuthenticationFailedException;
+import com.nisum.oppenheimer.service.exception.DuplicateEmailException;
+import com.nisum.oppenheimer.service.exception.IdempotencyKeyReusedException;
+import com.nisum.oppenheimer.service.exception.RequestInProgressException;
+import com.nisum.oppenheimer.service.exception.ServiceOverloadedException;
+import com.nisum.oppenheimer.service.exception.UserNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -64,6 +72,111 @@ public class ApiExceptionAdviser {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles WebExchangeBindException, the reactive counterpart of MethodArgumentNotValidException,
+     * and returns the same map of field names and error messages with a 400 Bad Request status.
+     *
+     * @param ex the WebExchangeBindException thrown during validation
+     * @return a ResponseEntity containing a map of field errors
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleWebExchangeBindException(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getFieldErrors()
+          .forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles AuthenticationFailedException and returns a 401 Unauthorized response.
+     *
+     * @param ex the AuthenticationFailedException thrown on invalid credentials
+     * @return a ResponseEntity containing the error message
+     */
+    @ExceptionHandler(AuthenticationFailedException.class)
+    public ResponseEntity<Map<String, String>> handleAuthenticationFailedException(AuthenticationFailedException ex) {
+        var error = Map.of("message", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * Handles DuplicateEmailException and returns a 409 Conflict response.
+     *
+     * This exception occurs when the email of a new user is already registered,
+     * whether the check found it up front or the unique constraint rejected the insert.
+     *
+     * @param ex the DuplicateEmailException thrown on a duplicate sign-up
+     * @return a ResponseEntity containing the error message
+     */
+    @ExceptionHandler(DuplicateEmailException.class)
+    public ResponseEntity<Map<String, String>> handleDuplicateEmailException(DuplicateEmailException ex) {
+        var error = Map.of("message", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles IdempotencyKeyReusedException and returns a 422 Unprocessable Entity response.
+     *
+     * This exception occurs when an Idempotency-Key is sent again with a request
+     * other than the one it was first used with.
+     *
+     * @param ex the IdempotencyKeyReusedException thrown on a reused key
+     * @return a ResponseEntity containing the error message
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ex) {
+        var error = Map.of("message", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    /**
+     * Handles RequestInProgressException and returns a 409 Conflict response.
+     *
+     * This exception occurs when a request with the same Idempotency-Key is still
+     * running on another instance. The response carries a Retry-After header, after
+     * which the retry gets the stored response.
+     *
+     * @param ex the RequestInProgressException thrown on a key held in flight
+     * @return a ResponseEntity containing the error message and the Retry-After header
+     */
+    @ExceptionHandler(RequestInProgressException.class)
+    public ResponseEntity<Map<String, String>> handleRequestInProgressException(RequestInProgressException ex) {
+        var error = Map.of("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                             .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                             .body(error);
+    }
+
+    /**
+     * Handles UserNotFoundException and returns a 404 Not Found response.
+     *
+     * @param ex the UserNotFoundException thrown when no user has the requested key
+     * @return a ResponseEntity containing the error message
+     */
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleUserNotFoundException(UserNotFoundException ex) {
+        var error = Map.of("message", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles ServiceOverloadedException and returns a 503 Service Unavailable response.
+     *
+     * This exception occurs when a bounded processing stage, such as password hashing,
+     * cannot accept more work. The response carries a Retry-After header so clients
+     * back off instead of piling up on the server.
+     *
+     * @param ex the ServiceOverloadedException thrown by the saturated stage
+     * @return a ResponseEntity containing the error message and the Retry-After header
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Map<String, String>> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        var error = Map.of("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                             .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                             .body(error);
+    }
+
     /**
      * Handles any other uncaught exceptions and returns a 500 Internal Server Error response.
      *
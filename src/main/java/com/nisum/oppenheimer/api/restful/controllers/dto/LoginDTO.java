@@ -0,0 +1,41 @@
+package com.nisum.oppenheimer.api.restful.controllers.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nisum.oppenheimer.util.Constants;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * LoginDTO represents the credentials sent by a user to log in.
+ *
+ * <p>
+ * Only presence and size are validated here; the password strength rules of {@link UserDTO}
+ * do not apply, since the stored hash is the only source of truth for a login.
+ * </p>
+ */
+@Data
+@Builder
+@ToString(exclude = "password")
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LoginDTO {
+
+    /**
+     * The email address of the user.
+     */
+    @JsonProperty("email")
+    @Size(max = Constants.EMAIL_MAX_SIZE)
+    @NotBlank(message = Constants.EMAIL_REQUIRED)
+    private String email;
+
+    /**
+     * The raw password of the user.
+     */
+    @JsonProperty("password")
+    @NotBlank(message = Constants.PASSWORD_REQUIRED)
+    private String password;
+}
@@ -3,6 +3,7 @@ package com.nisum.oppenheimer.api.restful.controllers.dto;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.nisum.oppenheimer.util.Constants;
+import com.nisum.oppenheimer.validation.DigitsOnly;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
@@ -20,7 +21,7 @@ import lombok.*;
  * The validation constraints ensure that:
  * <ul>
  *     <li>{@link NotNull} and {@link NotBlank} for mandatory fields.</li>
- *     <li>{@link Pattern} for ensuring valid formats based on defined regex patterns in {@link Constants}.</li>
+ *     <li>{@link DigitsOnly} for ensuring the fields only contain digits, without a regular expression.</li>
  *     <li>{@link Size} for limiting the length of the fields.</li>
  * </ul>
  * </p>
@@ -43,20 +44,20 @@ public class PhoneDTO {
     @Size(max = Constants.PHONE_NUMBER_MAX_SIZE)
     @NotNull(message = Constants.PHONE_NUMBER_REQUIRED)
     @NotBlank(message = Constants.PHONE_NUMBER_REQUIRED)
-    @Pattern(regexp = Constants.PHONE_NUMBER_REGEX, message = Constants.PHONE_NUMBER_INVALID)
+    @DigitsOnly(message = Constants.PHONE_NUMBER_INVALID)
     private String number;
 
     @JsonProperty("citycode")
     @Size(max = Constants.CITY_CODE_MAX_SIZE)
     @NotNull(message = Constants.CITY_CODE_REQUIRED)
     @NotBlank(message = Constants.CITY_CODE_REQUIRED)
-    @Pattern(regexp = Constants.CITY_CODE_REGEX, message = Constants.CITY_CODE_INVALID)
+    @DigitsOnly(message = Constants.CITY_CODE_INVALID)
     private String cityCode;
 
     @JsonProperty("countrycode")
     @Size(max = Constants.COUNTRY_CODE_MAX_SIZE)
     @NotNull(message = Constants.COUNTRY_CODE_REQUIRED)
     @NotBlank(message = Constants.COUNTRY_CODE_REQUIRED)
-    @Pattern(regexp = Constants.COUNTRY_CODE_REGEX, message = Constants.COUNTRY_CODE_INVALID)
+    @DigitsOnly(message = Constants.COUNTRY_CODE_INVALID)
     private String countryCode;
 }
@@ -3,11 +3,10 @@ package com.nisum.oppenheimer.api.restful.controllers.dto;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.nisum.oppenheimer.util.Constants;
+import com.nisum.oppenheimer.validation.ValidEmail;
 import com.nisum.oppenheimer.validation.ValidPassword;
 import jakarta.validation.Valid;
-import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
@@ -30,7 +29,7 @@ import java.util.List;
  *     <li>The 'email' field is required, must be a valid email format, and cannot exceed a maximum length.</li>
  *     <li>The 'password' field is required, must meet a minimum length, and must contain an uppercase letter,
  *     a lowercase letter, a digit, and a special character.</li>
- *     <li>The 'phones' field is optional, but if present, it must be a list of valid PhoneDTO objects.</li>
+ *     <li>The 'phones' field is optional, but if present, it must be a list of at most 20 valid PhoneDTO objects.</li>
  * </ul>
  * </p>
  *
@@ -63,14 +62,14 @@ public class UserDTO {
      * The email address of the user.
      * <p>
      * It must be a valid email format, must not be blank, and must not exceed {@code Constants.EMAIL_MAX_SIZE} characters.
-     * The regex pattern used for validation is defined in {@code Constants.EMAIL_REGEX}.
+     * It is checked by {@link ValidEmail}, which accepts the same addresses as {@code Constants.EMAIL_REGEX}
+     * together with {@code @Email}, without running either.
      * </p>
      */
     @JsonProperty("email")
     @Size(max = Constants.EMAIL_MAX_SIZE)
-    @Email(message = Constants.EMAIL_INVALID)
     @NotBlank(message = Constants.EMAIL_REQUIRED)
-    @Pattern(regexp = Constants.EMAIL_REGEX, message = Constants.EMAIL_INVALID)
+    @ValidEmail(message = Constants.EMAIL_INVALID)
     private String email;
 
     /**
@@ -78,7 +77,7 @@ public class UserDTO {
      * <p>
      * It must not be blank, must be at least {@code Constants.PASSWORD_MIN_SIZE} characters long,
      * and must contain at least one uppercase letter, one lowercase letter, one digit, and one special character.
-     * The regex pattern used for password validation is defined in {@code Constants.PASSWORD_REGEX}.
+     * The rules are those of {@code Constants.PASSWORD_REGEX}, checked without the regex by {@link ValidPassword}.
      * </p>
      */
     @JsonProperty("password")
@@ -90,9 +89,11 @@ public class UserDTO {
     /**
      * The list of phone numbers associated with the user.
      * <p>
-     * This field is optional, but if provided, each phone entry must be a valid {@code PhoneDTO}.
+     * This field is optional, but if provided, each phone entry must be a valid {@code PhoneDTO}, and there can be
+     * at most {@code Constants.PHONES_MAX_SIZE} of them. Requests with more are rejected with {@code 400}.
      * </p>
      */
     @JsonProperty("phones")
+    @Size(max = Constants.PHONES_MAX_SIZE, message = Constants.PHONES_TOO_MANY)
     private List<@Valid PhoneDTO> phones;
 }
@@ -0,0 +1,45 @@
+package com.nisum.oppenheimer.api.restful.controllers.impl;
+
+import com.nisum.oppenheimer.api.restful.controllers.spec.JwksController;
+import com.nisum.oppenheimer.config.TokenSigningProperties;
+import com.nisum.oppenheimer.security.JsonWebKeySet;
+import com.nisum.oppenheimer.util.Constants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Implementation of the {@link JwksController} interface.
+ * <p>
+ * The JWKS document is rendered ahead of time by {@link JsonWebKeySet}, and again only when a key expires or
+ * becomes valid; this endpoint only writes the precomputed bytes with a public {@code Cache-Control} and a
+ * strong ETag, answering revalidations with 304.
+ * </p>
+ */
+@RestController
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class JwksControllerImpl implements JwksController {
+
+    private final JsonWebKeySet jsonWebKeySet;
+    private final TokenSigningProperties tokenSigningProperties;
+
+    @Override
+    @GetMapping(value = Constants.JWKS_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> jwks(WebRequest request) {
+        var document = jsonWebKeySet.current();
+        if (request.checkNotModified(document.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                             .cacheControl(CacheControl.maxAge(tokenSigningProperties.jwksMaxAge()).cachePublic())
+                             .eTag(document.etag())
+                             .contentType(MediaType.APPLICATION_JSON)
+                             .body(document.body());
+    }
+}
@@ -0,0 +1,89 @@
+package com.nisum.oppenheimer.api.restful.controllers.impl;
+
+import com.nisum.oppenheimer.api.restful.controllers.dto.LoginDTO;
+import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO;
+import com.nisum.oppenheimer.api.restful.controllers.spec.ReactiveUserController;
+import com.nisum.oppenheimer.service.record.UserRecord;
+import com.nisum.oppenheimer.service.spec.ReactiveUserService;
+import com.nisum.oppenheimer.util.Constants;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of the {@link ReactiveUserController} interface, serving sign-up and login in the
+ * {@code reactive} profile.
+ * <p>
+ * The mappings, media type, status codes and headers are those of {@link UserControllerImpl}. Handlers return
+ * as soon as the pipeline is assembled, so the event loop is free while the password is hashed and the
+ * database answers.
+ * </p>
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping(
+        value = Constants.USER_PATH_REST_ENDPOINT,
+        consumes = Constants.USER_V1_MEDIA_TYPE,
+        produces = Constants.USER_V1_MEDIA_TYPE
+)
+@RequiredArgsConstructor
+public class ReactiveUserControllerImpl implements ReactiveUserController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveUserControllerImpl.class);
+
+    private final ReactiveUserService userService;
+
+    /**
+     * Handles the HTTP POST request for signing up a new user.
+     *
+     * @param dto     the {@link UserDTO} containing user details for sign-up
+     * @param request the current request
+     * @return a Mono emitting the created {@link UserRecord} with the location header of the created resource
+     */
+    @Override
+    @PostMapping
+    public Mono<ResponseEntity<UserRecord>> signUp(@Valid @RequestBody UserDTO dto, ServerHttpRequest request) {
+        logger.info("Processing sign-up request for email: {}", dto.getEmail());
+
+        return this.userService.create(dto).map(rspBody -> {
+            logger.info("Successfully created user with ID: {}", rspBody.id());
+
+            var location = UriComponentsBuilder.fromUri(request.getURI())
+                                               .path("/{id}")
+                                               .buildAndExpand(rspBody.id())
+                                               .toUri();
+            HttpHeaders httpHeaders = new HttpHeaders();
+            httpHeaders.add("Content-Type", Constants.USER_V1_MEDIA_TYPE);
+            httpHeaders.add("Location", location.toString());
+
+            return ResponseEntity.status(HttpStatus.CREATED).headers(httpHeaders).body(rspBody);
+        });
+    }
+
+    /**
+     * Handles the HTTP POST request for logging in a user.
+     *
+     * @param dto the {@link LoginDTO} containing the user's credentials
+     * @return a Mono emitting the authenticated {@link UserRecord}
+     */
+    @Override
+    @PostMapping(Constants.USER_LOGIN_PATH)
+    public Mono<ResponseEntity<UserRecord>> login(@Valid @RequestBody LoginDTO dto) {
+        return this.userService.login(dto).map(rspBody -> {
+            logger.info("Successfully logged in user with ID: {}", rspBody.id());
+            return ResponseEntity.ok().header("Content-Type", Constants.USER_V1_MEDIA_TYPE).body(rspBody);
+        });
+    }
+}
@@ -1,29 +1,56 @@
 package com.nisum.oppenheimer.api.restful.controllers.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.nisum.oppenheimer.api.restful.controllers.dto.LoginDTO;
 import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO;
 import com.nisum.oppenheimer.api.restful.controllers.spec.UserController;
+import com.nisum.oppenheimer.service.record.IdempotentResponseRecord;
+import com.nisum.oppenheimer.service.record.ImportResultRecord;
+import com.nisum.oppenheimer.service.record.UserPageRecord;
+import com.nisum.oppenheimer.service.record.UserProfileRecord;
 import com.nisum.oppenheimer.service.record.UserRecord;
+import com.nisum.oppenheimer.service.spec.IdempotencyService;
+import com.nisum.oppenheimer.service.spec.UserImportService;
+import com.nisum.oppenheimer.service.spec.UserProfileService;
+import com.nisum.oppenheimer.service.spec.UserSearchService;
 import com.nisum.oppenheimer.service.spec.UserService;
 import com.nisum.oppenheimer.util.Constants;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
 /**
  * Implementation of the {@link UserController} interface, handling user-related RESTful requests.
  * <p>
- * This controller provides endpoints for signing up new users using the {@link UserDTO}. The sign-up
- * process includes validating the request, creating the user in the system, and responding with the
- * appropriate HTTP status code and headers.
+ * This controller provides endpoints for signing up new users using the {@link UserDTO}, importing them in
+ * bulk, logging them in, fetching their profile and listing them. The sign-up process includes validating the request, creating the user in
+ * the system, and responding with the appropriate HTTP status code and headers.
  * </p>
  * <p>
  * The class uses {@link RequiredArgsConstructor} to inject dependencies and uses {@link UserService}
@@ -31,6 +58,7 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
  * </p>
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping(
         value = Constants.USER_PATH_REST_ENDPOINT,
         consumes = Constants.USER_V1_MEDIA_TYPE,
@@ -42,6 +70,11 @@ public class UserControllerImpl implements UserController {
     private static final Logger logger = LoggerFactory.getLogger(UserControllerImpl.class);
 
     private final UserService userService;
+    private final UserProfileService userProfileService;
+    private final UserImportService userImportService;
+    private final UserSearchService userSearchService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Handles the HTTP POST request for signing up a new user.
@@ -50,16 +83,45 @@ public class UserControllerImpl implements UserController {
      * {@link UserService#create} method. Upon successful creation, the newly created user's information
      * is returned in the response body along with the location header of the created resource.
      * </p>
+     * <p>
+     * With an {@code Idempotency-Key} header, the sign-up runs through the {@link IdempotencyService}: a retry
+     * with the same key and the same body, password included, gets the original 201 body and location back,
+     * without hashing the password or signing a token again, and duplicates sent while the first one runs wait
+     * for its outcome. The key is bound to the fields of the bound {@link UserDTO}, so the order of the JSON
+     * properties and the whitespace of the body do not matter.
+     * </p>
      *
-     * @param dto the {@link UserDTO} containing user details for sign-up
+     * @param dto            the {@link UserDTO} containing user details for sign-up
+     * @param idempotencyKey the {@code Idempotency-Key} header, if any
      * @return a {@link ResponseEntity} containing the created {@link UserRecord} and appropriate HTTP headers
      */
     @Override
     @PostMapping
-    public ResponseEntity<UserRecord> signUp(@Valid @RequestBody UserDTO dto) {
+    public ResponseEntity<UserRecord> signUp(@Valid @RequestBody UserDTO dto,
+                                             @RequestHeader(name = Constants.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         logger.info("Processing sign-up request for email: {}", dto.getEmail());
 
-        // Create the user via the service layer
+        // Create the user via the service layer, or replay the response of an earlier request with the same key
+        var response = idempotencyKey == null
+                ? createUser(dto)
+                : this.idempotencyService.execute(idempotencyKey, dto, () -> createUser(dto));
+
+        // Add necessary headers
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.add("Content-Type", Constants.USER_V1_MEDIA_TYPE);
+        httpHeaders.add("Location", response.location());
+
+        // Return a 201 Created response with the location header
+        return ResponseEntity.status(HttpStatus.CREATED).headers(httpHeaders).body(response.body());
+    }
+
+    /**
+     * Creates the user and builds the location of the created resource.
+     *
+     * @param dto the {@link UserDTO} containing user details for sign-up
+     * @return the body and location of the 201 response
+     */
+    private IdempotentResponseRecord createUser(UserDTO dto) {
         var rspBody = this.userService.create(dto);
 
         // Log creation success
@@ -70,12 +132,119 @@ public class UserControllerImpl implements UserController {
                                                   .path("/{id}")
                                                   .buildAndExpand(rspBody.id())
                                                   .toUri();
-        // Add necessary headers
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.add("Content-Type", Constants.USER_V1_MEDIA_TYPE);
-        httpHeaders.add("Location", location.toString());
+        return new IdempotentResponseRecord(null, location.toString(), rspBody);
+    }
 
-        // Return a 201 Created response with the location header
-        return ResponseEntity.status(HttpStatus.CREATED).headers(httpHeaders).body(rspBody);
+    /**
+     * Handles the HTTP POST request for logging in a user.
+     * <p>
+     * The credentials are verified by {@link UserService#login}. On success, the user's information is
+     * returned with a freshly generated token.
+     * </p>
+     *
+     * @param dto the {@link LoginDTO} containing the user's credentials
+     * @return a {@link ResponseEntity} containing the authenticated {@link UserRecord}
+     */
+    @Override
+    @PostMapping(Constants.USER_LOGIN_PATH)
+    public ResponseEntity<UserRecord> login(@Valid @RequestBody LoginDTO dto) {
+        var rspBody = this.userService.login(dto);
+
+        logger.info("Successfully logged in user with ID: {}", rspBody.id());
+
+        return ResponseEntity.ok().header("Content-Type", Constants.USER_V1_MEDIA_TYPE).body(rspBody);
+    }
+
+    /**
+     * Handles the HTTP GET request for retrieving a user by their public id.
+     * <p>
+     * The profile comes from {@link UserProfileService#find}, which reads through a cache. The response carries
+     * a strong ETag derived from the modification time of the user and {@code Cache-Control: private, no-cache},
+     * so clients keep their copy and revalidate it with {@code If-None-Match}, getting an empty 304 while it
+     * is current. The request has no body, so any content type is accepted.
+     * </p>
+     *
+     * @param id      the public id of the user
+     * @param request the current request
+     * @return a {@link ResponseEntity} containing the {@link UserProfileRecord}, or null once a 304 has been prepared
+     */
+    @Override
+    @GetMapping(value = Constants.USER_ID_PATH, consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<UserProfileRecord> get(@PathVariable("id") String id, WebRequest request) {
+        var rspBody = this.userProfileService.find(id);
+
+        if (request.checkNotModified(rspBody.etag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                             .cacheControl(CacheControl.noCache().cachePrivate())
+                             .eTag(rspBody.etag())
+                             .header("Content-Type", Constants.USER_V1_MEDIA_TYPE)
+                             .body(rspBody);
+    }
+
+    /**
+     * Handles the HTTP GET request for listing users.
+     * <p>
+     * The page comes from {@link UserSearchService#search}, which seeks past the position encoded in the
+     * {@code after} token instead of skipping an offset. The {@code next} token of the response fetches the
+     * following page with the same filters. The request has no body, so any content type is accepted.
+     * </p>
+     *
+     * @param email       the prefix the email of the users must start with
+     * @param createdFrom the inclusive lower bound of the creation time, as an ISO date-time
+     * @param createdTo   the exclusive upper bound of the creation time, as an ISO date-time
+     * @param limit       the maximum number of users in the page
+     * @param after       the continuation token of the previous page
+     * @return a {@link ResponseEntity} containing the {@link UserPageRecord}
+     */
+    @Override
+    @GetMapping(consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<UserPageRecord> search(
+            @RequestParam(name = "email", required = false) String email,
+            @RequestParam(name = "createdFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(name = "createdTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "after", required = false) String after) {
+        var rspBody = this.userSearchService.search(email, createdFrom, createdTo, limit, after);
+
+        return ResponseEntity.ok().header("Content-Type", Constants.USER_V1_MEDIA_TYPE).body(rspBody);
+    }
+
+    /**
+     * Handles the HTTP POST request for importing users in bulk.
+     * <p>
+     * The body is a JSON array or an NDJSON stream of {@link com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO}
+     * objects. It is handed to {@link UserImportService#importUsers} without being buffered, and the result of every
+     * record is written back as one compact JSON line, flushed after each batch, while the import is still running.
+     * </p>
+     *
+     * @param request the current request
+     * @return a {@link ResponseEntity} streaming the {@link ImportResultRecord} of each record as NDJSON
+     */
+    @Override
+    @PostMapping(value = Constants.USER_IMPORT_PATH,
+                 consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE, Constants.USER_V1_MEDIA_TYPE},
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importUsers(HttpServletRequest request) {
+        ObjectWriter writer = objectMapper.writerFor(ImportResultRecord.class).without(SerializationFeature.INDENT_OUTPUT);
+
+        StreamingResponseBody rspBody = out -> {
+            long records = this.userImportService.importUsers(request.getInputStream(), results -> {
+                try {
+                    for (ImportResultRecord result : results) {
+                        out.write(writer.writeValueAsBytes(result));
+                        out.write('\n');
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            logger.info("Successfully processed import of {} records", records);
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(rspBody);
     }
 }
@@ -0,0 +1,22 @@
+package com.nisum.oppenheimer.api.restful.controllers.spec;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * JwksController Interface
+ *
+ * <p>Publishes the public keys verifying Oppenheimer tokens as a JSON Web Key Set,
+ * so downstream services can verify tokens locally.</p>
+ */
+public interface JwksController {
+
+    /**
+     * Returns the JSON Web Key Set.
+     *
+     * @param request the current request, used for ETag revalidation.
+     * @return a ResponseEntity containing the JWKS document, or a 304 Not Modified
+     *         when the client already holds the current version.
+     */
+    ResponseEntity<byte[]> jwks(WebRequest request);
+}
@@ -0,0 +1,36 @@
+package com.nisum.oppenheimer.api.restful.controllers.spec;
+
+import com.nisum.oppenheimer.api.restful.controllers.dto.LoginDTO;
+import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO;
+import com.nisum.oppenheimer.service.record.UserRecord;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import reactor.core.publisher.Mono;
+
+/**
+ * ReactiveUserController Interface
+ *
+ * This interface defines the sign-up and login operations of {@link UserController} for the reactive profile.
+ * Requests, responses and error bodies are the same; the results are emitted asynchronously.
+ */
+public interface ReactiveUserController {
+
+    /**
+     * Signs up a new user with the provided UserDTO.
+     *
+     * @param userDTO the Data Transfer Object containing user details required for sign-up.
+     * @param request the current request, used to build the Location header.
+     * @return a Mono emitting the ResponseEntity with the created UserRecord and a 201 Created status.
+     *         If there are validation errors, an appropriate error response will be returned.
+     */
+    Mono<ResponseEntity<UserRecord>> signUp(UserDTO userDTO, ServerHttpRequest request);
+
+    /**
+     * Logs in a user with the provided credentials.
+     *
+     * @param loginDTO the Data Transfer Object containing the email and password.
+     * @return a Mono emitting the ResponseEntity with the UserRecord and a fresh token.
+     *         If the credentials are not valid, a 401 Unauthorized response will be returned.
+     */
+    Mono<ResponseEntity<UserRecord>> login(LoginDTO loginDTO);
+}
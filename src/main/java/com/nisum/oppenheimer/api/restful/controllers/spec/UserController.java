@@ -1,9 +1,16 @@
 package com.nisum.oppenheimer.api.restful.controllers.spec;
 
+import com.nisum.oppenheimer.api.restful.controllers.dto.LoginDTO;
 import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO;
+import com.nisum.oppenheimer.service.record.UserPageRecord;
+import com.nisum.oppenheimer.service.record.UserProfileRecord;
 import com.nisum.oppenheimer.service.record.UserRecord;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 
 /**
@@ -20,10 +27,57 @@ public interface UserController {
     /**
      * Signs up a new user with the provided UserDTO.
      *
-     * @param userDTO the Data Transfer Object containing user details required for sign-up.
+     * @param userDTO        the Data Transfer Object containing user details required for sign-up.
+     * @param idempotencyKey the {@code Idempotency-Key} of the request, if any; a retry with the same key
+     *                       gets the response of the first request instead of creating the user again.
      * @return a ResponseEntity containing the created UserRecord and the corresponding HTTP status.
      *         If the sign-up is successful, the status will be 201 Created.
      *         If there are validation errors, an appropriate error response will be returned.
+     *         If the key was used with another email, a 422 Unprocessable Entity response will be returned.
      */
-    ResponseEntity<UserRecord> signUp(UserDTO userDTO);
+    ResponseEntity<UserRecord> signUp(UserDTO userDTO, String idempotencyKey);
+
+    /**
+     * Logs in a user with the provided credentials.
+     *
+     * @param loginDTO the Data Transfer Object containing the email and password.
+     * @return a ResponseEntity containing the UserRecord with a fresh token.
+     *         If the credentials are valid, the status will be 200 OK.
+     *         If they are not, a 401 Unauthorized response will be returned.
+     */
+    ResponseEntity<UserRecord> login(LoginDTO loginDTO);
+
+    /**
+     * Retrieves the profile of a user by their public id.
+     *
+     * @param id      the public id of the user, as returned by sign-up.
+     * @param request the current request, used to evaluate {@code If-None-Match}.
+     * @return a ResponseEntity containing the UserProfileRecord and its ETag with a 200 OK status,
+     *         or an empty 304 Not Modified response if the client copy is still current.
+     *         If no user has the given id, a 404 Not Found response will be returned.
+     */
+    ResponseEntity<UserProfileRecord> get(String id, WebRequest request);
+
+    /**
+     * Lists users page by page, in creation order, optionally filtered by email prefix and creation time.
+     *
+     * @param email       the prefix the email of the users must start with, if any.
+     * @param createdFrom the inclusive lower bound of the creation time, if any.
+     * @param createdTo   the exclusive upper bound of the creation time, if any.
+     * @param limit       the maximum number of users in the page, if not the default.
+     * @param after       the {@code next} token of the previous page, absent for the first page.
+     * @return a ResponseEntity containing the UserPageRecord with a 200 OK status.
+     *         If the limit is out of range or the token is malformed, a 400 Bad Request response will be returned.
+     */
+    ResponseEntity<UserPageRecord> search(String email, LocalDateTime createdFrom, LocalDateTime createdTo,
+                                          Integer limit, String after);
+
+    /**
+     * Imports users in bulk from a JSON array or an NDJSON stream of UserDTO objects.
+     *
+     * @param request the current request, whose body is read incrementally.
+     * @return a ResponseEntity streaming one NDJSON result per imported record, with its status
+     *         ({@code created}, {@code duplicate} or {@code invalid}), in input order.
+     */
+    ResponseEntity<StreamingResponseBody> importUsers(HttpServletRequest request);
 }
@@ -0,0 +1,80 @@
+package com.nisum.oppenheimer.api.restful.converters;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO;
+import com.nisum.oppenheimer.service.record.UserRecord;
+import com.nisum.oppenheimer.util.Constants;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+
+/**
+ * Message converter for the sign-up hot path: it reads {@link UserDTO} requests and writes {@link UserRecord}
+ * responses.
+ * <p>
+ * The {@link ObjectReader} and {@link ObjectWriter} are bound to their types once, from the application
+ * {@link ObjectMapper}, so they share its features, including {@code FAIL_ON_UNKNOWN_PROPERTIES}. Each message
+ * then skips the type resolution and serializer lookup that the general Jackson converter repeats. Responses are
+ * rendered to a byte array first, so they go out with a {@code Content-Length} instead of chunked.
+ * </p>
+ *
+ * <p>
+ * Malformed or unknown input is reported as {@link HttpMessageNotReadableException}, as the general converter
+ * does. Every other type is left to the general converter.
+ * </p>
+ */
+public class UserJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final ObjectReader userReader;
+    private final ObjectWriter recordWriter;
+
+    public UserJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.parseMediaType(Constants.USER_V1_MEDIA_TYPE), MediaType.APPLICATION_JSON);
+        this.userReader = objectMapper.readerFor(UserDTO.class);
+        this.recordWriter = objectMapper.writerFor(UserRecord.class);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == UserDTO.class || clazz == UserRecord.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return clazz == UserDTO.class && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return clazz == UserRecord.class && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return userReader.readValue(inputMessage.getBody());
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        byte[] body;
+        try {
+            body = recordWriter.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + e.getOriginalMessage(), e);
+        }
+        outputMessage.getHeaders().setContentLength(body.length);
+        outputMessage.getBody().write(body);
+    }
+}
@@ -0,0 +1,124 @@
+package com.nisum.oppenheimer.api.restful.filters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servlet filter bounding the requests processed at once.
+ * <p>
+ * With virtual threads, Tomcat no longer caps concurrency at its worker pool size: every connection gets a thread,
+ * and thousands of them end up queued on the JDBC pool, where each waiting request holds its memory and can time
+ * out on {@code connection-timeout}. This filter admits at most {@code concurrency.limit.maxConcurrent} requests,
+ * in arrival order. A request that gets no permit within {@code concurrency.limit.acquireTimeout} is answered
+ * with a 503 and a {@code Retry-After} header. A request that goes async, such as the streaming import, keeps its
+ * permit until its async processing completes, not just until its first dispatch returns. The admitted and
+ * waiting requests, the time spent waiting and the rejections are published as metrics.
+ * </p>
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final Duration retryAfter;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(int maxConcurrent, Duration acquireTimeout, Duration retryAfter,
+                                  MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeout = acquireTimeout;
+        this.retryAfter = retryAfter;
+
+        Gauge.builder("http.server.concurrency.active", permits, p -> maxConcurrent - p.availablePermits())
+             .description("Requests holding a concurrency permit")
+             .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.waiting", permits, Semaphore::getQueueLength)
+             .description("Requests waiting for a concurrency permit")
+             .register(meterRegistry);
+        this.waitTimer = Timer.builder("http.server.concurrency.wait")
+                              .description("Time a request waits for a concurrency permit")
+                              .publishPercentileHistogram()
+                              .register(meterRegistry);
+        this.rejected = meterRegistry.counter("http.server.concurrency.rejected");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            rejected.increment();
+            overloaded(response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Async dispatches skip this filter, so the permit is released when the whole exchange completes
+                request.getAsyncContext().addListener(new PermitReleasingListener());
+            } else {
+                permits.release();
+            }
+        }
+    }
+
+    private void overloaded(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many concurrent requests, please retry later\"}");
+    }
+
+    /**
+     * Releases the permit of an async request once it completes, after a timeout or an error too.
+     */
+    private final class PermitReleasingListener implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permits.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // onComplete follows
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // onComplete follows
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Keep listening to the new async cycle, which releases the same permit
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
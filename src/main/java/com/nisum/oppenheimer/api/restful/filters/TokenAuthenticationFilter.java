@@ -0,0 +1,107 @@
+package com.nisum.oppenheimer.api.restful.filters;
+
+import com.nisum.oppenheimer.service.spec.TokenAuthenticationService;
+import com.nisum.oppenheimer.util.Constants;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Servlet filter authenticating requests to protected user endpoints with a bearer token.
+ * <p>
+ * Sign-up and login are public; every other request under {@link Constants#USER_PATH_REST_ENDPOINT} must carry
+ * an {@code Authorization: Bearer <jwt>} header. Valid tokens expose their subject through the
+ * {@link Constants#AUTHENTICATED_SUBJECT_ATTRIBUTE} request attribute; a missing, blank, invalid or expired
+ * token gets a 401.
+ * </p>
+ * <p>
+ * The import creates accounts in bulk, so a valid token is not enough: its subject must also be one of
+ * {@code user.import.allowedSubjects}, or the request gets a 403. With no subjects configured, nobody can import.
+ * </p>
+ * <p>
+ * The listing and the lookup by id expose the name and email of other users, and anyone gets a valid token by
+ * signing up, so they are restricted the same way to the subjects of {@code user.search.allowedSubjects}.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    private final TokenAuthenticationService tokenAuthenticationService;
+    private final Set<String> importSubjects;
+    private final Set<String> searchSubjects;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        var path = PATH_HELPER.getPathWithinApplication(request);
+        var isSignUp = Constants.USER_PATH_REST_ENDPOINT.equals(path);
+        var isLogin = (Constants.USER_PATH_REST_ENDPOINT + Constants.USER_LOGIN_PATH).equals(path);
+        return HttpMethod.OPTIONS.matches(request.getMethod())
+               || (HttpMethod.POST.matches(request.getMethod()) && (isSignUp || isLogin));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            unauthorized(response, "Missing bearer token");
+            return;
+        }
+
+        var token = header.substring(BEARER_PREFIX.length()).trim();
+        if (token.isEmpty()) {
+            unauthorized(response, "Missing bearer token");
+            return;
+        }
+
+        var subject = tokenAuthenticationService.authenticate(token);
+        if (subject.isEmpty()) {
+            unauthorized(response, "Invalid or expired token");
+            return;
+        }
+
+        var isImport = (Constants.USER_PATH_REST_ENDPOINT + Constants.USER_IMPORT_PATH)
+                .equals(PATH_HELPER.getPathWithinApplication(request));
+        if (isImport && !importSubjects.contains(subject.get())) {
+            forbidden(response, "Not allowed to import users");
+            return;
+        }
+
+        // Every other protected request reads users: the listing and the lookup by id
+        if (!isImport && !searchSubjects.contains(subject.get())) {
+            forbidden(response, "Not allowed to read users");
+            return;
+        }
+
+        request.setAttribute(Constants.AUTHENTICATED_SUBJECT_ATTRIBUTE, subject.get());
+        chain.doFilter(request, response);
+    }
+
+    private static void unauthorized(HttpServletResponse response, String message) throws IOException {
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        error(response, HttpServletResponse.SC_UNAUTHORIZED, message);
+    }
+
+    private static void forbidden(HttpServletResponse response, String message) throws IOException {
+        error(response, HttpServletResponse.SC_FORBIDDEN, message);
+    }
+
+    private static void error(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+}
@@ -0,0 +1,100 @@
+package com.nisum.oppenheimer.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Argon2Calibrator benchmarks Argon2 cost parameters on the current node.
+ * <p>
+ * Starting from the memory ceiling, it looks for the largest number of iterations whose
+ * p99 hashing latency stays under the target. When not even a single iteration fits, the
+ * memory cost is halved until it does or the memory floor is reached.
+ * </p>
+ *
+ * <p>
+ * Hashes produced with the chosen settings record their own parameters, so hashes created
+ * with older settings keep verifying after a recalibration.
+ * </p>
+ */
+public class Argon2Calibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(Argon2Calibrator.class);
+
+    private static final String SAMPLE_PASSWORD = "Calibration@Password1";
+    private static final double PERCENTILE = 0.99;
+
+    private final Duration targetLatency;
+    private final int minMemory;
+    private final int maxMemory;
+    private final int maxIterations;
+    private final int samples;
+
+    public Argon2Calibrator(Duration targetLatency, int minMemory, int maxMemory, int maxIterations, int samples) {
+        this.targetLatency = targetLatency;
+        this.minMemory = minMemory;
+        this.maxMemory = maxMemory;
+        this.maxIterations = maxIterations;
+        this.samples = samples;
+    }
+
+    /**
+     * Picks the strongest memory and iteration cost that meets the latency target.
+     *
+     * @param base the settings providing salt length, hash length and parallelism
+     * @return the calibrated settings
+     */
+    public Argon2Settings calibrate(Argon2Settings base) {
+        long started = System.nanoTime();
+        int memory = maxMemory;
+        Argon2Settings best = base.withCost(memory, 1);
+
+        while (memory > minMemory && exceedsTarget(best)) {
+            memory = Math.max(minMemory, memory / 2);
+            best = base.withCost(memory, 1);
+        }
+
+        for (int iterations = 2; iterations <= maxIterations; iterations++) {
+            var candidate = base.withCost(memory, iterations);
+            if (exceedsTarget(candidate)) {
+                break;
+            }
+            best = candidate;
+        }
+
+        logger.info("Argon2 calibrated in {} ms: memory={} KiB, iterations={}, parallelism={} (target p99 {} ms)",
+                    Duration.ofNanos(System.nanoTime() - started).toMillis(),
+                    best.memory(), best.iterations(), best.parallelism(), targetLatency.toMillis());
+        return best;
+    }
+
+    /**
+     * Measures the p99 hashing latency of the given settings.
+     *
+     * @param settings the settings to benchmark
+     * @return the p99 latency of the sampled hashes
+     */
+    Duration measure(Argon2Settings settings) {
+        var encoder = settings.toEncoder();
+        encoder.encode(SAMPLE_PASSWORD); // warm-up, not measured
+
+        long[] latencies = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        int index = Math.max(0, (int) Math.ceil(PERCENTILE * samples) - 1);
+        return Duration.ofNanos(latencies[index]);
+    }
+
+    private boolean exceedsTarget(Argon2Settings settings) {
+        var p99 = measure(settings);
+        logger.debug("Argon2 memory={} KiB, iterations={}: p99 {} ms",
+                     settings.memory(), settings.iterations(), p99.toMillis());
+        return p99.compareTo(targetLatency) > 0;
+    }
+}
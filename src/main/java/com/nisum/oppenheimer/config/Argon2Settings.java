@@ -0,0 +1,39 @@
+package com.nisum.oppenheimer.config;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+/**
+ * Argon2Settings holds the cost parameters used to hash passwords.
+ *
+ * @param saltLength  Length of the random salt, in bytes.
+ * @param hashLength  Length of the generated hash, in bytes.
+ * @param parallelism Number of lanes used by every hash.
+ * @param memory      Memory cost of a single hash, in KiB.
+ * @param iterations  Number of passes over the memory.
+ */
+public record Argon2Settings(int saltLength,
+                             int hashLength,
+                             int parallelism,
+                             int memory,
+                             int iterations) {
+
+    /**
+     * Returns a copy of these settings with a different memory and iteration cost.
+     *
+     * @param memory     the memory cost, in KiB
+     * @param iterations the number of iterations
+     * @return the new settings
+     */
+    public Argon2Settings withCost(int memory, int iterations) {
+        return new Argon2Settings(saltLength, hashLength, parallelism, memory, iterations);
+    }
+
+    /**
+     * Builds an encoder that hashes with these settings.
+     *
+     * @return the Argon2 password encoder
+     */
+    public Argon2PasswordEncoder toEncoder() {
+        return new Argon2PasswordEncoder(saltLength, hashLength, parallelism, memory, iterations);
+    }
+}
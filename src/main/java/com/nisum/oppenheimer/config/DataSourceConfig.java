@@ -0,0 +1,104 @@
+package com.nisum.oppenheimer.config;
+
+import com.nisum.oppenheimer.repository.routing.ReplicaLagMonitor;
+import com.nisum.oppenheimer.repository.routing.ReplicaRouting;
+import com.nisum.oppenheimer.repository.routing.RoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+
+/**
+ * The primary and replica connection pools, used when {@code datasource.replica.enabled} is set.
+ * <p>
+ * The primary pool is configured from {@code spring.datasource} as usual. The replica gets its own, smaller
+ * pool from {@code datasource.replica}, so a slow replica cannot starve writes of connections. The datasource
+ * the application uses routes each connection to one of them through {@link ReplicaRouting}; without this
+ * configuration Spring Boot builds the single primary pool and everything reads from it.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty("datasource.replica.enabled")
+public class DataSourceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    @Value("${datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${datasource.replica.username}")
+    private String replicaUsername;
+
+    @Value("${datasource.replica.password}")
+    private String replicaPassword;
+
+    @Value("${datasource.replica.maximumPoolSize}")
+    private int replicaMaximumPoolSize;
+
+    @Value("${datasource.replica.minimumIdle}")
+    private int replicaMinimumIdle;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource) {
+        var replica = new HikariDataSource();
+        replica.setPoolName(primaryDataSource.getPoolName() + "-replica");
+        replica.setDriverClassName(primaryDataSource.getDriverClassName());
+        replica.setJdbcUrl(replicaUrl);
+        replica.setUsername(replicaUsername);
+        replica.setPassword(replicaPassword);
+        replica.setMaximumPoolSize(replicaMaximumPoolSize);
+        replica.setMinimumIdle(replicaMinimumIdle);
+        replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+        replica.setIdleTimeout(primaryDataSource.getIdleTimeout());
+        replica.setMaxLifetime(primaryDataSource.getMaxLifetime());
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    /**
+     * The datasource used by JPA, JDBC and Liquibase.
+     * <p>
+     * Transaction managers open their connection before the transaction is marked read-only, so the routing
+     * datasource is wrapped in a {@link LazyConnectionDataSourceProxy} that only fetches the real connection,
+     * and so picks the route, when the first statement runs.
+     * </p>
+     *
+     * @return the routing datasource
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                                 ReplicaRouting replicaRouting) {
+        logger.info("Routing read-only transactions to the replica pool {} ({} connections)",
+                    replicaDataSource.getPoolName(), replicaDataSource.getMaximumPoolSize());
+        return new LazyConnectionDataSourceProxy(
+                new RoutingDataSource(primaryDataSource, replicaDataSource, replicaRouting));
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                               @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                                               ReplicaRouting replicaRouting) {
+        return new ReplicaLagMonitor(new JdbcTemplate(primaryDataSource), new JdbcTemplate(replicaDataSource),
+                                     replicaRouting, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,60 @@
+package com.nisum.oppenheimer.config;
+
+import com.nisum.oppenheimer.model.id.IdGenerator;
+import com.nisum.oppenheimer.model.id.IdGenerators;
+import com.nisum.oppenheimer.model.id.TimeOrderedIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+
+@Configuration
+public class IdConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdConfig.class);
+
+    @Value("${ids.nodeId}")
+    private long nodeId;
+
+    @Value("${ids.deriveNodeId}")
+    private boolean deriveNodeId;
+
+    /**
+     * The application id generator, also installed for Hibernate entity ids.
+     * <p>
+     * Every replica needs its own {@code ids.nodeId}, from {@code IDS_NODE_ID}: two replicas sharing one would
+     * generate the same ids for sign-ups in the same millisecond. Deriving it from the host name leaves a real
+     * chance of collision across replicas, so it is only done with {@code ids.deriveNodeId}, which the local and
+     * test profiles set; anywhere else, startup fails when the node id is not set.
+     * </p>
+     *
+     * @return the id generator
+     */
+    @Bean
+    public IdGenerator idGenerator() {
+        if (nodeId < 0 && !deriveNodeId) {
+            throw new IllegalStateException("ids.nodeId is not set; give every replica its own IDS_NODE_ID between 0 and "
+                                            + TimeOrderedIdGenerator.MAX_NODE_ID);
+        }
+        long node = nodeId >= 0 ? nodeId : derivedNodeId();
+        var generator = new TimeOrderedIdGenerator(node, Clock.systemUTC());
+        IdGenerators.install(generator);
+        logger.info("Generating time-ordered ids with node id {}", node);
+        return generator;
+    }
+
+    private static long derivedNodeId() {
+        try {
+            var hostName = InetAddress.getLocalHost().getHostName();
+            return Math.floorMod(hostName.hashCode(), TimeOrderedIdGenerator.MAX_NODE_ID + 1);
+        } catch (UnknownHostException e) {
+            logger.warn("Could not resolve the host name, using node id 0: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
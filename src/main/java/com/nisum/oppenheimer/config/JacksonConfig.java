@@ -1,7 +1,11 @@
 package com.nisum.oppenheimer.config;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.nisum.oppenheimer.api.restful.converters.UserJsonHttpMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
@@ -9,15 +13,54 @@ import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 @Configuration
 public class JacksonConfig {
 
+    @Value("${json.prettyPrint}")
+    private boolean prettyPrint;
+
+    @Value("${json.blackbird}")
+    private boolean blackbird;
+
     @Bean
     public Jackson2ObjectMapperBuilder jacksonBuilder() {
+        return objectMapperBuilder(prettyPrint, blackbird);
+    }
+
+    /**
+     * Reads sign-up requests and writes their responses with a reader and a writer bound once to their types.
+     * Spring Boot places it ahead of the general Jackson converter.
+     *
+     * @param objectMapper the application mapper
+     * @return the message converter
+     */
+    @Bean
+    public UserJsonHttpMessageConverter userJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new UserJsonHttpMessageConverter(objectMapper);
+    }
+
+    /**
+     * Builds the mapper settings shared by the application and the benchmarks.
+     * <p>
+     * Output is compact unless {@code json.prettyPrint} is set, which only the dev profile does. With
+     * {@code json.blackbird}, property accessors are generated as lambdas instead of called through reflection.
+     * </p>
+     *
+     * @param prettyPrint whether to indent the output
+     * @param blackbird   whether to install the Blackbird module
+     * @return the mapper builder
+     */
+    public static Jackson2ObjectMapperBuilder objectMapperBuilder(boolean prettyPrint, boolean blackbird) {
         Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
 
         // Fail on unknown properties to enforce strict structure
         builder.featuresToEnable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
 
-        // Pretty print the JSON output
-        builder.featuresToEnable(SerializationFeature.INDENT_OUTPUT);
+        // Pretty print the JSON output, for development only
+        if (prettyPrint) {
+            builder.featuresToEnable(SerializationFeature.INDENT_OUTPUT);
+        }
+
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
 
         return builder;
     }
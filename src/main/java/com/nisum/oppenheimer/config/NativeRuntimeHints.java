@@ -0,0 +1,70 @@
+package com.nisum.oppenheimer.config;
+
+import com.nisum.oppenheimer.api.restful.controllers.dto.LoginDTO;
+import com.nisum.oppenheimer.api.restful.controllers.dto.PhoneDTO;
+import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO;
+import com.nisum.oppenheimer.model.id.TimeOrderedIdentifierGenerator;
+import com.nisum.oppenheimer.service.record.ImportResultRecord;
+import com.nisum.oppenheimer.service.record.OutboxEventRecord;
+import com.nisum.oppenheimer.service.record.UserPageRecord;
+import com.nisum.oppenheimer.service.record.UserProfileRecord;
+import com.nisum.oppenheimer.service.record.UserRecord;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.stream.Stream;
+
+/**
+ * Runtime hints for the GraalVM native image, for what Spring AOT cannot infer from the bean definitions.
+ * <p>
+ * Spring AOT already registers the JPA entities, the repositories and their projections, the configuration
+ * properties and the bodies of the controller methods. This registrar adds:
+ * </p>
+ * <ul>
+ *     <li>The Liquibase changelog, which is not under the default {@code db/changelog} folder.</li>
+ *     <li>The Hibernate id generator, which Hibernate instantiates reflectively from {@code @TimeOrderedId}.</li>
+ *     <li>The Auth0 JWT serializers and claim holders, which it binds with its own Jackson mapper.</li>
+ *     <li>The JSON types written outside a controller return value, such as the import results, and the
+ *     Lombok-generated accessors and builders of the request DTOs.</li>
+ * </ul>
+ * <p>
+ * BouncyCastle is only used through its lightweight Argon2 API, without registering a JCA provider, so it needs
+ * no hints. Liquibase, H2 and Caffeine take theirs from the GraalVM reachability metadata repository.
+ * </p>
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] AUTH0_JWT_TYPES = {
+            "com.auth0.jwt.impl.HeaderSerializer",
+            "com.auth0.jwt.impl.PayloadSerializer",
+            "com.auth0.jwt.impl.HeaderDeserializer",
+            "com.auth0.jwt.impl.PayloadDeserializer",
+            "com.auth0.jwt.impl.ClaimsHolder",
+            "com.auth0.jwt.impl.BasicHeader",
+            "com.auth0.jwt.impl.PayloadImpl",
+            "com.auth0.jwt.impl.JsonNodeClaim"
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern("db/changelog.sql");
+
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                UserDTO.class, PhoneDTO.class, LoginDTO.class,
+                UserRecord.class, UserProfileRecord.class, UserPageRecord.class, ImportResultRecord.class,
+                OutboxEventRecord.class);
+
+        hints.reflection().registerType(TimeOrderedIdentifierGenerator.class,
+                                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                                        MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        Stream.of(AUTH0_JWT_TYPES).forEach(type -> hints.reflection().registerType(
+                TypeReference.of(type),
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS,
+                MemberCategory.DECLARED_FIELDS));
+    }
+}
@@ -1,10 +1,18 @@
 package com.nisum.oppenheimer.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.info.InfoContributor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class PasswordConfig {
 
@@ -23,8 +31,105 @@ public class PasswordConfig {
     @Value("${password.iterations}")
     private int iterations;
 
+    @Value("${password.hashing.memoryBudget}")
+    private int memoryBudget;
+
+    @Value("${password.hashing.queueCapacity}")
+    private int queueCapacity;
+
+    @Value("${password.calibration.enabled}")
+    private boolean calibrationEnabled;
+
+    @Value("${password.calibration.targetLatency}")
+    private Duration targetLatency;
+
+    @Value("${password.calibration.minMemory}")
+    private int minMemory;
+
+    @Value("${password.calibration.maxMemory}")
+    private int maxMemory;
+
+    @Value("${password.calibration.maxIterations}")
+    private int maxIterations;
+
+    @Value("${password.calibration.samples}")
+    private int samples;
+
+    /**
+     * The Argon2 cost parameters in use.
+     * <p>
+     * When {@code password.calibration.enabled} is set, the memory and iteration costs are benchmarked
+     * at startup against {@code password.calibration.targetLatency} and the memory ceiling. Otherwise the
+     * configured values are used as they are.
+     * </p>
+     *
+     * @return the Argon2 settings
+     */
+    @Bean
+    public Argon2Settings argon2Settings() {
+        var configured = new Argon2Settings(saltLength, hashLength, parallelism, memory, iterations);
+        if (!calibrationEnabled) {
+            return configured;
+        }
+        return new Argon2Calibrator(targetLatency, minMemory, maxMemory, maxIterations, samples).calibrate(configured);
+    }
+
+    @Bean
+    public Argon2PasswordEncoder argon2PasswordEncoder(Argon2Settings argon2Settings) {
+        return argon2Settings.toEncoder();
+    }
+
+    /**
+     * Dedicated executor for Argon2 hashing.
+     * <p>
+     * Every hash allocates the Argon2 memory cost in KiB of scratch memory, so the number of workers is
+     * the amount of hashes that fit in {@code password.hashing.memoryBudget}, capped by the available
+     * cores. Work beyond that waits in a bounded queue; once the queue is full new submissions are
+     * rejected instead of piling up on the request threads.
+     * </p>
+     *
+     * @param argon2Settings the Argon2 settings in use
+     * @return the bounded hashing executor
+     */
+    @Bean
+    public ThreadPoolExecutor argon2HashingExecutor(Argon2Settings argon2Settings) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int workers = Math.max(1, Math.min(cores, memoryBudget / argon2Settings.memory()));
+
+        return new ThreadPoolExecutor(workers, workers,
+                                      0L, TimeUnit.MILLISECONDS,
+                                      new ArrayBlockingQueue<>(queueCapacity),
+                                      Thread.ofPlatform().name("argon2-hasher-", 0).daemon(true).factory(),
+                                      new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Exposes the Argon2 settings in use through the actuator info endpoint.
+     *
+     * @param argon2Settings the Argon2 settings in use
+     * @return the info contributor
+     */
+    @Bean
+    public InfoContributor argon2InfoContributor(Argon2Settings argon2Settings) {
+        return builder -> builder.withDetail("argon2", argon2Settings);
+    }
+
+    /**
+     * Exposes the Argon2 cost parameters in use as gauges.
+     *
+     * @param argon2Settings the Argon2 settings in use
+     * @return the meter binder registering the gauges
+     */
     @Bean
-    public Argon2PasswordEncoder argon2PasswordEncoder() {
-        return new Argon2PasswordEncoder(saltLength, hashLength, parallelism, memory, iterations);
+    public MeterBinder argon2Metrics(Argon2Settings argon2Settings) {
+        return registry -> {
+            Gauge.builder("password.argon2.memory", argon2Settings, Argon2Settings::memory)
+                 .baseUnit("kibibytes")
+                 .register(registry);
+            Gauge.builder("password.argon2.iterations", argon2Settings, Argon2Settings::iterations)
+                 .register(registry);
+            Gauge.builder("password.argon2.parallelism", argon2Settings, Argon2Settings::parallelism)
+                 .register(registry);
+        };
     }
 }
@@ -0,0 +1,141 @@
+package com.nisum.oppenheimer.config;
+
+import com.nisum.oppenheimer.metrics.SignUpMetrics;
+import com.nisum.oppenheimer.validation.SignUpTimingValidator;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the {@code reactive} profile, which serves sign-up and login with WebFlux on Netty and
+ * reaches the database through R2DBC.
+ * <p>
+ * The R2DBC auto-configuration is excluded in every profile so the servlet stack does not open a second pool;
+ * the pool, the {@link DatabaseClient} and the reactive transaction manager are built here instead, from the
+ * {@code reactive.r2dbc} properties, and Netty runs on its own {@code reactor.netty.ioWorkerCount} event loops.
+ * </p>
+ *
+ * <p>
+ * JPA, Liquibase and the background jobs keep using JDBC. Since the JPA transaction manager backs off as soon
+ * as any transaction manager exists, it is declared here explicitly and made the primary one.
+ * </p>
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig implements WebFluxConfigurer {
+
+    private final LocalValidatorFactoryBean validator;
+    private final SignUpMetrics signUpMetrics;
+
+    public ReactiveConfig(LocalValidatorFactoryBean validator, SignUpMetrics signUpMetrics) {
+        this.validator = validator;
+        this.signUpMetrics = signUpMetrics;
+    }
+
+    /**
+     * Validates request bodies with the application validator, timing the sign-up requests.
+     */
+    @Override
+    public Validator getValidator() {
+        return new SignUpTimingValidator(validator, signUpMetrics);
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry.addMapping("/**")
+                .allowedOrigins("https://*.nisum.com", "http://*.nisum.com", "http://localhost")
+                .allowedMethods("*")
+                .allowedHeaders("*")
+                .allowCredentials(true)
+                .maxAge(3600);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(@Value("${reactive.r2dbc.url}") String url,
+                                            @Value("${reactive.r2dbc.username}") String username,
+                                            @Value("${reactive.r2dbc.password}") String password,
+                                            @Value("${reactive.r2dbc.pool.initialSize}") int initialSize,
+                                            @Value("${reactive.r2dbc.pool.maxSize}") int maxSize,
+                                            @Value("${reactive.r2dbc.pool.maxAcquireTime}") Duration maxAcquireTime) {
+        var options = ConnectionFactoryOptions.parse(url)
+                                              .mutate()
+                                              .option(ConnectionFactoryOptions.USER, username)
+                                              .option(ConnectionFactoryOptions.PASSWORD, password)
+                                              .build();
+        var configuration = ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                                                       .name("oppenheimer-r2dbc")
+                                                       .initialSize(initialSize)
+                                                       .maxSize(maxSize)
+                                                       .maxAcquireTime(maxAcquireTime)
+                                                       .build();
+        return new ConnectionPool(configuration);
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public R2dbcTransactionManager reactiveTransactionManager(ConnectionFactory connectionFactory) {
+        return new R2dbcTransactionManager(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator transactionalOperator(R2dbcTransactionManager reactiveTransactionManager) {
+        return TransactionalOperator.create(reactiveTransactionManager);
+    }
+
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    /**
+     * Event loops shared by the Netty server, sized from {@code reactor.netty.ioWorkerCount}. Blocking work never
+     * runs on them: hashing goes to the bounded hashing executor and database access is non-blocking.
+     *
+     * @param ioWorkerCount the number of event loops
+     * @return the loop resources
+     */
+    @Bean(destroyMethod = "dispose")
+    public LoopResources serverLoopResources(@Value("${reactor.netty.ioWorkerCount}") int ioWorkerCount) {
+        return LoopResources.create("oppenheimer-http", 1, ioWorkerCount, true);
+    }
+
+    /**
+     * Declares the Netty server explicitly, since Tomcat, still on the classpath for the servlet stack, would
+     * otherwise be picked first for the reactive application too.
+     *
+     * @param serverLoopResources the event loops of the server
+     * @return the server factory
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(LoopResources serverLoopResources) {
+        var factory = new NettyReactiveWebServerFactory();
+        factory.addServerCustomizers(server -> server.runOn(serverLoopResources));
+        return factory;
+    }
+}
@@ -0,0 +1,106 @@
+package com.nisum.oppenheimer.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+@ConditionalOnProperty("user.secondLevelCache.enabled")
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCacheConfig.class);
+
+    /**
+     * The JCache manager holding the Hibernate cache regions, backed by Caffeine.
+     * <p>
+     * Every region in {@code user.secondLevelCache.regions} is created bounded by its size and time to live.
+     * Hibernate also needs its default query results region, sized like the smallest configured region, and
+     * its update timestamps region, which is never bounded: dropping a timestamp could serve a query result
+     * older than the last write to its tables. The manager gets its own URI, so application contexts sharing
+     * a JVM do not share regions.
+     * </p>
+     *
+     * @param properties the second-level cache settings
+     * @return the cache manager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        var provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        var cacheManager = provider.getCacheManager(URI.create("oppenheimer:hibernate:" + UUID.randomUUID()),
+                                                    getClass().getClassLoader());
+
+        properties.regions().forEach((name, region) -> {
+            var configuration = new CaffeineConfiguration<Object, Object>();
+            configuration.setMaximumSize(OptionalLong.of(region.maximumSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.ttl().toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(name, configuration);
+            logger.info("Second-level cache region {}: {} entries for {}", name, region.maximumSize(), region.ttl());
+        });
+
+        var queryResults = new CaffeineConfiguration<Object, Object>();
+        queryResults.setMaximumSize(properties.regions().values().stream()
+                                              .mapToLong(SecondLevelCacheProperties.Region::maximumSize)
+                                              .min());
+        queryResults.setStatisticsEnabled(true);
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queryResults);
+
+        var timestamps = new CaffeineConfiguration<Object, Object>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+
+        return cacheManager;
+    }
+
+    /**
+     * Hands the cache manager to Hibernate.
+     * <p>
+     * A region an entity or query asks for that was not created above makes startup fail, instead of
+     * Hibernate creating an unbounded cache for it. Caching itself and the statistics are switched on in
+     * {@code spring.jpa.properties} from {@code user.secondLevelCache.enabled}.
+     * </p>
+     *
+     * @param hibernateCacheManager the cache manager holding the regions
+     * @return the Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * Exports the hit, miss, put and eviction counts of every region. Hibernate's own statistics, exported
+     * under {@code hibernate.*}, add the natural-id and query cache lookups.
+     *
+     * @param hibernateCacheManager the cache manager holding the regions
+     * @return the meter binder registering the cache metrics
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> hibernateCacheManager.getCacheNames()
+                                                .forEach(name -> JCacheMetrics.monitor(
+                                                        registry, hibernateCacheManager.getCache(name)));
+    }
+}
@@ -0,0 +1,32 @@
+package com.nisum.oppenheimer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Hibernate second-level cache settings bound from {@code user.secondLevelCache}.
+ *
+ * @param enabled Whether entities, natural ids and queries are cached.
+ * @param regions The size and time to live of each region, by the names in
+ *                {@link com.nisum.oppenheimer.model.CacheRegions}.
+ */
+@ConfigurationProperties(prefix = "user.second-level-cache")
+public record SecondLevelCacheProperties(boolean enabled,
+                                         Map<String, Region> regions) {
+
+    public SecondLevelCacheProperties {
+        regions = regions == null ? Map.of() : regions;
+    }
+
+    /**
+     * The bounds of one cache region.
+     *
+     * @param maximumSize The most entries kept; the least recently used ones are evicted beyond it.
+     * @param ttl         How long an entry is kept after it was written.
+     */
+    public record Region(long maximumSize,
+                         Duration ttl) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.nisum.oppenheimer.config;
+
+import com.nisum.oppenheimer.security.JsonWebKeySet;
+import com.nisum.oppenheimer.security.SigningKey;
+import com.nisum.oppenheimer.security.SigningKeyRing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+@Configuration
+@EnableConfigurationProperties(TokenSigningProperties.class)
+public class TokenConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenConfig.class);
+
+    private static final int RSA_KEY_SIZE = 2048;
+
+    @Value("${token.key}")
+    private String key;
+
+    /**
+     * The key ring signing and verifying tokens.
+     * <p>
+     * {@code HS256} keeps using the shared {@code token.key} secret. For {@code ES256} and {@code RS256} the keys come
+     * from {@code token.signing.keys}; when none are configured an ephemeral key pair is generated, which is only
+     * suitable for a single replica since it changes on every restart.
+     * </p>
+     *
+     * @param properties the token signing settings
+     * @return the signing key ring
+     */
+    @Bean
+    public SigningKeyRing signingKeyRing(TokenSigningProperties properties) {
+        if (SigningKeyRing.HS256.equals(properties.algorithm())) {
+            return SigningKeyRing.hmac(key);
+        }
+
+        try {
+            var keyFactory = KeyFactory.getInstance(keyAlgorithm(properties.algorithm()));
+            List<SigningKey> keys = properties.keys().isEmpty()
+                    ? List.of(ephemeralKey(properties.algorithm()))
+                    : properties.keys().stream().map(k -> toSigningKey(k, keyFactory)).toList();
+
+            logger.info("Signing tokens with {} using key ids {}", properties.algorithm(),
+                        keys.stream().map(SigningKey::kid).toList());
+            return SigningKeyRing.asymmetric(properties.algorithm(), keys, Clock.systemUTC());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not load the token signing keys", e);
+        }
+    }
+
+    @Bean
+    public JsonWebKeySet jsonWebKeySet(SigningKeyRing signingKeyRing) {
+        return JsonWebKeySet.of(signingKeyRing);
+    }
+
+    private static SigningKey toSigningKey(TokenSigningProperties.Key k, KeyFactory keyFactory) {
+        try {
+            var publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(k.publicKey())));
+            var privateKey = k.privateKey() == null || k.privateKey().isBlank()
+                    ? null
+                    : keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(k.privateKey())));
+            var activeFrom = k.activeFrom() == null ? Instant.EPOCH : k.activeFrom();
+            return new SigningKey(k.kid(), publicKey, privateKey, activeFrom, k.expiresAt());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid token signing key " + k.kid(), e);
+        }
+    }
+
+    private static SigningKey ephemeralKey(String algorithm) throws GeneralSecurityException {
+        logger.warn("No token signing keys configured for {}, generating an ephemeral key pair", algorithm);
+        var generator = KeyPairGenerator.getInstance(keyAlgorithm(algorithm));
+        if (SigningKeyRing.ES256.equals(algorithm)) {
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+        } else {
+            generator.initialize(RSA_KEY_SIZE);
+        }
+        var keyPair = generator.generateKeyPair();
+        return new SigningKey(UUID.randomUUID().toString(), keyPair.getPublic(), keyPair.getPrivate(), Instant.EPOCH, null);
+    }
+
+    private static String keyAlgorithm(String algorithm) {
+        return switch (algorithm) {
+            case SigningKeyRing.ES256 -> "EC";
+            case SigningKeyRing.RS256 -> "RSA";
+            default -> throw new IllegalArgumentException("Unsupported token signing algorithm: " + algorithm);
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.nisum.oppenheimer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Token signing settings bound from {@code token.signing}.
+ *
+ * @param algorithm  {@code HS256} (shared {@code token.key} secret), {@code ES256} or {@code RS256}.
+ * @param jwksMaxAge How long clients may cache the JWKS document.
+ * @param keys       The asymmetric keys of the ring; ignored in {@code HS256} mode.
+ */
+@ConfigurationProperties(prefix = "token.signing")
+public record TokenSigningProperties(String algorithm,
+                                     Duration jwksMaxAge,
+                                     List<Key> keys) {
+
+    public TokenSigningProperties {
+        algorithm = algorithm == null ? "HS256" : algorithm;
+        jwksMaxAge = jwksMaxAge == null ? Duration.ofMinutes(5) : jwksMaxAge;
+        keys = keys == null ? List.of() : keys;
+    }
+
+    /**
+     * One asymmetric signing key.
+     *
+     * @param kid        Key id published in the JWKS and written to the {@code kid} header.
+     * @param privateKey Base64 PKCS#8 DER private key; leave empty for a verify-only key.
+     * @param publicKey  Base64 X.509 DER public key.
+     * @param activeFrom When the key starts signing; defaults to the epoch.
+     * @param expiresAt  When tokens signed with the key stop verifying; empty for no expiry.
+     */
+    public record Key(String kid,
+                      String privateKey,
+                      String publicKey,
+                      Instant activeFrom,
+                      Instant expiresAt) {
+    }
+}
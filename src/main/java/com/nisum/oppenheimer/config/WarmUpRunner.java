@@ -0,0 +1,224 @@
+package com.nisum.oppenheimer.config;
+
+import com.nisum.oppenheimer.api.restful.controllers.dto.PhoneDTO;
+import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO;
+import com.nisum.oppenheimer.metrics.SignUpMetrics;
+import com.nisum.oppenheimer.model.User;
+import com.nisum.oppenheimer.model.id.IdGenerator;
+import com.nisum.oppenheimer.repository.UserRepository;
+import com.nisum.oppenheimer.repository.routing.ReplicaRouting;
+import com.nisum.oppenheimer.service.impl.EmailIndexServiceImpl;
+import com.nisum.oppenheimer.service.impl.UserServiceImpl;
+import com.nisum.oppenheimer.service.spec.LastLoginService;
+import com.nisum.oppenheimer.service.spec.OutboxService;
+import com.nisum.oppenheimer.service.spec.PasswordHashService;
+import com.nisum.oppenheimer.service.spec.TokenService;
+import com.nisum.oppenheimer.service.spec.UserProfileService;
+import com.nisum.oppenheimer.service.spec.UserService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WarmUpRunner drives the sign-up path with synthetic users before the instance reports itself ready.
+ * <p>
+ * Application runners complete before Spring Boot moves the readiness state to {@code ACCEPTING_TRAFFIC}, so
+ * while this runs the readiness probe answers {@code OUT_OF_SERVICE} and no traffic is routed to the pod. Each
+ * iteration validates a synthetic {@link UserDTO}, signs it up through {@link UserServiceImpl#create}, flushes the
+ * insert and rolls the transaction back, then generates and verifies a token. Argon2,
+ * Bean Validation, JWT signing and the Hibernate insert are thereby compiled by the JIT before the first real
+ * request.
+ * </p>
+ *
+ * <p>
+ * The runner stops after {@code warmup.iterations} iterations or once {@code warmup.timeBudget} is spent,
+ * whichever comes first, spread over {@code warmup.threads} threads. It logs how long it took and how the
+ * latency of the last iterations compares with the first one, and exports the duration as
+ * {@code application.warmup.duration}. Synthetic sign-ups use the reserved {@code warmup.invalid} domain.
+ * </p>
+ *
+ * <p>
+ * The sign-ups run through a {@link UserServiceImpl} of the warm-up's own, the same code as the application's but
+ * with side effects kept out of the real state: its {@link SignUpMetrics} are recorded in a private registry,
+ * and its writes are not remembered by {@link ReplicaRouting}. Its emails are checked against an
+ * {@link EmailIndexServiceImpl} of its own, which also records to the private registry: the application's
+ * index is only filled once the application is ready, after this runs, so every warm-up lookup would otherwise
+ * count as a possible match in the real {@code user.email.index.lookups}. The private index is never filled
+ * either, so each sign-up still runs the {@code existsByEmail} query the index falls back to.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private static final String PASSWORD = "WarmUp@Password1";
+    private static final String DOMAIN = "@warmup.invalid";
+
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final TokenService tokenService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int iterations;
+    private final Duration timeBudget;
+    private final int threads;
+    private final AtomicLong durationNanos = new AtomicLong();
+    private final AtomicInteger completed = new AtomicInteger();
+
+    public WarmUpRunner(UserRepository userRepository,
+                        PasswordHashService passwordHashService,
+                        TokenService tokenService,
+                        LastLoginService lastLoginService,
+                        IdGenerator idGenerator,
+                        UserProfileService userProfileService,
+                        JdbcTemplate jdbcTemplate,
+                        OutboxService outboxService,
+                        Validator validator,
+                        TransactionTemplate transactionTemplate,
+                        MeterRegistry meterRegistry,
+                        @Value("${warmup.iterations}") int iterations,
+                        @Value("${warmup.timeBudget}") Duration timeBudget,
+                        @Value("${warmup.threads}") int threads) {
+        var privateRegistry = new SimpleMeterRegistry();
+        this.userService = new UserServiceImpl(userRepository, passwordHashService, tokenService, lastLoginService,
+                                               idGenerator, userProfileService,
+                                               new EmailIndexServiceImpl(userRepository, jdbcTemplate, privateRegistry,
+                                                                         Math.max(1, iterations), 0.01),
+                                               new SignUpMetrics(privateRegistry),
+                                               ReplicaRouting.disabled(), outboxService, transactionTemplate);
+        this.userRepository = userRepository;
+        this.tokenService = tokenService;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.iterations = iterations;
+        this.timeBudget = timeBudget;
+        this.threads = threads;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        long deadline = started + timeBudget.toNanos();
+        var next = new AtomicInteger();
+        var failures = new AtomicInteger();
+        var latencies = Collections.synchronizedList(new ArrayList<Long>(iterations));
+
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            var workers = new ArrayList<Future<?>>(threads);
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    while (next.getAndIncrement() < iterations && System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            iteration();
+                            latencies.add(System.nanoTime() - start);
+                            completed.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            if (failures.getAndIncrement() == 0) {
+                                logger.warn("Warm-up iteration failed: {}", e.toString());
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                await(worker);
+            }
+        }
+
+        var elapsed = Duration.ofNanos(System.nanoTime() - started);
+        // Gauges only hold weak references; the state they read lives as long as this runner
+        durationNanos.set(elapsed.toNanos());
+        TimeGauge.builder("application.warmup.duration", durationNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                 .description("Time spent warming up the sign-up path before accepting traffic")
+                 .register(meterRegistry);
+        Gauge.builder("application.warmup.iterations", completed, AtomicInteger::get)
+             .description("Warm-up iterations completed before accepting traffic")
+             .register(meterRegistry);
+
+        report(elapsed, List.copyOf(latencies), failures.get());
+    }
+
+    /**
+     * Runs one synthetic sign-up in a transaction that is always rolled back, then exercises the token service.
+     */
+    private void iteration() {
+        var key = UUID.randomUUID().toString();
+        var dto = UserDTO.builder()
+                         .name("Warm Up")
+                         .email(key + DOMAIN)
+                         .password(PASSWORD)
+                         .phones(List.of(PhoneDTO.builder().number("1234567").cityCode("1").countryCode("57").build()))
+                         .build();
+
+        if (!validator.validate(dto).isEmpty()) {
+            throw new IllegalStateException("Synthetic warm-up user is not valid");
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            var created = userService.create(dto);
+            userRepository.flush();
+            tokenService.verify(created.token());
+            status.setRollbackOnly();
+        });
+
+        var token = tokenService.generate(User.builder().xkey(key).name(dto.getName()).email(dto.getEmail()).build());
+        tokenService.validate(token);
+    }
+
+    /**
+     * Logs the warm-up time and the speed-up between the first iteration and the median of the last tenth.
+     */
+    private void report(Duration elapsed, List<Long> latencies, int failures) {
+        if (latencies.isEmpty()) {
+            logger.warn("Warm-up completed no iteration in {} ms ({} failures)", elapsed.toMillis(), failures);
+            return;
+        }
+        long first = latencies.getFirst();
+        var tail = new ArrayList<>(latencies.subList(latencies.size() - Math.max(1, latencies.size() / 10), latencies.size()));
+        Collections.sort(tail);
+        long last = tail.get(tail.size() / 2);
+        logger.info("Warm-up ran {} iterations in {} ms ({} failures): first {} ms, last {} ms, {}x faster",
+                    latencies.size(), elapsed.toMillis(), failures,
+                    TimeUnit.NANOSECONDS.toMillis(first), TimeUnit.NANOSECONDS.toMillis(last),
+                    String.format("%.1f", (double) first / Math.max(1, last)));
+    }
+
+    private static void await(Future<?> worker) {
+        try {
+            worker.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during warm-up", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Warm-up failed", e.getCause());
+        }
+    }
+}
@@ -1,12 +1,47 @@
 package com.nisum.oppenheimer.config;
 
+import com.nisum.oppenheimer.api.restful.filters.ConcurrencyLimitFilter;
+import com.nisum.oppenheimer.api.restful.filters.TokenAuthenticationFilter;
+import com.nisum.oppenheimer.metrics.SignUpMetrics;
+import com.nisum.oppenheimer.service.spec.TokenAuthenticationService;
+import com.nisum.oppenheimer.util.Constants;
+import com.nisum.oppenheimer.validation.SignUpTimingValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
+import java.util.Set;
+
 @Configuration
+@Profile("!reactive")
 public class WebConfig implements WebMvcConfigurer {
 
+    private final LocalValidatorFactoryBean validator;
+    private final SignUpMetrics signUpMetrics;
+
+    public WebConfig(LocalValidatorFactoryBean validator, SignUpMetrics signUpMetrics) {
+        this.validator = validator;
+        this.signUpMetrics = signUpMetrics;
+    }
+
+    /**
+     * Validates request bodies with the application validator, timing the sign-up requests.
+     */
+    @Override
+    public Validator getValidator() {
+        return new SignUpTimingValidator(validator, signUpMetrics);
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -17,4 +52,50 @@ public class WebConfig implements WebMvcConfigurer {
                 .maxAge(3600);
     }
 
+    /**
+     * Requires a bearer token on the user endpoints other than sign-up and login, restricts the import to
+     * the subjects listed in {@code user.import.allowedSubjects}, and the listing and lookup of users to those
+     * listed in {@code user.search.allowedSubjects}.
+     *
+     * @param tokenAuthenticationService the token verification
+     * @param importSubjects             the subjects allowed to import users, comma separated
+     * @param searchSubjects             the subjects allowed to list and look up users, comma separated
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<TokenAuthenticationFilter> tokenAuthenticationFilter(
+            TokenAuthenticationService tokenAuthenticationService,
+            @Value("${user.import.allowedSubjects}") Set<String> importSubjects,
+            @Value("${user.search.allowedSubjects}") Set<String> searchSubjects) {
+        var registration = new FilterRegistrationBean<>(new TokenAuthenticationFilter(tokenAuthenticationService,
+                                                                                       Set.copyOf(importSubjects),
+                                                                                       Set.copyOf(searchSubjects)));
+        registration.addUrlPatterns(Constants.USER_PATH_REST_ENDPOINT, Constants.USER_PATH_REST_ENDPOINT + "/*");
+        return registration;
+    }
+
+    /**
+     * Bounds the user requests processed at once, which Tomcat no longer does when it runs them on virtual
+     * threads. Enabled by default together with {@code spring.threads.virtual.enabled}. The filter runs first,
+     * so requests waiting for a permit have not touched any pooled resource yet.
+     *
+     * @param maxConcurrent  the requests admitted at once
+     * @param acquireTimeout how long a request may wait for a permit
+     * @param retryAfter     the delay suggested to rejected clients
+     * @param meterRegistry  the registry of the limiter metrics
+     * @return the filter registration
+     */
+    @Bean
+    @ConditionalOnProperty(name = "concurrency.limit.enabled", havingValue = "true")
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${concurrency.limit.maxConcurrent}") int maxConcurrent,
+            @Value("${concurrency.limit.acquireTimeout}") Duration acquireTimeout,
+            @Value("${concurrency.limit.retryAfter}") Duration retryAfter,
+            MeterRegistry meterRegistry) {
+        var registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(maxConcurrent, acquireTimeout, retryAfter, meterRegistry));
+        registration.addUrlPatterns(Constants.USER_PATH_REST_ENDPOINT, Constants.USER_PATH_REST_ENDPOINT + "/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return registration;
+    }
 }
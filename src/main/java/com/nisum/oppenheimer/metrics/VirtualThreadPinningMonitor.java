@@ -0,0 +1,108 @@
+package com.nisum.oppenheimer.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread.
+ * <p>
+ * A virtual thread that parks inside a {@code synchronized} block or a native frame cannot unmount, so it keeps
+ * its carrier busy while it waits; enough of them stall every request. This monitor streams the JFR
+ * {@code jdk.VirtualThreadPinned} events longer than {@code concurrency.pinning.threshold} in process. Each
+ * event is counted and timed as {@code jvm.threads.virtual.pinned}. The first time a call site pins, its stack
+ * is logged as a warning with the innermost application frame; later events at the same site are only counted,
+ * and the totals per site are logged on shutdown. Sites are never used as tags, so the number of series stays
+ * fixed. Enabled by default together with {@code spring.threads.virtual.enabled}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "concurrency.pinning.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.nisum.oppenheimer.";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Timer pinned;
+    private final Duration threshold;
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${concurrency.pinning.threshold}") Duration threshold) {
+        this.threshold = threshold;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                           .description("Virtual threads that blocked while pinned to their carrier")
+                           .register(meterRegistry);
+    }
+
+    /**
+     * Starts streaming the pinning events.
+     */
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.setMaxAge(Duration.ofMinutes(1));
+        stream.startAsync();
+        logger.info("Reporting virtual threads pinned for more than {}", threshold);
+    }
+
+    /**
+     * Stops the stream and logs how often each site pinned.
+     */
+    @PreDestroy
+    public void stop() {
+        stream.close();
+        if (!sites.isEmpty()) {
+            logger.info("Virtual thread pinning by site: {}", sites.entrySet().stream()
+                    .map(site -> site.getKey() + "=" + site.getValue().sum())
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+
+        var frames = event.getStackTrace() == null ? List.<RecordedFrame>of() : event.getStackTrace().getFrames();
+        var site = frames.stream()
+                         .filter(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                         .findFirst()
+                         .or(() -> frames.stream().findFirst())
+                         .map(VirtualThreadPinningMonitor::describe)
+                         .orElse("unknown");
+
+        var count = sites.computeIfAbsent(site, key -> new LongAdder());
+        count.increment();
+        if (count.sum() == 1) {
+            logger.warn("Virtual thread pinned for {} ms at {}:\n\t{}", event.getDuration().toMillis(), site,
+                        frames.stream().limit(LOGGED_FRAMES).map(VirtualThreadPinningMonitor::describe)
+                              .collect(Collectors.joining("\n\t")));
+        }
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,29 @@
+package com.nisum.oppenheimer.model;
+
+/**
+ * Names of the Hibernate second-level cache regions used by the entities and the cached queries.
+ * <p>
+ * Each region is sized from {@code user.secondLevelCache.regions.<name>}; a region without settings makes
+ * startup fail instead of silently creating an unbounded cache.
+ * </p>
+ */
+public final class CacheRegions {
+
+    /**
+     * {@link User} entities by id, phones included.
+     */
+    public static final String USERS = "users";
+
+    /**
+     * User ids by email, the natural id of {@link User}.
+     */
+    public static final String USER_EMAILS = "userEmails";
+
+    /**
+     * Results of the cached {@code UserRepository} queries.
+     */
+    public static final String USER_QUERIES = "userQueries";
+
+    private CacheRegions() {
+    }
+}
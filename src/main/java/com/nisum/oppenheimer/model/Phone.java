@@ -1,78 +1,27 @@
 package com.nisum.oppenheimer.model;
 
-import jakarta.persistence.*;
-import lombok.*;
+import lombok.Builder;
 
 import java.io.Serial;
 import java.io.Serializable;
-import java.util.UUID;
 
 /**
- * Represents a Phone entity in the application.
+ * Represents a phone number of a {@link User}.
  *
- * This class is mapped to the "PHONES" table in the database and extends the
- * {@link Auditable} class to include common auditing fields. It utilizes Lombok
- * annotations to reduce boilerplate code for getters, setters, and builders.
+ * Phones have no identity of their own: they are stored with the user, in the {@code phones} column of the
+ * "USERS" table, by the {@link PhonesConverter}. Inserting a user is therefore a single row whatever the
+ * number of phones, with no ids or keys to generate for them.
  *
- * <p>Key features include:</p>
- * <ul>
- *     <li>Support for associating a phone number with a user.</li>
- *     <li>Serialization support with a defined {@code serialVersionUID}.</li>
- * </ul>
- *
- * @see Auditable
+ * @param number      the phone number
+ * @param cityCode    the city code of the phone number
+ * @param countryCode the country code of the phone number
  * @see User
  */
-@Data
-@Entity
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
-@EqualsAndHashCode(callSuper=true)
-@Table(name="PHONES")
-@Access(AccessType.FIELD)
-@ToString(exclude = "user")
-public class Phone extends Auditable implements Serializable {
+public record Phone(long number,
+                    short cityCode,
+                    short countryCode) implements Serializable {
 
     @Serial
-    private static final long serialVersionUID = 3L;
-
-    /**
-     * The internal phone id
-     */
-    @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "PHONE_GENERATOR")
-    @SequenceGenerator(name = "PHONE_GENERATOR", sequenceName = "PHONE_SEQUENCE", allocationSize = 1)
-    private Long id;
-
-    /**
-     * Unique identifier for the phone entry.
-     */
-    @Column(nullable = false)
-    private String xkey;
-
-    /**
-     * The phone number associated with this entry.
-     */
-    @Column(nullable = false)
-    private Long number;
-
-    /**
-     * The city code associated with the phone number.
-     */
-    @Column(nullable = false)
-    private Short cityCode;
-
-    /**
-     * The country code associated with the phone number.
-     */
-    @Column(nullable = false)
-    private Short countryCode;
-
-    /**
-     * The user associated with this phone entry.
-     */
-    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id")
-    private User user;
+    private static final long serialVersionUID = 4L;
 }
@@ -0,0 +1,71 @@
+package com.nisum.oppenheimer.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores the phones of a user in a single column.
+ * <p>
+ * Each phone is written as {@code countryCode-cityCode-number}, and the phones are joined with commas in
+ * their original order, e.g. {@code 57-1-1234567,57-2-7654321}. A user without phones is stored as null.
+ * The format is also written by the reactive profile and by the migration of the former {@code PHONES} table,
+ * so it must not change without a migration of its own.
+ * </p>
+ */
+@Converter
+public class PhonesConverter implements AttributeConverter<List<Phone>, String> {
+
+    private static final char PHONE_SEPARATOR = ',';
+    private static final char FIELD_SEPARATOR = '-';
+
+    @Override
+    public String convertToDatabaseColumn(List<Phone> phones) {
+        if (phones == null || phones.isEmpty()) {
+            return null;
+        }
+        var column = new StringBuilder(phones.size() * 24);
+        for (Phone phone : phones) {
+            if (!column.isEmpty()) {
+                column.append(PHONE_SEPARATOR);
+            }
+            column.append(phone.countryCode())
+                  .append(FIELD_SEPARATOR)
+                  .append(phone.cityCode())
+                  .append(FIELD_SEPARATOR)
+                  .append(phone.number());
+        }
+        return column.toString();
+    }
+
+    @Override
+    public List<Phone> convertToEntityAttribute(String column) {
+        if (column == null || column.isEmpty()) {
+            return List.of();
+        }
+        var phones = new ArrayList<Phone>();
+        int start = 0;
+        while (start <= column.length()) {
+            int end = column.indexOf(PHONE_SEPARATOR, start);
+            if (end < 0) {
+                end = column.length();
+            }
+            phones.add(parse(column, start, end));
+            start = end + 1;
+        }
+        return List.copyOf(phones);
+    }
+
+    private static Phone parse(String column, int start, int end) {
+        int city = column.indexOf(FIELD_SEPARATOR, start);
+        int number = city < 0 ? -1 : column.indexOf(FIELD_SEPARATOR, city + 1);
+        if (number < 0 || number >= end) {
+            throw new IllegalArgumentException("Malformed phone: " + column.substring(start, end));
+        }
+        return new Phone(Long.parseLong(column, number + 1, end, 10),
+                         (short) Integer.parseInt(column, city + 1, number, 10),
+                         (short) Integer.parseInt(column, start, city, 10));
+    }
+}
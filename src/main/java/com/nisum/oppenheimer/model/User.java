@@ -1,13 +1,17 @@
 package com.nisum.oppenheimer.model;
 
+import com.nisum.oppenheimer.model.id.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Set;
-import java.util.UUID;
 
 /**
  * Represents a User entity in the application.
@@ -19,7 +23,8 @@ import java.util.UUID;
  * <p>Key features include:</p>
  * <ul>
  *     <li>Unique email constraint to prevent duplicate users.</li>
- *     <li>Support for one-to-many relationships with Phone and Token entities.</li>
+ *     <li>Email as the natural id, so lookups by email can be answered from the second-level cache.</li>
+ *     <li>Phones stored in the user row itself, so a user is inserted with a single statement.</li>
  *     <li>Serialization support with a defined {@code serialVersionUID}.</li>
  * </ul>
  *
@@ -37,23 +42,25 @@ import java.util.UUID;
 @Table(name="USERS")
 @Access(AccessType.FIELD)
 @ToString(exclude = {"phones"})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USERS)
+@NaturalIdCache(region = CacheRegions.USER_EMAILS)
 public class User extends Auditable implements Serializable {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
     /**
-     * The internal user id
+     * The internal user id, generated in memory and ordered by creation time.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "USER_GENERATOR")
-    @SequenceGenerator(name = "USER_GENERATOR", sequenceName = "USER_SEQUENCE", allocationSize = 1)
+    @TimeOrderedId
     private Long id;
 
     /**
      * A unique key used to identify the user.
      */
-    @Column(nullable = false)
+    @Column(unique = true, nullable = false, length = 36)
     private String xkey;
 
     /**
@@ -63,8 +70,9 @@ public class User extends Auditable implements Serializable {
     private String name;
 
     /**
-     * The user's email address.
+     * The user's email address. It never changes, which lets Hibernate cache the email to id resolution.
      */
+    @NaturalId
     @Column(unique = true,nullable = false)
     private String email;
 
@@ -75,14 +83,23 @@ public class User extends Auditable implements Serializable {
     private String password;
 
     /**
-     * The user's token (Jwt)
+     * The identifier (jti) of the token issued at sign-up.
+     * Tokens are stateless, so the signed JWT itself is never stored.
      */
-    @Column(unique = true,nullable = false)
-    private String token;
+    @Column(name = "token_id", length = 32)
+    private String tokenId;
+
+    /**
+     * The last time the user logged in.
+     * Written in batches by the last-login write-behind buffer, never by entity updates.
+     */
+    @Column(name = "last_login", insertable = false, updatable = false)
+    private LocalDateTime lastLogin;
 
     /**
-     * The set of phone numbers associated with the user.
+     * The phone numbers of the user, in the order they were given, serialized by the {@link PhonesConverter}.
      */
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private Set<Phone> phones;
+    @Convert(converter = PhonesConverter.class)
+    @Column(length = 4096)
+    private List<Phone> phones;
 }
@@ -0,0 +1,34 @@
+package com.nisum.oppenheimer.model.id;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * IdGenerator defines the contract for generating entity identifiers in the application,
+ * without any database round trip.
+ */
+public interface IdGenerator {
+
+    /**
+     * Generates a 64-bit, time-ordered surrogate key.
+     *
+     * @return a new id, greater than every id previously returned by this generator.
+     */
+    long nextId();
+
+    /**
+     * Returns the lowest id that can be generated at the given instant, so that a range of creation times can
+     * be searched as a range of ids.
+     *
+     * @param instant the instant
+     * @return every id generated at or after the instant is at least this value
+     */
+    long firstIdAt(Instant instant);
+
+    /**
+     * Generates a time-ordered public key.
+     *
+     * @return a new key whose leading bits encode its creation time.
+     */
+    UUID nextKey();
+}
@@ -0,0 +1,27 @@
+package com.nisum.oppenheimer.model.id;
+
+import java.time.Clock;
+
+/**
+ * Holds the {@link IdGenerator} used by {@link TimeOrderedIdentifierGenerator}.
+ * <p>
+ * Hibernate instantiates identifier generators itself, outside the Spring context, so the configured
+ * generator is installed here at startup. Until then (for instance in JPA slice tests) a generator for
+ * node 0 is used.
+ * </p>
+ */
+public final class IdGenerators {
+
+    private static volatile IdGenerator current = new TimeOrderedIdGenerator(0, Clock.systemUTC());
+
+    private IdGenerators() {
+    }
+
+    public static IdGenerator current() {
+        return current;
+    }
+
+    public static void install(IdGenerator generator) {
+        current = generator;
+    }
+}
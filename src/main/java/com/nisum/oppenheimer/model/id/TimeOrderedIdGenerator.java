@@ -0,0 +1,104 @@
+package com.nisum.oppenheimer.model.id;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered implementation of the {@link IdGenerator} interface.
+ * <p>
+ * Surrogate ids are Snowflake-style: 41 bits of milliseconds since 2024-01-01, 10 bits of node id and 12 bits
+ * of sequence, so each node can issue 4096 ids per millisecond and replicas with distinct node ids never collide.
+ * The millisecond and sequence are advanced together with a single compare-and-set; when the sequence overflows
+ * or the clock goes backwards, the generator keeps counting into the following millisecond instead of blocking,
+ * so ids stay unique and increasing.
+ * </p>
+ *
+ * <p>
+ * Public keys are UUIDv7 (RFC 9562): 48 bits of Unix milliseconds followed by random bits, so consecutive inserts
+ * land next to each other in the {@code xkey} index instead of scattering across it. The random bits come from
+ * one shared DRBG: a per-thread generator would be created and seeded for every virtual thread, and the platform
+ * default reads {@code /dev/urandom} while holding a monitor, which pins virtual threads to their carrier.
+ * </p>
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+    public static final int NODE_BITS = 10;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+    private static final long MAX_MILLIS = Long.MAX_VALUE >>> TIMESTAMP_SHIFT;
+
+    private static final int UUID_TIMESTAMP_SHIFT = 16;
+    private static final long UUID_VERSION_7 = 0x7000L;
+    private static final long UUID_RAND_A_MASK = 0x0FFFL;
+    private static final long UUID_VARIANT = 0x8000000000000000L;
+    private static final long UUID_RAND_B_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private static final SecureRandom RANDOM = newRandom();
+
+    private final long nodeId;
+    private final Clock clock;
+
+    /**
+     * Packed {@code (millis since EPOCH) << SEQUENCE_BITS | sequence} of the last id issued.
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    public TimeOrderedIdGenerator(long nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long now = clock.millis() - EPOCH;
+            long next = now > (current >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : current + 1;
+            if (state.compareAndSet(current, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                return (millis << TIMESTAMP_SHIFT) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    @Override
+    public long firstIdAt(Instant instant) {
+        long millis;
+        try {
+            millis = instant.toEpochMilli() - EPOCH;
+        } catch (ArithmeticException e) {
+            millis = instant.isBefore(Instant.EPOCH) ? 0 : MAX_MILLIS;
+        }
+        return Math.clamp(millis, 0, MAX_MILLIS) << TIMESTAMP_SHIFT;
+    }
+
+    @Override
+    public UUID nextKey() {
+        long msb = (clock.millis() << UUID_TIMESTAMP_SHIFT) | UUID_VERSION_7 | (RANDOM.nextLong() & UUID_RAND_A_MASK);
+        long lsb = UUID_VARIANT | (RANDOM.nextLong() & UUID_RAND_B_MASK);
+        return new UUID(msb, lsb);
+    }
+
+    public long nodeId() {
+        return nodeId;
+    }
+
+    private static SecureRandom newRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("DRBG is not available", e);
+        }
+    }
+}
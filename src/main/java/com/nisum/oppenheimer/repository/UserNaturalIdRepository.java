@@ -0,0 +1,26 @@
+package com.nisum.oppenheimer.repository;
+
+import com.nisum.oppenheimer.model.User;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Optional;
+
+/**
+ * Lookups of User entities by their natural id, the email address.
+ * <p>
+ * Unlike a query, a natural-id lookup can be answered from the second-level cache: the email resolves to the
+ * user id through the natural-id region, and the user is then read from the entity region.
+ * </p>
+ *
+ * @see UserRepository
+ */
+public interface UserNaturalIdRepository {
+
+    /**
+     * Retrieves a User by their email address.
+     *
+     * @param email the email of the User to retrieve
+     * @return an Optional containing the User if found, or empty if not found
+     */
+    Optional<User> findByEmail(@NotNull String email);
+}
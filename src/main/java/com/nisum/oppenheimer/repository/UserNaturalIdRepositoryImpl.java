@@ -0,0 +1,29 @@
+package com.nisum.oppenheimer.repository;
+
+import com.nisum.oppenheimer.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Implementation of the {@link UserNaturalIdRepository} fragment, using Hibernate's natural-id API.
+ * <p>
+ * The lookup runs in a read-only transaction, like the derived queries of the repository.
+ * </p>
+ */
+@Transactional(readOnly = true)
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                            .bySimpleNaturalId(User.class)
+                            .loadOptional(email);
+    }
+}
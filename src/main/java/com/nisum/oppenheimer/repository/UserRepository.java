@@ -1,38 +1,103 @@
 package com.nisum.oppenheimer.repository;
 
+import com.nisum.oppenheimer.model.CacheRegions;
 import com.nisum.oppenheimer.model.User;
+import com.nisum.oppenheimer.repository.projection.UserListing;
+import com.nisum.oppenheimer.repository.projection.UserSummary;
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
 
 /**
  * Repository interface for managing User entities.
  * <p>
  * This interface extends {@link JpaRepository} to provide CRUD operations and
- * additional query methods for the User entity.
+ * additional query methods for the User entity. Lookups by email come from the
+ * {@link UserNaturalIdRepository} fragment, which the second-level cache can answer.
  * </p>
  *
  * @see User
  */
 @Repository
-public interface UserRepository extends JpaRepository<User,Long>  {
+public interface UserRepository extends JpaRepository<User,Long>, UserNaturalIdRepository {
 
     /**
      * Checks if a User with the specified email exists in the database.
+     * <p>
+     * The result is kept in the query cache until the next write to the {@code USERS} table.
+     * </p>
      *
      * @param email the email of the User to check for
      * @return true if a User with the given email exists, false otherwise
      */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.USER_QUERIES)})
     boolean existsByEmail(@NotNull String email);
 
     /**
-     * Retrieves a User by their email address.
+     * Finds which of the given email addresses already belong to a User, in a single query.
      *
-     * @param email the email of the User to retrieve
-     * @return an Optional containing the User if found, or empty if not found
+     * @param emails the emails to check for
+     * @return the subset of the emails that are already in use
      */
-    Optional<User> findByEmail(@NotNull String email);
-}
\ No newline at end of file
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@NotNull @Param("emails") Collection<String> emails);
+
+    /**
+     * Retrieves the summary of a User by their public key.
+     * <p>
+     * The projection is built by the query itself, so the entity and its phones are never loaded.
+     * The lookup is served by the unique index on {@code xkey}.
+     * </p>
+     *
+     * @param xkey the public key of the User to retrieve
+     * @return an Optional containing the summary if found, or empty if not found
+     */
+    @Query("SELECT new com.nisum.oppenheimer.repository.projection.UserSummary(u.xkey, u.name, u.email, u.created, u.modified) "
+         + "FROM User u WHERE u.xkey = :xkey")
+    Optional<UserSummary> findSummaryByXkey(@NotNull @Param("xkey") String xkey);
+
+    /**
+     * Retrieves the page of users that follows the given keyset position, in id order.
+     * <p>
+     * The ids are time ordered, so the pages follow the creation order. Each page seeks past the last id of
+     * the previous one instead of skipping an offset, so the cost of a page does not grow with its depth.
+     * A range of creation times is passed twice: as a range of ids, a little wider than the times, which keeps
+     * the page one range scan of the primary key, and as the exact bounds of {@code created}, checked on the
+     * rows of that scan. The email filter is a {@code LIKE} pattern escaped with a backslash. Only the columns
+     * of the {@link UserListing} projection are fetched.
+     * </p>
+     *
+     * @param after        the exclusive lower bound of the id: the last id of the previous page, or of the range
+     * @param before       the exclusive upper bound of the id
+     * @param createdFrom  the inclusive lower bound of the creation time, or null
+     * @param createdTo    the exclusive upper bound of the creation time, or null
+     * @param emailPattern the {@code LIKE} pattern the email must match; {@code %} matches every email
+     * @param limit        the maximum number of users to return
+     * @return the users of the page, in id order
+     */
+    @Query("SELECT u.id AS id, u.xkey AS xkey, u.name AS name, u.email AS email, u.created AS created, u.modified AS modified "
+         + "FROM User u "
+         + "WHERE u.id > :after AND u.id < :before "
+         + "AND (:createdFrom IS NULL OR u.created >= :createdFrom) AND (:createdTo IS NULL OR u.created < :createdTo) "
+         + "AND u.email LIKE :emailPattern ESCAPE '\\' "
+         + "ORDER BY u.id")
+    List<UserListing> findPage(@Param("after") long after,
+                               @Param("before") long before,
+                               @Param("createdFrom") LocalDateTime createdFrom,
+                               @Param("createdTo") LocalDateTime createdTo,
+                               @NotNull @Param("emailPattern") String emailPattern,
+                               Limit limit);
+}
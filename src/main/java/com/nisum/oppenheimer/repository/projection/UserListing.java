@@ -0,0 +1,44 @@
+package com.nisum.oppenheimer.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * UserListing is a read-only interface projection of the {@code USERS} row, used by the paged listing.
+ * <p>
+ * Spring Data fetches only the aliased columns of the query, so the entity, its phones and its password hash
+ * are never loaded. The internal {@link #getId() id} is the keyset position of the row and never leaves the
+ * service layer in clear.
+ * </p>
+ */
+public interface UserListing {
+
+    /**
+     * @return the internal, time-ordered id of the user.
+     */
+    Long getId();
+
+    /**
+     * @return the public key of the user.
+     */
+    String getXkey();
+
+    /**
+     * @return the full name of the user.
+     */
+    String getName();
+
+    /**
+     * @return the email address of the user.
+     */
+    String getEmail();
+
+    /**
+     * @return when the user was created.
+     */
+    LocalDateTime getCreated();
+
+    /**
+     * @return when the user was last modified.
+     */
+    LocalDateTime getModified();
+}
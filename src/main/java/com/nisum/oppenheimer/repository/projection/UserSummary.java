@@ -0,0 +1,23 @@
+package com.nisum.oppenheimer.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * UserSummary is a read-only projection of the {@code USERS} row.
+ * <p>
+ * It is built directly by the query, so neither the {@link com.nisum.oppenheimer.model.User} entity
+ * nor its phones are loaded or tracked by the persistence context.
+ * </p>
+ *
+ * @param xkey      the public key of the user.
+ * @param name      the full name of the user.
+ * @param email     the email address of the user.
+ * @param created   when the user was created.
+ * @param modified  when the user was last modified.
+ */
+public record UserSummary(String xkey,
+                          String name,
+                          String email,
+                          LocalDateTime created,
+                          LocalDateTime modified) {
+}
@@ -0,0 +1,17 @@
+package com.nisum.oppenheimer.repository.routing;
+
+/**
+ * The datasources a connection can be routed to.
+ */
+public enum DataSourceRoute {
+
+    /**
+     * The read-write primary database, which every write and every read-write transaction uses.
+     */
+    PRIMARY,
+
+    /**
+     * The read-only replica, used by read-only transactions while it is within the lag tolerance.
+     */
+    REPLICA
+}
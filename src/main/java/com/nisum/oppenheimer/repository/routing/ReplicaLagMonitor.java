@@ -0,0 +1,75 @@
+package com.nisum.oppenheimer.repository.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * ReplicaLagMonitor measures how far the replica is behind the primary.
+ * <p>
+ * Every {@code datasource.replica.lagCheckInterval} it writes the current time to the single row of
+ * {@code REPLICA_HEARTBEAT} on the primary, reads the row back from the replica, and hands the difference to
+ * {@link ReplicaRouting}. When the replica cannot be read, the lag is unknown and reads stay on the primary.
+ * </p>
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String UPDATE_HEARTBEAT = "UPDATE replica_heartbeat SET beat = ? WHERE id = 1";
+    private static final String INSERT_HEARTBEAT = "INSERT INTO replica_heartbeat (id, beat) VALUES (1, ?)";
+    private static final String SELECT_HEARTBEAT = "SELECT beat FROM replica_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final ReplicaRouting replicaRouting;
+    private final Clock clock;
+
+    private volatile boolean healthy = true;
+
+    public ReplicaLagMonitor(JdbcTemplate primary, JdbcTemplate replica, ReplicaRouting replicaRouting, Clock clock) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaRouting = replicaRouting;
+        this.clock = clock;
+    }
+
+    /**
+     * Writes a heartbeat on the primary and measures how old the replica's copy is.
+     *
+     * @return the lag, or null if it could not be measured
+     */
+    @Scheduled(fixedDelayString = "${datasource.replica.lagCheckInterval}")
+    public Duration check() {
+        Duration lag = null;
+        String failure = "no heartbeat replicated yet";
+        try {
+            var beat = Timestamp.valueOf(LocalDateTime.now(clock));
+            if (primary.update(UPDATE_HEARTBEAT, beat) == 0) {
+                primary.update(INSERT_HEARTBEAT, beat);
+            }
+            var replicated = replica.queryForList(SELECT_HEARTBEAT, Timestamp.class);
+            if (!replicated.isEmpty()) {
+                lag = Duration.between(replicated.getFirst().toLocalDateTime(), beat.toLocalDateTime());
+            }
+        } catch (DataAccessException e) {
+            failure = e.getMessage();
+        }
+
+        if (lag == null && healthy) {
+            logger.warn("Could not measure the replica lag, reading from the primary: {}", failure);
+        } else if (lag != null && !healthy) {
+            logger.info("Replica lag measured again: {} ms", lag.toMillis());
+        }
+        healthy = lag != null;
+        replicaRouting.replicaLag(lag);
+        return lag;
+    }
+}
@@ -0,0 +1,157 @@
+package com.nisum.oppenheimer.repository.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * ReplicaRouting decides whether a new connection goes to the primary database or to the read replica.
+ * <p>
+ * A connection goes to the replica only when all of these hold: {@code datasource.replica.enabled} is set,
+ * the current transaction is read-only (as the Spring Data repository reads are), the replica lag last measured
+ * is within {@code datasource.replica.lagTolerance}, and the caller has not asked for the primary. Everything
+ * else, including writes and reads inside a read-write transaction, uses the primary.
+ * </p>
+ *
+ * <p>
+ * Read-your-writes: keys written by this instance, such as the email and public key of a new user, are
+ * remembered for {@code datasource.replica.stickiness}. Reads of those keys made through
+ * {@link #readYourWrites} go to the primary during that window, so a user can log in or fetch their profile
+ * right after signing up even when the replica has not caught up yet. The window is per instance.
+ * </p>
+ */
+@Component
+public class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final Duration lagTolerance;
+    private final Cache<String, Boolean> recentWrites;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+
+    /**
+     * The lag last measured by the {@link ReplicaLagMonitor} in nanoseconds, or -1 while it is unknown.
+     */
+    private volatile long lagNanos = -1;
+
+    public ReplicaRouting(MeterRegistry meterRegistry,
+                          @Value("${datasource.replica.enabled}") boolean enabled,
+                          @Value("${datasource.replica.lagTolerance}") Duration lagTolerance,
+                          @Value("${datasource.replica.stickiness}") Duration stickiness,
+                          @Value("${datasource.replica.stickyKeys}") long stickyKeys) {
+        this.enabled = enabled;
+        this.lagTolerance = lagTolerance;
+        this.recentWrites = Caffeine.newBuilder()
+                                    .maximumSize(stickyKeys)
+                                    .expireAfterWrite(stickiness)
+                                    .build();
+        this.primaryRoutes = meterRegistry.counter("datasource.routes", "route", "primary");
+        this.replicaRoutes = meterRegistry.counter("datasource.routes", "route", "replica");
+
+        if (enabled) {
+            TimeGauge.builder("datasource.replica.lag", this, TimeUnit.NANOSECONDS, routing -> routing.lagNanos)
+                     .description("Replication lag last measured, or -1 while unknown")
+                     .register(meterRegistry);
+        }
+    }
+
+    /**
+     * A routing that always uses the primary, for tests and tools that build services by hand.
+     *
+     * @return a disabled routing
+     */
+    public static ReplicaRouting disabled() {
+        return new ReplicaRouting(new SimpleMeterRegistry(), false, Duration.ZERO, Duration.ofSeconds(1), 1);
+    }
+
+    /**
+     * Chooses the datasource of a connection being opened.
+     *
+     * @return the route of the connection
+     */
+    public DataSourceRoute route() {
+        if (enabled
+            && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            && PRIMARY_REQUIRED.get() == null
+            && replicaWithinTolerance()) {
+            replicaRoutes.increment();
+            return DataSourceRoute.REPLICA;
+        }
+        primaryRoutes.increment();
+        return DataSourceRoute.PRIMARY;
+    }
+
+    /**
+     * Runs a task whose reads must see every committed write, routing them to the primary.
+     *
+     * @param task the task
+     * @param <T>  the result type
+     * @return the task result
+     */
+    public <T> T onPrimary(Supplier<T> task) {
+        if (!enabled || PRIMARY_REQUIRED.get() != null) {
+            return task.get();
+        }
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return task.get();
+        } finally {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    /**
+     * Runs a read of the given key on the primary if this instance wrote the key within the stickiness window,
+     * or with the usual routing otherwise.
+     *
+     * @param key  the key read, such as an email or a public key
+     * @param task the read
+     * @param <T>  the result type
+     * @return the read result
+     */
+    public <T> T readYourWrites(String key, Supplier<T> task) {
+        if (enabled && recentWrites.getIfPresent(key) != null) {
+            return onPrimary(task);
+        }
+        return task.get();
+    }
+
+    /**
+     * Records that the given keys were just written on the primary.
+     *
+     * @param keys the keys written
+     */
+    public void written(String... keys) {
+        if (enabled) {
+            for (String key : keys) {
+                recentWrites.put(key, Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * Records the replication lag, or null when it could not be measured.
+     *
+     * @param lag the lag measured
+     */
+    public void replicaLag(Duration lag) {
+        lagNanos = lag == null ? -1 : lag.toNanos();
+    }
+
+    private boolean replicaWithinTolerance() {
+        long lag = lagNanos;
+        return lag >= 0 && lag <= lagTolerance.toNanos();
+    }
+}
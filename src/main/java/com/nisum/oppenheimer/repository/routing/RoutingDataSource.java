@@ -0,0 +1,32 @@
+package com.nisum.oppenheimer.repository.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * A datasource that opens each connection on the primary or on the replica, as {@link ReplicaRouting} decides.
+ * <p>
+ * The route is chosen when the connection is opened, so this datasource must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: transaction managers open their
+ * connection before they mark the transaction read-only, and the proxy defers it to the first statement.
+ * </p>
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaRouting replicaRouting;
+
+    public RoutingDataSource(DataSource primary, DataSource replica, ReplicaRouting replicaRouting) {
+        this.replicaRouting = replicaRouting;
+        setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return replicaRouting.route();
+    }
+}
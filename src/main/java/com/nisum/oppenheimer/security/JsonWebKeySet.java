@@ -0,0 +1,135 @@
+package com.nisum.oppenheimer.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JsonWebKeySet is the JWKS document (RFC 7517) publishing the token verification keys.
+ * <p>
+ * The document and its ETag are rendered ahead of time, so serving {@code /.well-known/jwks.json} costs
+ * no serialization and can be revalidated by clients with {@code If-None-Match}. They are rendered again
+ * only when the set of keys still valid changes, so a key leaves the document as soon as it expires.
+ * </p>
+ */
+public final class JsonWebKeySet {
+
+    private static final int P256_COORDINATE_LENGTH = 32;
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final SigningKeyRing keyRing;
+    private volatile Document document;
+
+    private JsonWebKeySet(SigningKeyRing keyRing) {
+        this.keyRing = keyRing;
+        this.document = render(keyRing.publishedKeys());
+    }
+
+    /**
+     * Renders the JWKS document for the given key ring.
+     *
+     * @param keyRing the signing key ring
+     * @return the key set; empty in HMAC mode, since the shared secret is never published
+     */
+    public static JsonWebKeySet of(SigningKeyRing keyRing) {
+        return new JsonWebKeySet(keyRing);
+    }
+
+    /**
+     * Returns the document publishing the keys valid right now, rendering it again if a key expired or
+     * was activated since the last call.
+     *
+     * @return the current document and its ETag
+     */
+    public Document current() {
+        var keys = keyRing.publishedKeys();
+        var current = document;
+        if (!current.kids().equals(keys.stream().map(SigningKey::kid).toList())) {
+            current = render(keys);
+            document = current;
+        }
+        return current;
+    }
+
+    private Document render(List<SigningKey> keys) {
+        var jwks = keys.stream()
+                       .map(key -> toJwk(key, keyRing.algorithmName()))
+                       .toList();
+        try {
+            var body = new ObjectMapper().writeValueAsBytes(Map.of("keys", jwks));
+            return new Document(keys.stream().map(SigningKey::kid).toList(), body,
+                                "\"" + BASE64_URL.encodeToString(sha256(body)) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render the JWKS document", e);
+        }
+    }
+
+    private static Map<String, String> toJwk(SigningKey key, String algorithmName) {
+        Map<String, String> jwk = new LinkedHashMap<>();
+        if (key.publicKey() instanceof ECPublicKey ec) {
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", encode(ec.getW().getAffineX(), P256_COORDINATE_LENGTH));
+            jwk.put("y", encode(ec.getW().getAffineY(), P256_COORDINATE_LENGTH));
+        } else if (key.publicKey() instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", encode(rsa.getModulus(), 0));
+            jwk.put("e", encode(rsa.getPublicExponent(), 0));
+        } else {
+            throw new IllegalArgumentException("Unsupported public key type for kid " + key.kid());
+        }
+        jwk.put("kid", key.kid());
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithmName);
+        return jwk;
+    }
+
+    /**
+     * Encodes an integer as unsigned big-endian base64url, left-padded with zeros to the given length.
+     */
+    private static String encode(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (bytes.length < length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return BASE64_URL.encodeToString(bytes);
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A rendered JWKS document.
+     *
+     * @param kids Ids of the published keys, in document order.
+     * @param body JSON body of the document.
+     * @param etag Strong ETag of the body.
+     */
+    public record Document(List<String> kids, byte[] body, String etag) {
+
+        @Override
+        public byte[] body() {
+            return body.clone();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.nisum.oppenheimer.security;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Instant;
+
+/**
+ * SigningKey is one asymmetric key of the token signing key ring.
+ *
+ * @param kid        Key id, written to the {@code kid} header of the tokens it signs.
+ * @param publicKey  Public key, used to verify tokens and published in the JWKS.
+ * @param privateKey Private key, or {@code null} for a verify-only key.
+ * @param activeFrom When the key starts signing new tokens.
+ * @param expiresAt  When tokens signed with the key stop being accepted, or {@code null} if it never expires.
+ */
+public record SigningKey(String kid,
+                         PublicKey publicKey,
+                         PrivateKey privateKey,
+                         Instant activeFrom,
+                         Instant expiresAt) {
+
+    /**
+     * Checks whether the key may sign new tokens at the given time.
+     *
+     * @param now the current time
+     * @return true if the key has a private key, is already active and has not expired
+     */
+    public boolean canSign(Instant now) {
+        return privateKey != null && !activeFrom.isAfter(now) && !isExpired(now);
+    }
+
+    /**
+     * Checks whether the key has expired at the given time.
+     *
+     * @param now the current time
+     * @return true if tokens signed with the key are no longer accepted
+     */
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,216 @@
+package com.nisum.oppenheimer.security;
+
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.ECDSAKeyProvider;
+import com.auth0.jwt.interfaces.RSAKeyProvider;
+
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SigningKeyRing holds the keys used to sign and verify tokens.
+ * <p>
+ * In {@code HS256} mode it wraps the shared HMAC secret. In {@code ES256} and {@code RS256} mode it holds several
+ * asymmetric keys with overlapping rotation windows: new tokens are signed with the most recently activated key,
+ * while tokens carrying the {@code kid} of any key that has not expired yet keep verifying. The signing
+ * {@link Algorithm} of every key is built once and reused.
+ * </p>
+ */
+public final class SigningKeyRing {
+
+    public static final String HS256 = "HS256";
+    public static final String ES256 = "ES256";
+    public static final String RS256 = "RS256";
+
+    private final String algorithmName;
+    private final Clock clock;
+    private final List<SigningKey> keys;
+    private final Map<String, Signer> signers;
+    private final Signer hmacSigner;
+    private final Algorithm verificationAlgorithm;
+
+    private SigningKeyRing(String algorithmName, Clock clock, List<SigningKey> keys, Signer hmacSigner) {
+        this.algorithmName = algorithmName;
+        this.clock = clock;
+        this.keys = keys.stream().sorted(Comparator.comparing(SigningKey::activeFrom).reversed()).toList();
+        this.signers = new LinkedHashMap<>();
+        this.hmacSigner = hmacSigner;
+        this.keys.stream()
+                 .filter(key -> key.privateKey() != null)
+                 .forEach(key -> signers.put(key.kid(), new Signer(key.kid(), signingAlgorithm(key))));
+        this.verificationAlgorithm = hmacSigner != null ? hmacSigner.algorithm() : keyProviderAlgorithm();
+    }
+
+    /**
+     * Creates a key ring signing and verifying with a shared HMAC secret.
+     *
+     * @param secret the HMAC secret
+     * @return the key ring
+     */
+    public static SigningKeyRing hmac(String secret) {
+        return new SigningKeyRing(HS256, Clock.systemUTC(), List.of(), new Signer(null, Algorithm.HMAC256(secret)));
+    }
+
+    /**
+     * Creates a key ring signing with rotating asymmetric keys.
+     *
+     * @param algorithmName {@code ES256} or {@code RS256}
+     * @param keys          the keys of the ring
+     * @param clock         the clock deciding which keys are active
+     * @return the key ring
+     * @throws IllegalArgumentException if a key does not fit the algorithm, such as an {@code ES256} key
+     *                                  on a curve other than P-256
+     */
+    public static SigningKeyRing asymmetric(String algorithmName, List<SigningKey> keys, Clock clock) {
+        if (!ES256.equals(algorithmName) && !RS256.equals(algorithmName)) {
+            throw new IllegalArgumentException("Unsupported token signing algorithm: " + algorithmName);
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("At least one signing key is required for " + algorithmName);
+        }
+        keys.forEach(key -> checkKeyType(algorithmName, key));
+        return new SigningKeyRing(algorithmName, clock, keys, null);
+    }
+
+    /**
+     * Returns the signer for new tokens: the most recently activated key that can sign right now.
+     *
+     * @return the current signer
+     * @throws IllegalStateException if no key can sign
+     */
+    public Signer signer() {
+        if (hmacSigner != null) {
+            return hmacSigner;
+        }
+        var now = clock.instant();
+        return keys.stream()
+                   .filter(key -> key.canSign(now))
+                   .findFirst()
+                   .map(key -> signers.get(key.kid()))
+                   .orElseThrow(() -> new IllegalStateException("No active token signing key"));
+    }
+
+    /**
+     * Returns the algorithm verifying tokens, resolving the public key from the {@code kid} header.
+     *
+     * @return the verification algorithm
+     */
+    public Algorithm verificationAlgorithm() {
+        return verificationAlgorithm;
+    }
+
+    /**
+     * Returns the keys to publish in the JWKS: every asymmetric key that has not expired yet,
+     * including keys that will only start signing later.
+     *
+     * @return the published keys, empty in HMAC mode
+     */
+    public List<SigningKey> publishedKeys() {
+        var now = clock.instant();
+        return keys.stream().filter(key -> !key.isExpired(now)).toList();
+    }
+
+    public String algorithmName() {
+        return algorithmName;
+    }
+
+    private static void checkKeyType(String algorithmName, SigningKey key) {
+        if (ES256.equals(algorithmName)) {
+            if (!(key.publicKey() instanceof ECPublicKey publicKey) || !isP256(publicKey.getParams())
+                || (key.privateKey() != null && !(key.privateKey() instanceof ECPrivateKey))) {
+                throw new IllegalArgumentException("Signing key " + key.kid() + " is not a P-256 key, required for " + ES256);
+            }
+        } else if (!(key.publicKey() instanceof RSAPublicKey)
+                   || (key.privateKey() != null && !(key.privateKey() instanceof RSAPrivateKey))) {
+            throw new IllegalArgumentException("Signing key " + key.kid() + " is not an RSA key, required for " + RS256);
+        }
+    }
+
+    private static boolean isP256(ECParameterSpec params) {
+        try {
+            var parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            var p256 = parameters.getParameterSpec(ECParameterSpec.class);
+            return p256.getCurve().equals(params.getCurve())
+                   && p256.getGenerator().equals(params.getGenerator())
+                   && p256.getOrder().equals(params.getOrder())
+                   && p256.getCofactor() == params.getCofactor();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("P-256 curve parameters are not available", e);
+        }
+    }
+
+    private SigningKey verificationKey(String kid) {
+        var now = clock.instant();
+        return keys.stream()
+                   .filter(key -> key.kid().equals(kid) && !key.isExpired(now))
+                   .findFirst()
+                   .orElse(null);
+    }
+
+    private Algorithm signingAlgorithm(SigningKey key) {
+        if (ES256.equals(algorithmName)) {
+            return Algorithm.ECDSA256((ECPublicKey) key.publicKey(), (ECPrivateKey) key.privateKey());
+        }
+        return Algorithm.RSA256((RSAPublicKey) key.publicKey(), (RSAPrivateKey) key.privateKey());
+    }
+
+    private Algorithm keyProviderAlgorithm() {
+        if (ES256.equals(algorithmName)) {
+            return Algorithm.ECDSA256(new ECDSAKeyProvider() {
+                @Override
+                public ECPublicKey getPublicKeyById(String kid) {
+                    var key = verificationKey(kid);
+                    return key != null ? (ECPublicKey) key.publicKey() : null;
+                }
+
+                @Override
+                public ECPrivateKey getPrivateKey() {
+                    return null;
+                }
+
+                @Override
+                public String getPrivateKeyId() {
+                    return null;
+                }
+            });
+        }
+        return Algorithm.RSA256(new RSAKeyProvider() {
+            @Override
+            public RSAPublicKey getPublicKeyById(String kid) {
+                var key = verificationKey(kid);
+                return key != null ? (RSAPublicKey) key.publicKey() : null;
+            }
+
+            @Override
+            public RSAPrivateKey getPrivateKey() {
+                return null;
+            }
+
+            @Override
+            public String getPrivateKeyId() {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * A pre-built signing algorithm together with the id of its key.
+     *
+     * @param kid       Key id for the {@code kid} header, or {@code null} in HMAC mode.
+     * @param algorithm The signing algorithm.
+     */
+    public record Signer(String kid, Algorithm algorithm) {
+    }
+}
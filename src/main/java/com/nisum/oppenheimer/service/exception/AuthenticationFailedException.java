@@ -0,0 +1,19 @@
+package com.nisum.oppenheimer.service.exception;
+
+import java.io.Serial;
+
+/**
+ * Thrown when a user cannot be authenticated with the given credentials.
+ * <p>
+ * The message never tells whether the email or the password was wrong.
+ * </p>
+ */
+public class AuthenticationFailedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public AuthenticationFailedException(String message) {
+        super(message);
+    }
+}
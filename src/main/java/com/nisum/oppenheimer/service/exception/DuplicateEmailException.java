@@ -0,0 +1,16 @@
+package com.nisum.oppenheimer.service.exception;
+
+import java.io.Serial;
+
+/**
+ * Thrown when a user cannot be created because their email address is already registered.
+ */
+public class DuplicateEmailException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public DuplicateEmailException(String message) {
+        super(message);
+    }
+}
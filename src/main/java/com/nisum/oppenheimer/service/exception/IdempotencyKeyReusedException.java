@@ -0,0 +1,16 @@
+package com.nisum.oppenheimer.service.exception;
+
+import java.io.Serial;
+
+/**
+ * Thrown when an {@code Idempotency-Key} is sent again with a request other than the one it was first used with.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.nisum.oppenheimer.service.exception;
+
+import java.io.Serial;
+import java.time.Duration;
+
+/**
+ * Thrown when a request with the same {@code Idempotency-Key} is still running elsewhere.
+ * <p>
+ * It carries the delay after which the client may retry and get the stored response, so the API layer can
+ * answer with a 409 Conflict and a {@code Retry-After} header.
+ * </p>
+ */
+public class RequestInProgressException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final transient Duration retryAfter;
+
+    public RequestInProgressException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,28 @@
+package com.nisum.oppenheimer.service.exception;
+
+import java.io.Serial;
+import java.time.Duration;
+
+/**
+ * Thrown when a bounded processing stage cannot accept more work.
+ * <p>
+ * It carries the delay after which the client may retry, so the API layer can answer with
+ * a 503 Service Unavailable and a {@code Retry-After} header instead of queueing the request.
+ * </p>
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final transient Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,16 @@
+package com.nisum.oppenheimer.service.exception;
+
+import java.io.Serial;
+
+/**
+ * Thrown when no user exists with the requested key.
+ */
+public class UserNotFoundException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public UserNotFoundException(String message) {
+        super(message);
+    }
+}
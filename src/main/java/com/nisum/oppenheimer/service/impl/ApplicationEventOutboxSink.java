@@ -0,0 +1,31 @@
+package com.nisum.oppenheimer.service.impl;
+
+import com.nisum.oppenheimer.service.record.OutboxEventRecord;
+import com.nisum.oppenheimer.service.spec.OutboxSink;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * In-process implementation of the {@link OutboxSink} interface, active with {@code outbox.sink: event}.
+ * <p>
+ * Each event is published as an application event, so any bean can receive it with an
+ * {@code @EventListener} for {@link OutboxEventRecord}. Listeners run synchronously on the relay thread:
+ * a listener that throws makes the relay retry the batch.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "event", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ApplicationEventOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void publish(List<OutboxEventRecord> events) {
+        events.forEach(applicationEventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,136 @@
+package com.nisum.oppenheimer.service.impl;
+
+import com.nisum.oppenheimer.repository.UserRepository;
+import com.nisum.oppenheimer.service.spec.EmailIndexService;
+import com.nisum.oppenheimer.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Implementation of the {@link EmailIndexService} interface.
+ * <p>
+ * Registered emails are kept in a {@link BloomFilter} sized from {@code user.emailIndex.expectedEntries} and
+ * {@code user.emailIndex.falsePositiveRate}. The filter is filled from the {@code USERS} table once the
+ * application is ready, and every insert is added to it afterwards. An email the filter has never seen is
+ * reported as free without a query; only possible matches are checked against the database.
+ * </p>
+ *
+ * <p>
+ * The filter only knows the inserts seen by this instance, so it is an optimization and not a guarantee: the
+ * {@code uc_users_email} constraint remains the source of truth for duplicates. Until the warm-up completes,
+ * every email is treated as a possible match. The filter memory, the configured and estimated false-positive
+ * rates, and the lookups by outcome are exported as metrics.
+ * </p>
+ */
+@Service
+public class EmailIndexServiceImpl implements EmailIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailIndexServiceImpl.class);
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final BloomFilter filter;
+
+    private final Counter misses;
+    private final Counter hits;
+    private final Counter falsePositives;
+
+    private volatile boolean ready;
+
+    public EmailIndexServiceImpl(UserRepository userRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${user.emailIndex.expectedEntries}") long expectedEntries,
+                                 @Value("${user.emailIndex.falsePositiveRate}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+
+        Gauge.builder("user.email.index.memory", filter, BloomFilter::sizeInBytes)
+             .description("Memory held by the email Bloom filter")
+             .baseUnit("bytes")
+             .register(meterRegistry);
+        Gauge.builder("user.email.index.entries", filter, BloomFilter::approximateEntries)
+             .description("Approximate number of emails in the Bloom filter")
+             .register(meterRegistry);
+        Gauge.builder("user.email.index.fpp", () -> falsePositiveRate)
+             .description("False-positive rate the Bloom filter is sized for")
+             .tag("type", "configured")
+             .register(meterRegistry);
+        Gauge.builder("user.email.index.fpp", filter, BloomFilter::expectedFalsePositiveRate)
+             .description("False-positive rate estimated from the bits set")
+             .tag("type", "estimated")
+             .register(meterRegistry);
+
+        this.misses = meterRegistry.counter("user.email.index.lookups", "result", "miss");
+        this.hits = meterRegistry.counter("user.email.index.lookups", "result", "maybe");
+        this.falsePositives = meterRegistry.counter("user.email.index.false.positives");
+
+        logger.info("Email index sized for {} entries at {} false positives: {} bytes, {} hash functions",
+                    expectedEntries, falsePositiveRate, filter.sizeInBytes(), filter.hashFunctions());
+    }
+
+    /**
+     * Fills the filter with the emails already stored, streaming them row by row.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long started = System.nanoTime();
+        jdbcTemplate.query("SELECT email FROM users", (RowCallbackHandler) rs -> filter.put(rs.getString(1)));
+        ready = true;
+        logger.info("Email index warmed up with ~{} emails in {} ms",
+                    filter.approximateEntries(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public boolean exists(String email) {
+        if (!mightExist(email)) {
+            return false;
+        }
+        boolean exists = userRepository.existsByEmail(email);
+        if (!exists && ready) {
+            falsePositives.increment();
+        }
+        return exists;
+    }
+
+    @Override
+    public Set<String> existing(Collection<String> emails) {
+        var candidates = emails.stream().filter(this::mightExist).toList();
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        var existing = userRepository.findExistingEmails(candidates);
+        if (ready) {
+            falsePositives.increment(candidates.size() - existing.size());
+        }
+        return existing;
+    }
+
+    @Override
+    public void add(String email) {
+        filter.put(email);
+    }
+
+    @Override
+    public boolean mightExist(String email) {
+        if (ready && !filter.mightContain(email)) {
+            misses.increment();
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+}
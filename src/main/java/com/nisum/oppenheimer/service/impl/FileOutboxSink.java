@@ -0,0 +1,72 @@
+package com.nisum.oppenheimer.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.nisum.oppenheimer.service.record.OutboxEventRecord;
+import com.nisum.oppenheimer.service.spec.OutboxSink;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * File implementation of the {@link OutboxSink} interface, active with {@code outbox.sink: file}.
+ * <p>
+ * Events are appended to {@code outbox.file.path} as NDJSON, one compact JSON line per event. Each batch is
+ * written with a single write and forced to disk before the relay removes it from the outbox, so a crash
+ * can repeat lines but never lose them.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileOutboxSink.class);
+
+    private final ObjectWriter writer;
+    private final FileChannel channel;
+
+    public FileOutboxSink(ObjectMapper objectMapper, @Value("${outbox.file.path}") Path path) throws IOException {
+        this.writer = objectMapper.writerFor(OutboxEventRecord.class).without(SerializationFeature.INDENT_OUTPUT);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        logger.info("Publishing outbox events to {}", path.toAbsolutePath());
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEventRecord> events) {
+        try {
+            var lines = new ByteArrayOutputStream(events.size() * 256);
+            for (OutboxEventRecord event : events) {
+                writer.writeValue(lines, event);
+                lines.write('\n');
+            }
+            var buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Closes the file once the relay has stopped.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,239 @@
+package com.nisum.oppenheimer.service.impl;
+
+import com.nisum.oppenheimer.api.restful.controllers.dto.PhoneDTO;
+import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO;
+import com.nisum.oppenheimer.model.User;
+import com.nisum.oppenheimer.service.exception.IdempotencyKeyReusedException;
+import com.nisum.oppenheimer.service.exception.RequestInProgressException;
+import com.nisum.oppenheimer.service.record.IdempotentResponseRecord;
+import com.nisum.oppenheimer.service.spec.IdempotencyService;
+import com.nisum.oppenheimer.service.spec.IdempotencyStore;
+import com.nisum.oppenheimer.service.spec.TokenService;
+import com.nisum.oppenheimer.util.Constants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of the {@link IdempotencyService} interface.
+ * <p>
+ * Requests with the same key that arrive while the first one runs on this instance wait for its
+ * {@link CompletableFuture} instead of running again, and get its response or its exception. Only the first
+ * request claims the key in the {@link IdempotencyStore}; a completed response is stored there and replayed to
+ * later requests until it expires, while a failed request releases the key so that a retry runs it again.
+ * The response is stored without its token, so no bearer token ever lands in the store, and every replay gets
+ * a fresh token signed by the {@link TokenService}, as a login would.
+ * A key that another instance holds in flight is answered with a {@link RequestInProgressException}.
+ * </p>
+ *
+ * <p>
+ * A key is bound to the fingerprint of its first request: an HMAC-SHA256 under {@code idempotency.secret} of
+ * every field of the bound {@link UserDTO}, password included, each written length-prefixed so that no two
+ * requests share their canonical bytes. The fields go straight into the MAC, so the password never ends up in
+ * an intermediate string, and the stored value reveals nothing about the request. Sending the key with any other
+ * request, even one differing only in its password, is rejected, so knowing someone's key and email is not
+ * enough to get their response replayed.
+ * The secret comes from the environment and has no default outside the local and test profiles, so the
+ * service refuses to start without it. The outcome of every request is counted as {@code idempotency.requests}.
+ * </p>
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+    private static final int KEY_MAX_LENGTH = 64;
+    private static final String HMAC_SHA256 = "HmacSHA256";
+
+    private final IdempotencyStore idempotencyStore;
+    private final TokenService tokenService;
+    private final Duration retryAfter;
+    private final SecretKeySpec secret;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter coalesced;
+    private final Counter rejected;
+
+    public IdempotencyServiceImpl(IdempotencyStore idempotencyStore,
+                                  TokenService tokenService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${idempotency.retryAfter}") Duration retryAfter,
+                                  @Value("${idempotency.secret}") String secret) {
+        this.idempotencyStore = idempotencyStore;
+        this.tokenService = tokenService;
+        this.retryAfter = retryAfter;
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("idempotency.secret is not set; provide it through IDEMPOTENCY_SECRET");
+        }
+        this.secret = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_SHA256);
+        this.executed = outcome(meterRegistry, "executed");
+        this.replayed = outcome(meterRegistry, "replayed");
+        this.coalesced = outcome(meterRegistry, "coalesced");
+        this.rejected = outcome(meterRegistry, "rejected");
+    }
+
+    @Override
+    public IdempotentResponseRecord execute(String key, UserDTO request, Supplier<IdempotentResponseRecord> create) {
+        if (key == null || key.isBlank() || key.length() > KEY_MAX_LENGTH) {
+            throw new IllegalArgumentException(Constants.IDEMPOTENCY_KEY_INVALID);
+        }
+        var hash = fingerprint(request);
+
+        // Join the request already running on this instance, if any
+        var running = new InFlight(hash, new CompletableFuture<>());
+        var current = inFlight.putIfAbsent(key, running);
+        if (current != null) {
+            checkFingerprint(current.fingerprint(), hash);
+            coalesced.increment();
+            return await(current.response());
+        }
+
+        try {
+            var stored = idempotencyStore.claim(key, hash);
+            if (stored.isPresent()) {
+                var response = replay(stored.get(), hash, request);
+                running.response().complete(response);
+                return response;
+            }
+            return run(key, hash, create, running.response());
+        } catch (RuntimeException e) {
+            running.response().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, running);
+        }
+    }
+
+    /**
+     * Runs the request of a claimed key and stores its response, or releases the key if it fails.
+     */
+    private IdempotentResponseRecord run(String key, String hash, Supplier<IdempotentResponseRecord> request,
+                                         CompletableFuture<IdempotentResponseRecord> future) {
+        IdempotentResponseRecord response;
+        try {
+            var created = request.get();
+            response = new IdempotentResponseRecord(hash, created.location(), created.body());
+        } catch (RuntimeException e) {
+            idempotencyStore.release(key);
+            throw e;
+        }
+        executed.increment();
+        // The user exists by now, so a response that cannot be stored is still returned
+        try {
+            idempotencyStore.complete(key, response.withToken(null));
+        } catch (RuntimeException e) {
+            logger.warn("Could not store the response for an Idempotency-Key: {}", e.getMessage());
+        }
+        future.complete(response);
+        return response;
+    }
+
+    /**
+     * Returns the stored response with a fresh token, unless it belongs to another request or is still in flight
+     * elsewhere. The request matches the fingerprint, so its email and name are those of the user it created.
+     */
+    private IdempotentResponseRecord replay(IdempotentResponseRecord stored, String hash, UserDTO request) {
+        checkFingerprint(stored.fingerprint(), hash);
+        if (!stored.completed()) {
+            rejected.increment();
+            throw new RequestInProgressException(Constants.IDEMPOTENCY_KEY_IN_PROGRESS, retryAfter);
+        }
+        replayed.increment();
+        logger.debug("Replaying stored response for {}", stored.location());
+        var user = User.builder().email(request.getEmail()).name(request.getName()).build();
+        return stored.withToken(tokenService.generate(user));
+    }
+
+    private void checkFingerprint(String stored, String hash) {
+        if (!stored.equals(hash)) {
+            rejected.increment();
+            throw new IdempotencyKeyReusedException(Constants.IDEMPOTENCY_KEY_REUSED);
+        }
+    }
+
+    private static IdempotentResponseRecord await(CompletableFuture<IdempotentResponseRecord> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Computes the HMAC of the canonical bytes of a sign-up request: its fields in order, then its phones.
+     */
+    private String fingerprint(UserDTO request) {
+        try {
+            // Mac instances are not thread safe, and cheap next to the sign-up they guard
+            var mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(secret);
+            update(mac, request.getName());
+            update(mac, request.getEmail());
+            update(mac, request.getPassword());
+            // A missing phone list creates the same user as an empty one
+            List<PhoneDTO> phones = Optional.ofNullable(request.getPhones()).orElse(List.of());
+            mac.update(length(phones.size()));
+            for (PhoneDTO phone : phones) {
+                update(mac, phone.getNumber());
+                update(mac, phone.getCityCode());
+                update(mac, phone.getCountryCode());
+            }
+            return HexFormat.of().formatHex(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    /**
+     * Adds a field to the MAC as its length in bytes, -1 if absent, followed by its UTF-8 bytes.
+     */
+    private static void update(Mac mac, String field) {
+        if (field == null) {
+            mac.update(length(-1));
+            return;
+        }
+        var bytes = field.getBytes(StandardCharsets.UTF_8);
+        mac.update(length(bytes.length));
+        mac.update(bytes);
+    }
+
+    private static byte[] length(int length) {
+        return ByteBuffer.allocate(Integer.BYTES).putInt(length).array();
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("idempotency.requests")
+                      .description("Sign-up requests with an Idempotency-Key, by outcome")
+                      .tag("outcome", outcome)
+                      .register(meterRegistry);
+    }
+
+    /**
+     * A request running on this instance, and the fingerprint it was sent with.
+     */
+    private record InFlight(String fingerprint, CompletableFuture<IdempotentResponseRecord> response) {
+    }
+}
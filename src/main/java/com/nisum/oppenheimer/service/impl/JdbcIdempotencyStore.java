@@ -0,0 +1,149 @@
+package com.nisum.oppenheimer.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.nisum.oppenheimer.service.record.IdempotentResponseRecord;
+import com.nisum.oppenheimer.service.record.UserRecord;
+import com.nisum.oppenheimer.service.spec.IdempotencyStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Database implementation of the {@link IdempotencyStore} interface, active with {@code idempotency.store: database}.
+ * <p>
+ * Keys are rows of the {@code IDEMPOTENCY_KEYS} table, shared by every replica. A request claims its key by
+ * inserting the row, outside any transaction so other replicas see the claim right away, and completes it by
+ * writing the location and the body, which the {@link IdempotencyServiceImpl} hands over without its token. A claim left in flight for longer than {@code idempotency.inFlightTimeout},
+ * by an instance that stopped, can be taken over. Every {@code idempotency.purgeInterval} milliseconds, rows
+ * older than {@code idempotency.ttl} are deleted, which bounds the table; rows past their ttl are ignored until then.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "database")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcIdempotencyStore.class);
+
+    private static final String INSERT_KEY =
+            "INSERT INTO idempotency_keys (idem_key, fingerprint, created) VALUES (?, ?, ?)";
+    private static final String SELECT_KEY =
+            "SELECT fingerprint, location, body, created FROM idempotency_keys WHERE idem_key = ?";
+    private static final String TAKE_OVER_KEY =
+            "UPDATE idempotency_keys SET created = ? WHERE idem_key = ? AND body IS NULL AND created = ?";
+    private static final String COMPLETE_KEY = "UPDATE idempotency_keys SET location = ?, body = ? WHERE idem_key = ?";
+    private static final String RELEASE_KEY = "DELETE FROM idempotency_keys WHERE idem_key = ? AND body IS NULL";
+    private static final String DELETE_EXPIRED_KEY = "DELETE FROM idempotency_keys WHERE idem_key = ? AND created = ?";
+    private static final String PURGE_KEYS = "DELETE FROM idempotency_keys WHERE created < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectWriter bodyWriter;
+    private final ObjectReader bodyReader;
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate,
+                                ObjectMapper objectMapper,
+                                @Value("${idempotency.ttl}") Duration ttl,
+                                @Value("${idempotency.inFlightTimeout}") Duration inFlightTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bodyWriter = objectMapper.writerFor(UserRecord.class).without(SerializationFeature.INDENT_OUTPUT);
+        this.bodyReader = objectMapper.readerFor(UserRecord.class);
+        this.ttl = ttl;
+        this.inFlightTimeout = inFlightTimeout;
+    }
+
+    @Override
+    public Optional<IdempotentResponseRecord> claim(String key, String fingerprint) {
+        while (true) {
+            var now = LocalDateTime.now();
+            try {
+                jdbcTemplate.update(INSERT_KEY, key, fingerprint, Timestamp.valueOf(now));
+                return Optional.empty();
+            } catch (DuplicateKeyException e) {
+                // Someone else claimed the key first; look at what they left
+            }
+
+            var stored = jdbcTemplate.query(SELECT_KEY, rs -> rs.next()
+                    ? new Row(new IdempotentResponseRecord(rs.getString("fingerprint"),
+                                                           rs.getString("location"),
+                                                           read(rs.getString("body"))),
+                              rs.getTimestamp("created"))
+                    : null, key);
+            if (stored == null) {
+                // Released or purged in between
+                continue;
+            }
+
+            var created = stored.created().toLocalDateTime();
+            if (created.isBefore(now.minus(ttl))) {
+                jdbcTemplate.update(DELETE_EXPIRED_KEY, key, stored.created());
+                continue;
+            }
+            if (!stored.response().completed()
+                && stored.response().fingerprint().equals(fingerprint)
+                && created.isBefore(now.minus(inFlightTimeout))
+                && jdbcTemplate.update(TAKE_OVER_KEY, Timestamp.valueOf(now), key, stored.created()) == 1) {
+                logger.warn("Taking over an Idempotency-Key left in flight since {}", created);
+                return Optional.empty();
+            }
+            return Optional.of(stored.response());
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponseRecord response) {
+        try {
+            jdbcTemplate.update(COMPLETE_KEY, response.location(), bodyWriter.writeValueAsString(response.body()), key);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the response of an Idempotency-Key", e);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update(RELEASE_KEY, key);
+    }
+
+    /**
+     * Deletes the keys older than {@code idempotency.ttl}.
+     *
+     * @return the number of keys deleted
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purgeInterval}")
+    public int purge() {
+        int purged = jdbcTemplate.update(PURGE_KEYS, Timestamp.valueOf(LocalDateTime.now().minus(ttl)));
+        logger.debug("Purged {} expired idempotency keys", purged);
+        return purged;
+    }
+
+    private UserRecord read(String body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return bodyReader.readValue(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read the response of an Idempotency-Key", e);
+        }
+    }
+
+    /**
+     * A stored key and the time it was claimed, as read from the table.
+     */
+    private record Row(IdempotentResponseRecord response, Timestamp created) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.nisum.oppenheimer.service.impl;
+
+import com.nisum.oppenheimer.model.User;
+import com.nisum.oppenheimer.service.spec.LastLoginService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind implementation of the {@link LastLoginService} interface.
+ * <p>
+ * Logins are buffered in memory, keeping only the latest timestamp per user, and written to the
+ * {@code USERS} table as batched JDBC updates. A flush runs every {@code login.lastLogin.flushInterval},
+ * or earlier when the buffer reaches {@code login.lastLogin.batchSize} users. The buffer is drained when
+ * the application shuts down gracefully.
+ * </p>
+ *
+ * <p>
+ * The update only moves {@code last_login} forward, so flushes that overlap or finish out of order
+ * never overwrite a newer login with an older one. The updates bypass Hibernate, so the flushed users are
+ * evicted from the second-level cache afterwards.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class LastLoginServiceImpl implements LastLoginService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginServiceImpl.class);
+
+    private static final String UPDATE_LAST_LOGIN =
+            "UPDATE users SET last_login = ? WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskScheduler taskScheduler;
+    private final MeterRegistry meterRegistry;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${login.lastLogin.batchSize}")
+    private int batchSize;
+
+    private final Map<Long, LocalDateTime> buffer = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    /**
+     * Registers the buffer size gauge.
+     */
+    @PostConstruct
+    public void bindMetrics() {
+        Gauge.builder("login.lastlogin.buffer.size", buffer, Map::size)
+             .description("Users whose last login is waiting to be written")
+             .register(meterRegistry);
+    }
+
+    /**
+     * Buffers the login, keeping the most recent timestamp per user.
+     * When the buffer reaches the batch size an early flush is scheduled off the calling thread.
+     *
+     * @param userId  the internal id of the user
+     * @param loginAt the time of the login
+     */
+    @Override
+    public void record(Long userId, LocalDateTime loginAt) {
+        buffer.merge(userId, loginAt, (current, next) -> next.isAfter(current) ? next : current);
+
+        if (buffer.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flush, Instant.now());
+        }
+    }
+
+    /**
+     * Writes the buffered logins as batched updates.
+     * If the write fails, the drained entries are merged back so the next flush retries them.
+     *
+     * @return the number of users whose last login was written
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${login.lastLogin.flushInterval}")
+    public int flush() {
+        flushRequested.set(false);
+
+        Map<Long, LocalDateTime> drained = new HashMap<>();
+        for (Long userId : buffer.keySet()) {
+            var loginAt = buffer.remove(userId);
+            if (loginAt != null) {
+                drained.put(userId, loginAt);
+            }
+        }
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> rows = new ArrayList<>(drained.size());
+        drained.forEach((userId, loginAt) -> {
+            var timestamp = Timestamp.valueOf(loginAt);
+            rows.add(new Object[]{timestamp, userId, timestamp});
+        });
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN, rows);
+            var cache = entityManagerFactory.getCache();
+            drained.keySet().forEach(userId -> cache.evict(User.class, userId));
+            meterRegistry.counter("login.lastlogin.flushed").increment(rows.size());
+            logger.debug("Flushed last login of {} users", rows.size());
+            return rows.size();
+        } catch (DataAccessException e) {
+            logger.error("Could not flush last login of {} users, retrying later: {}", rows.size(), e.getMessage());
+            drained.forEach((userId, loginAt) -> buffer.merge(userId, loginAt,
+                    (current, previous) -> current.isAfter(previous) ? current : previous));
+            return 0;
+        }
+    }
+
+    /**
+     * Drains the buffer before the datasource is closed.
+     */
+    @PreDestroy
+    public void drain() {
+        int flushed = flush();
+        logger.info("Drained last login buffer on shutdown ({} users)", flushed);
+    }
+}
@@ -0,0 +1,59 @@
+package com.nisum.oppenheimer.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nisum.oppenheimer.service.record.IdempotentResponseRecord;
+import com.nisum.oppenheimer.service.spec.IdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * In-memory implementation of the {@link IdempotencyStore} interface, active with {@code idempotency.store: memory}.
+ * <p>
+ * Keys live in a Caffeine cache bounded by {@code idempotency.maximumSize} and expired {@code idempotency.ttl}
+ * after they are claimed or completed. Responses are only replayed by the instance that created them, so
+ * deployments with several replicas behind a load balancer should use the database store. Cache statistics
+ * are exported as metrics under the {@code idempotency-keys} cache name.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class MemoryIdempotencyStore implements IdempotencyStore {
+
+    private static final String CACHE_NAME = "idempotency-keys";
+
+    private final Cache<String, IdempotentResponseRecord> responses;
+
+    public MemoryIdempotencyStore(MeterRegistry meterRegistry,
+                                  @Value("${idempotency.maximumSize}") long maximumSize,
+                                  @Value("${idempotency.ttl}") Duration ttl) {
+        this.responses = Caffeine.newBuilder()
+                                 .maximumSize(maximumSize)
+                                 .expireAfterWrite(ttl)
+                                 .recordStats()
+                                 .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, CACHE_NAME);
+    }
+
+    @Override
+    public Optional<IdempotentResponseRecord> claim(String key, String fingerprint) {
+        return Optional.ofNullable(responses.asMap().putIfAbsent(key, IdempotentResponseRecord.inFlight(fingerprint)));
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponseRecord response) {
+        responses.put(key, response);
+    }
+
+    @Override
+    public void release(String key) {
+        responses.invalidate(key);
+    }
+}
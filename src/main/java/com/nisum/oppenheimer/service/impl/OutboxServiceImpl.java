@@ -0,0 +1,197 @@
+package com.nisum.oppenheimer.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.nisum.oppenheimer.model.User;
+import com.nisum.oppenheimer.model.id.IdGenerator;
+import com.nisum.oppenheimer.service.record.OutboxEventRecord;
+import com.nisum.oppenheimer.service.record.UserProfileRecord;
+import com.nisum.oppenheimer.service.spec.OutboxService;
+import com.nisum.oppenheimer.service.spec.OutboxSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of the {@link OutboxService} interface.
+ * <p>
+ * Events are rows of the {@code OUTBOX} table, written over JDBC in the transaction of the caller, so a user and
+ * its {@code user.created} event are committed or rolled back together and sign-up never waits for a consumer.
+ * Every {@code outbox.pollInterval} milliseconds the relay claims up to {@code outbox.batchSize} events with
+ * {@code FOR UPDATE SKIP LOCKED}, publishes them to the {@link OutboxSink} and deletes them, all in one
+ * transaction. Each batch is followed by another claim right away, until one comes back empty.
+ * </p>
+ *
+ * <p>
+ * Delivery is at least once: if the sink or the delete fails, the transaction rolls back and the batch is
+ * claimed again. Several relays can run at once, since locked rows are skipped instead of waited for. An event
+ * is only claimed once no older event of the same user is left, so the events of a user are delivered in order
+ * even across relays. The events published, the failures, the delivery delay of each event and the age of the
+ * oldest event claimed at the start of the last poll are exported as metrics.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxServiceImpl.class);
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO outbox (id, aggregate_key, event_type, payload, created) VALUES (?, ?, ?, ?, ?)";
+    private static final String CLAIM_EVENTS =
+            "SELECT id, aggregate_key, event_type, payload, created FROM outbox o "
+            + "WHERE NOT EXISTS (SELECT 1 FROM outbox p WHERE p.aggregate_key = o.aggregate_key AND p.id < o.id) "
+            + "ORDER BY id FETCH FIRST ? ROWS ONLY FOR UPDATE SKIP LOCKED";
+    private static final String DELETE_EVENT = "DELETE FROM outbox WHERE id = ?";
+
+    private static final RowMapper<OutboxEventRecord> EVENT_MAPPER = (rs, rowNum) -> new OutboxEventRecord(
+            rs.getLong("id"),
+            rs.getString("aggregate_key"),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getTimestamp("created").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxSink outboxSink;
+    private final ObjectMapper objectMapper;
+    private final IdGenerator idGenerator;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${outbox.batchSize}")
+    private int batchSize;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private ObjectWriter payloadWriter;
+    private Counter published;
+    private Counter failures;
+    private Timer deliveryTimer;
+
+    /**
+     * Binds the compact payload writer, so payloads stay on one line whatever {@code json.prettyPrint} is,
+     * and registers the relay metrics.
+     */
+    @PostConstruct
+    public void init() {
+        payloadWriter = objectMapper.writerFor(UserProfileRecord.class).without(SerializationFeature.INDENT_OUTPUT);
+        TimeGauge.builder("outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                 .description("Age of the oldest event claimed at the start of the last poll, zero when there was none")
+                 .register(meterRegistry);
+        published = Counter.builder("outbox.published")
+                           .description("Events published to the outbox sink")
+                           .register(meterRegistry);
+        failures = Counter.builder("outbox.failures")
+                          .description("Batches that could not be published and will be retried")
+                          .register(meterRegistry);
+        deliveryTimer = Timer.builder("outbox.delivery")
+                             .description("Time from writing an event to publishing it")
+                             .publishPercentileHistogram()
+                             .register(meterRegistry);
+    }
+
+    /**
+     * Builds the {@code user.created} event, whose payload is the public profile of the new user.
+     *
+     * @param user the persisted user
+     * @return the event, keyed by the public key of the user
+     */
+    @Override
+    public OutboxEventRecord userCreated(User user) {
+        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+        var profile = new UserProfileRecord(user.getXkey(),
+                                            user.getName(),
+                                            user.getEmail(),
+                                            user.getCreated().format(formatter),
+                                            user.getModified().format(formatter),
+                                            true);
+        try {
+            return new OutboxEventRecord(idGenerator.nextId(),
+                                         user.getXkey(),
+                                         OutboxEventRecord.USER_CREATED,
+                                         payloadWriter.writeValueAsString(profile),
+                                         LocalDateTime.now());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize user.created event", e);
+        }
+    }
+
+    /**
+     * Writes the events as one JDBC batch, joining the transaction of the caller.
+     *
+     * @param events the events to write
+     */
+    @Override
+    public void append(List<OutboxEventRecord> events) {
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events.stream()
+                .map(event -> new Object[]{event.id(), event.aggregateKey(), event.type(), event.payload(),
+                                           Timestamp.valueOf(event.created())})
+                .toList());
+    }
+
+    /**
+     * Publishes the pending events, one claimed batch per transaction, until a claim comes back empty or fails.
+     *
+     * @return the number of events published
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${outbox.pollInterval}")
+    public int relay() {
+        int relayed = 0;
+        try {
+            int claimed = transactionTemplate.execute(status -> relayBatch(true));
+            while (claimed > 0) {
+                relayed += claimed;
+                claimed = transactionTemplate.execute(status -> relayBatch(false));
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            logger.error("Could not relay outbox events, retrying later: {}", e.getMessage());
+        }
+        return relayed;
+    }
+
+    /**
+     * Claims, publishes and deletes one batch, in the current transaction. The first claim of a poll sets the
+     * lag, before anything can fail, so events that keep failing show up as a growing lag.
+     */
+    private int relayBatch(boolean firstOfPoll) {
+        var events = jdbcTemplate.query(CLAIM_EVENTS, EVENT_MAPPER, batchSize);
+        var now = LocalDateTime.now();
+        if (firstOfPoll) {
+            lagMillis.set(events.isEmpty() ? 0 : Math.max(0, Duration.between(events.getFirst().created(), now).toMillis()));
+        }
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        outboxSink.publish(events);
+        jdbcTemplate.batchUpdate(DELETE_EVENT, events.stream().map(event -> new Object[]{event.id()}).toList());
+
+        events.forEach(event -> deliveryTimer.record(Duration.between(event.created(), now)));
+        published.increment(events.size());
+        logger.debug("Relayed {} outbox events", events.size());
+        return events.size();
+    }
+}
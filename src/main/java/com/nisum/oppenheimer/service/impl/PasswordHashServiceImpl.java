@@ -0,0 +1,228 @@
+package com.nisum.oppenheimer.service.impl;
+
+import com.nisum.oppenheimer.service.exception.ServiceOverloadedException;
+import com.nisum.oppenheimer.service.spec.PasswordHashService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of the {@link PasswordHashService} interface.
+ * <p>
+ * Argon2 hashes are memory hard: each one allocates {@code password.memory} KiB of scratch space.
+ * Instead of running them on the request threads, this service hands every hash to the bounded
+ * {@code argon2HashingExecutor}, so the memory used by concurrent hashes never exceeds the configured budget.
+ * </p>
+ *
+ * <p>
+ * When the executor queue is full the request is rejected immediately with a
+ * {@link ServiceOverloadedException}, which the API layer turns into a 503 with a {@code Retry-After} header.
+ * The queue depth, the time spent waiting for a worker and the rejections are published as metrics.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class PasswordHashServiceImpl implements PasswordHashService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashServiceImpl.class);
+
+    private final Argon2PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor argon2HashingExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${password.hashing.retryAfter}")
+    private Duration retryAfter;
+
+    private Timer waitTimer;
+    private String dummyHash;
+
+    /**
+     * Registers the hashing stage metrics and hashes the dummy password with the settings chosen at startup.
+     */
+    @PostConstruct
+    public void bindMetrics() {
+        dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+        Gauge.builder("password.hashing.queue.depth", argon2HashingExecutor, e -> e.getQueue().size())
+             .description("Password hashes waiting for a worker")
+             .register(meterRegistry);
+        Gauge.builder("password.hashing.workers", argon2HashingExecutor, ThreadPoolExecutor::getMaximumPoolSize)
+             .description("Workers sized from the hashing memory budget")
+             .register(meterRegistry);
+        waitTimer = Timer.builder("password.hashing.wait")
+                         .description("Time a password hash waits in the queue before it starts")
+                         .publishPercentileHistogram()
+                         .register(meterRegistry);
+    }
+
+    /**
+     * Hashes the password on the dedicated hashing executor.
+     *
+     * @param rawPassword the password to hash
+     * @return the Argon2 encoded hash
+     * @throws ServiceOverloadedException if the hashing queue is full
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Queues the hash on the dedicated hashing executor and returns at once.
+     *
+     * @param rawPassword the password to hash
+     * @return the Argon2 encoded hash, completed on a hashing worker
+     * @throws ServiceOverloadedException if the hashing queue is full
+     */
+    @Override
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        return enqueue(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Hashes the passwords on the dedicated hashing executor, with a window of in-flight hashes no larger
+     * than the number of workers. Each new hash is submitted as soon as the oldest one completes.
+     *
+     * @param rawPasswords the passwords to hash
+     * @return the Argon2 encoded hashes, in order
+     * @throws ServiceOverloadedException if the hashing queue is full
+     */
+    @Override
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        int window = argon2HashingExecutor.getMaximumPoolSize();
+        var inFlight = new ArrayDeque<CompletableFuture<String>>(window);
+        var hashes = new ArrayList<String>(rawPasswords.size());
+
+        for (CharSequence rawPassword : rawPasswords) {
+            if (inFlight.size() >= window) {
+                hashes.add(await(inFlight.poll()));
+            }
+            inFlight.add(enqueue(() -> passwordEncoder.encode(rawPassword)));
+        }
+        while (!inFlight.isEmpty()) {
+            hashes.add(await(inFlight.poll()));
+        }
+        return hashes;
+    }
+
+    /**
+     * Verifies the password on the dedicated hashing executor, using the parameters recorded in the hash.
+     *
+     * @param rawPassword     the password to check
+     * @param encodedPassword the stored Argon2 hash
+     * @return true if the password matches
+     * @throws ServiceOverloadedException if the hashing queue is full
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Queues the verification on the dedicated hashing executor and returns at once.
+     *
+     * @param rawPassword     the password to check
+     * @param encodedPassword the stored Argon2 hash
+     * @return whether the password matches, completed on a hashing worker
+     * @throws ServiceOverloadedException if the hashing queue is full
+     */
+    @Override
+    public CompletableFuture<Boolean> matchesAsync(CharSequence rawPassword, String encodedPassword) {
+        return enqueue(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Returns the hash of a random password made at startup, with the current memory and iteration costs.
+     *
+     * @return the dummy Argon2 hash
+     */
+    @Override
+    public String dummyHash() {
+        return dummyHash;
+    }
+
+    /**
+     * Checks whether the stored hash uses less memory or fewer iterations than the current settings.
+     * This only decodes the hash header, so it runs on the calling thread.
+     *
+     * @param encodedPassword the stored Argon2 hash
+     * @return true if the hash should be recomputed with the current settings
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Runs the given task on the hashing executor and waits for its result.
+     *
+     * @param task the hashing task
+     * @param <T>  the result type
+     * @return the task result
+     */
+    private <T> T submit(Supplier<T> task) {
+        return await(enqueue(task));
+    }
+
+    /**
+     * Queues the given task on the hashing executor, recording how long it waits for a worker.
+     *
+     * @param task the hashing task
+     * @param <T>  the result type
+     * @return the pending result
+     * @throws ServiceOverloadedException if the hashing queue is full
+     */
+    private <T> CompletableFuture<T> enqueue(Supplier<T> task) {
+        long enqueued = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                waitTimer.record(System.nanoTime() - enqueued, TimeUnit.NANOSECONDS);
+                return task.get();
+            }, argon2HashingExecutor);
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("password.hashing.rejected").increment();
+            logger.warn("Password hashing queue is full, rejecting request");
+            throw new ServiceOverloadedException("Too many concurrent sign-ups, please retry later", retryAfter);
+        }
+    }
+
+    /**
+     * Waits for a queued hashing task.
+     *
+     * @param future the pending result
+     * @param <T>    the result type
+     * @return the task result
+     */
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
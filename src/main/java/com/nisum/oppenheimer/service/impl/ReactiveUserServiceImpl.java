@@ -0,0 +1,295 @@
+package com.nisum.oppenheimer.service.impl;
+
+import com.nisum.oppenheimer.api.restful.controllers.dto.LoginDTO;
+import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO;
+import com.nisum.oppenheimer.metrics.SignUpMetrics;
+import com.nisum.oppenheimer.metrics.SignUpMetrics.Stage;
+import com.nisum.oppenheimer.model.PhonesConverter;
+import com.nisum.oppenheimer.model.User;
+import com.nisum.oppenheimer.model.id.IdGenerator;
+import com.nisum.oppenheimer.service.exception.AuthenticationFailedException;
+import com.nisum.oppenheimer.service.exception.DuplicateEmailException;
+import com.nisum.oppenheimer.service.record.UserRecord;
+import com.nisum.oppenheimer.service.spec.EmailIndexService;
+import com.nisum.oppenheimer.service.spec.LastLoginService;
+import com.nisum.oppenheimer.service.spec.OutboxService;
+import com.nisum.oppenheimer.service.spec.PasswordHashService;
+import com.nisum.oppenheimer.service.spec.ReactiveUserService;
+import com.nisum.oppenheimer.service.spec.TokenService;
+import com.nisum.oppenheimer.service.spec.UserProfileService;
+import com.nisum.oppenheimer.util.Constants;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of the {@link ReactiveUserService} interface, active in the {@code reactive} profile.
+ * <p>
+ * It follows the same steps as {@link UserServiceImpl} without blocking the event loop: the database is
+ * accessed through R2DBC with plain SQL, the user is inserted with their phones in a single statement, next to
+ * its {@code user.created} event in the outbox and in the same transaction, and Argon2 runs on the bounded
+ * hashing executor of the {@link PasswordHashService}, whose result resumes the pipeline once ready. Token
+ * signing, the email index and the last-login buffer are in-memory and run inline. Ids are taken from the
+ * {@link IdGenerator}, as JPA does for the servlet stack.
+ * </p>
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveUserServiceImpl.class);
+
+    private static final String EXISTS_BY_EMAIL = "SELECT 1 FROM users WHERE email = :email";
+    private static final String FIND_BY_EMAIL =
+            "SELECT id, xkey, name, email, password, created, modified, last_login FROM users WHERE email = :email";
+    private static final String INSERT_USER =
+            "INSERT INTO users (id, created, modified, xkey, name, email, password, token_id, phones) "
+            + "VALUES (:id, :created, :modified, :xkey, :name, :email, :password, :tokenId, :phones)";
+    private static final String INSERT_EVENT =
+            "INSERT INTO outbox (id, aggregate_key, event_type, payload, created) "
+            + "VALUES (:id, :aggregateKey, :type, :payload, :created)";
+    private static final PhonesConverter PHONES_CONVERTER = new PhonesConverter();
+    private static final String UPDATE_PASSWORD = "UPDATE users SET password = :password, modified = :modified WHERE id = :id";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final PasswordHashService passwordHashService;
+    private final TokenService tokenService;
+    private final LastLoginService lastLoginService;
+    private final IdGenerator idGenerator;
+    private final UserProfileService userProfileService;
+    private final EmailIndexService emailIndexService;
+    private final SignUpMetrics signUpMetrics;
+    private final OutboxService outboxService;
+
+    @Value("${token.persistId}")
+    private boolean persistTokenId;
+
+    /**
+     * Creates a new user in the system.
+     * <p>
+     * The email is checked against the {@link EmailIndexService} first, and only queried when the index may know
+     * it. The password is then hashed off the event loop, the token issued, and the user inserted with their
+     * phones and their {@code user.created} event. A concurrent sign-up with the same email is caught by the
+     * unique constraint on insert and reported as a duplicate. The stages and the outcome are recorded through
+     * {@link SignUpMetrics}, as on the servlet stack.
+     * </p>
+     *
+     * @param dto the {@link UserDTO} containing user details
+     * @return a Mono emitting the {@link UserRecord} of the persisted user
+     */
+    @Override
+    public Mono<UserRecord> create(UserDTO dto) {
+        return timed(Stage.EMAIL_CHECK, () -> exists(dto.getEmail()))
+                .flatMap(exists -> exists
+                        ? Mono.<String>error(new DuplicateEmailException(Constants.EMAIL_ALREADY_EXISTS))
+                        : timed(Stage.PASSWORD_HASH,
+                                () -> Mono.fromFuture(() -> passwordHashService.encodeAsync(dto.getPassword()))))
+                .flatMap(passwordHash -> {
+                    var user = mapToUserEntity(dto, passwordHash);
+
+                    var issued = signUpMetrics.time(Stage.TOKEN, () -> tokenService.issue(user));
+                    if (persistTokenId) {
+                        user.setTokenId(issued.id());
+                    }
+
+                    return timed(Stage.INSERT, () -> insert(user))
+                            .onErrorResume(DataIntegrityViolationException.class, e -> exists(dto.getEmail())
+                                    .flatMap(duplicate -> {
+                                        if (duplicate) {
+                                            emailIndexService.add(dto.getEmail());
+                                            return Mono.error(new DuplicateEmailException(Constants.EMAIL_ALREADY_EXISTS));
+                                        }
+                                        return Mono.error(e);
+                                    }))
+                            .then(Mono.fromSupplier(() -> {
+                                emailIndexService.add(user.getEmail());
+                                return mapToUserRecord(user, issued.token());
+                            }));
+                })
+                .doOnSuccess(created -> signUpMetrics.count(SignUpMetrics.Outcome.CREATED))
+                .doOnError(e -> signUpMetrics.count(e instanceof DuplicateEmailException
+                        ? SignUpMetrics.Outcome.DUPLICATE : SignUpMetrics.Outcome.ERROR));
+    }
+
+    /**
+     * Authenticates a user.
+     * <p>
+     * The raw password is verified off the event loop, against {@link PasswordHashService#dummyHash} when the
+     * email is unknown, so the response time does not reveal which emails are registered. A stored hash weaker than the current settings is
+     * replaced while the raw password is at hand, and the cached profile of the user is evicted. The login
+     * time goes to the {@link LastLoginService} write-behind buffer.
+     * </p>
+     *
+     * @param dto the {@link LoginDTO} containing the credentials
+     * @return a Mono emitting the {@link UserRecord} with a fresh token and the time of this login
+     */
+    @Override
+    public Mono<UserRecord> login(LoginDTO dto) {
+        return databaseClient.sql(FIND_BY_EMAIL)
+                             .bind("email", dto.getEmail())
+                             .map(ReactiveUserServiceImpl::mapRow)
+                             .one()
+                             // Verify against the dummy hash anyway, so an unknown email takes as long as a wrong password
+                             .switchIfEmpty(Mono.defer(() -> Mono.fromFuture(
+                                     () -> passwordHashService.matchesAsync(dto.getPassword(), passwordHashService.dummyHash())))
+                                                .then(Mono.error(() -> new AuthenticationFailedException(Constants.INVALID_CREDENTIALS))))
+                             .flatMap(user -> Mono.fromFuture(() -> passwordHashService.matchesAsync(dto.getPassword(), user.getPassword()))
+                                                  .flatMap(matches -> matches
+                                                          ? Mono.just(user)
+                                                          : Mono.error(new AuthenticationFailedException(Constants.INVALID_CREDENTIALS))))
+                             .flatMap(user -> passwordHashService.upgradeEncoding(user.getPassword())
+                                     ? rehash(user, dto.getPassword())
+                                     : Mono.just(user))
+                             .map(user -> {
+                                 var loginAt = LocalDateTime.now();
+                                 lastLoginService.record(user.getId(), loginAt);
+                                 user.setLastLogin(loginAt);
+                                 return mapToUserRecord(user, tokenService.generate(user));
+                             });
+    }
+
+    /**
+     * Checks whether the email is registered, skipping the query when the index has never seen it.
+     */
+    private Mono<Boolean> exists(String email) {
+        if (!emailIndexService.mightExist(email)) {
+            return Mono.just(false);
+        }
+        return databaseClient.sql(EXISTS_BY_EMAIL)
+                             .bind("email", email)
+                             .map(row -> true)
+                             .first()
+                             .defaultIfEmpty(false);
+    }
+
+    /**
+     * Inserts the user and their phones as one row, and its event in the outbox, in one transaction.
+     */
+    private Mono<Void> insert(User user) {
+        var insertUser = databaseClient.sql(INSERT_USER)
+                                       .bind("id", user.getId())
+                                       .bind("created", user.getCreated())
+                                       .bind("modified", user.getModified())
+                                       .bind("xkey", user.getXkey())
+                                       .bind("name", user.getName())
+                                       .bind("email", user.getEmail())
+                                       .bind("password", user.getPassword());
+        insertUser = user.getTokenId() != null
+                ? insertUser.bind("tokenId", user.getTokenId())
+                : insertUser.bindNull("tokenId", String.class);
+        var phones = PHONES_CONVERTER.convertToDatabaseColumn(user.getPhones());
+        insertUser = phones != null
+                ? insertUser.bind("phones", phones)
+                : insertUser.bindNull("phones", String.class);
+
+        var event = outboxService.userCreated(user);
+        var insertEvent = databaseClient.sql(INSERT_EVENT)
+                                        .bind("id", event.id())
+                                        .bind("aggregateKey", event.aggregateKey())
+                                        .bind("type", event.type())
+                                        .bind("payload", event.payload())
+                                        .bind("created", event.created());
+
+        return insertUser.then()
+                         .then(insertEvent.then())
+                         .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Replaces a weak password hash with one computed with the current settings.
+     */
+    private Mono<User> rehash(User user, String rawPassword) {
+        logger.info("Upgrading password hash for user: {}", user.getXkey());
+        return Mono.fromFuture(() -> passwordHashService.encodeAsync(rawPassword))
+                   .flatMap(passwordHash -> {
+                       var modified = LocalDateTime.now();
+                       return databaseClient.sql(UPDATE_PASSWORD)
+                                            .bind("password", passwordHash)
+                                            .bind("modified", modified)
+                                            .bind("id", user.getId())
+                                            .then()
+                                            .then(Mono.fromSupplier(() -> {
+                                                user.setPassword(passwordHash);
+                                                user.setModified(modified);
+                                                userProfileService.evict(user.getXkey());
+                                                return user;
+                                            }));
+                   });
+    }
+
+    /**
+     * Times an asynchronous stage from subscription until it completes or fails.
+     */
+    private <T> Mono<T> timed(Stage stage, Supplier<Mono<T>> task) {
+        return Mono.defer(() -> {
+            var sample = signUpMetrics.start();
+            return task.get().doFinally(signal -> signUpMetrics.stop(sample, stage));
+        });
+    }
+
+    /**
+     * Maps a {@link UserDTO} and its password hash to a {@link User} entity with its id and audit timestamps
+     * set, since no JPA callback runs on this path.
+     *
+     * @param dto          the {@link UserDTO} containing user details
+     * @param passwordHash the Argon2 hash of the user's password
+     * @return the mapped {@link User} entity
+     */
+    private User mapToUserEntity(UserDTO dto, String passwordHash) {
+        var now = LocalDateTime.now();
+        var user = UserEntityMapper.toUserEntity(dto, passwordHash, idGenerator);
+        user.setId(idGenerator.nextId());
+        user.setCreated(now);
+        user.setModified(now);
+        return user;
+    }
+
+    /**
+     * Maps a row of {@link #FIND_BY_EMAIL} to a {@link User} entity, without its phones.
+     */
+    private static User mapRow(Readable row) {
+        var user = User.builder()
+                       .id(row.get("id", Long.class))
+                       .xkey(row.get("xkey", String.class))
+                       .name(row.get("name", String.class))
+                       .email(row.get("email", String.class))
+                       .password(row.get("password", String.class))
+                       .lastLogin(row.get("last_login", LocalDateTime.class))
+                       .build();
+        user.setCreated(row.get("created", LocalDateTime.class));
+        user.setModified(row.get("modified", LocalDateTime.class));
+        return user;
+    }
+
+    /**
+     * Maps a {@link User} entity to a {@link UserRecord}, as {@link UserServiceImpl} does.
+     *
+     * @param user  the {@link User} entity to be mapped
+     * @param token the token issued to the user, which is not stored with the entity
+     * @return a {@link UserRecord} containing user details
+     */
+    private static UserRecord mapToUserRecord(User user, String token) {
+        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+        var lastLogin = user.getLastLogin() != null ? user.getLastLogin() : user.getCreated();
+        return new UserRecord(user.getXkey(),
+                              user.getCreated().format(formatter),
+                              user.getModified().format(formatter),
+                              lastLogin.format(formatter),
+                              token,
+                              true);
+    }
+}
@@ -0,0 +1,121 @@
+package com.nisum.oppenheimer.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nisum.oppenheimer.service.spec.TokenAuthenticationService;
+import com.nisum.oppenheimer.service.spec.TokenService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the {@link TokenAuthenticationService} interface.
+ * <p>
+ * Verified tokens are remembered in a bounded cache keyed by the SHA-256 digest of the token, so a client
+ * reusing the same token does not pay for the HMAC verification and the claim parsing on every request.
+ * Every entry expires together with its token, and only valid tokens are cached.
+ * </p>
+ *
+ * <p>
+ * Hits, misses, evictions and the hit ratio are exported as metrics under the {@code verified-tokens} cache name.
+ * </p>
+ */
+@Service
+public class TokenAuthenticationServiceImpl implements TokenAuthenticationService {
+
+    private static final String CACHE_NAME = "verified-tokens";
+
+    private final TokenService tokenService;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public TokenAuthenticationServiceImpl(TokenService tokenService,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${token.cache.maximumSize}") long maximumSize) {
+        this.tokenService = tokenService;
+        this.verifiedTokens = Caffeine.newBuilder()
+                                      .maximumSize(maximumSize)
+                                      .expireAfter(new TokenExpiry())
+                                      .recordStats()
+                                      .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", verifiedTokens, cache -> cache.stats().hitRate())
+             .tag("cache", CACHE_NAME)
+             .register(meterRegistry);
+    }
+
+    /**
+     * Authenticates the token, verifying it only when its digest is not cached yet.
+     *
+     * @param token the raw JWT token
+     * @return the subject of the token if it is valid, empty otherwise
+     */
+    @Override
+    public Optional<String> authenticate(String token) {
+        var digest = digest(token);
+
+        var cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached.subject());
+        }
+
+        return tokenService.validate(token)
+                           .filter(jwt -> jwt.getExpiresAtAsInstant() != null)
+                           .map(jwt -> {
+                               var verified = new VerifiedToken(jwt.getSubject(), jwt.getExpiresAtAsInstant());
+                               verifiedTokens.put(digest, verified);
+                               return verified.subject();
+                           });
+    }
+
+    private static String digest(String token) {
+        try {
+            var sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A token that passed verification.
+     *
+     * @param subject   the subject (email) of the token.
+     * @param expiresAt when the token expires.
+     */
+    private record VerifiedToken(String subject, Instant expiresAt) {
+    }
+
+    /**
+     * Expires each cache entry at the expiration time of its token.
+     */
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long millis = value.expiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,19 +1,23 @@
 package com.nisum.oppenheimer.service.impl;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.exceptions.SignatureVerificationException;
 import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
 import com.nisum.oppenheimer.model.User;
+import com.nisum.oppenheimer.security.SigningKeyRing;
+import com.nisum.oppenheimer.service.record.IssuedToken;
 import com.nisum.oppenheimer.service.spec.TokenService;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
 import java.util.Optional;
@@ -24,7 +28,9 @@ import java.util.Optional;
  *
  * <p>
  * This service uses the Auth0 JWT library to create and validate tokens. The tokens are signed
- * using a secret key and have a configurable expiration time.
+ * by the {@link SigningKeyRing}, either with the shared HMAC secret or with rotating ES256/RS256 keys
+ * identified by a {@code kid} header, and have a configurable expiration time. The signing algorithms
+ * and the verifier are built once and shared by every call.
  * </p>
  *
  * <p>
@@ -42,16 +48,31 @@ import java.util.Optional;
  * </p>
  */
 @Service
-@RequiredArgsConstructor
 public class TokenServiceImpl implements TokenService {
 
     private static final Logger logger = LoggerFactory.getLogger(TokenServiceImpl.class);
 
-    @Value("${token.key}")
-    private String key;
+    private static final String ISSUER = "nisum";
+    private static final String AUDIENCE = "test";
+    private static final int TOKEN_ID_BYTES = 16;
+    private static final SecureRandom RANDOM = new SecureRandom();
 
-    @Value("${token.expiration}")
-    private Long expiration;
+    private final long expiration;
+    private final SigningKeyRing signingKeyRing;
+    private final JWTVerifier verifier;
+
+    /**
+     * Builds the verifier once; it is thread-safe and reused for every token.
+     *
+     * @param signingKeyRing the keys signing and verifying tokens
+     * @param expiration     the token lifetime, in milliseconds
+     */
+    public TokenServiceImpl(SigningKeyRing signingKeyRing,
+                            @Value("${token.expiration}") long expiration) {
+        this.expiration = expiration;
+        this.signingKeyRing = signingKeyRing;
+        this.verifier = JWT.require(signingKeyRing.verificationAlgorithm()).build();
+    }
 
     /**
      * Generates a JSON Web Token (JWT) for the specified user.
@@ -67,17 +88,44 @@ public class TokenServiceImpl implements TokenService {
      */
     @Override
     public String generate(User user) {
+        return issue(user).token();
+    }
+
+    /**
+     * Issues a JSON Web Token (JWT) for the specified user, identified by a random jti claim.
+     *
+     * <p>
+     * The identifier is 128 random bits encoded as base64url, 22 characters long, so it can be stored
+     * instead of the whole token.
+     * </p>
+     *
+     * @param user The user for whom the token is being issued. Must not be {@code null}.
+     * @return the signed token and its identifier.
+     */
+    @Override
+    public IssuedToken issue(User user) {
+        var tokenId = newTokenId();
+
         // Calculate the expiration date for the token
         Date expirationDate = new Date(System.currentTimeMillis() + expiration);
 
+        // Pick the current signing key; asymmetric keys are identified by the kid header
+        var signer = signingKeyRing.signer();
+        var builder = JWT.create();
+        if (signer.kid() != null) {
+            builder.withKeyId(signer.kid());
+        }
+
         // Create and sign the JWT
-        return JWT.create()
+        var token = builder
+                    .withJWTId(tokenId)
                     .withSubject(user.getEmail())
                     .withClaim("name", user.getName())
-                    .withIssuer("nisum")
-                    .withAudience("test")
+                    .withIssuer(ISSUER)
+                    .withAudience(AUDIENCE)
                     .withExpiresAt(expirationDate)
-                  .sign(Algorithm.HMAC256(key));
+                  .sign(signer.algorithm());
+        return new IssuedToken(token, tokenId);
     }
 
     /**
@@ -94,25 +142,39 @@ public class TokenServiceImpl implements TokenService {
      */
     @Override
     public boolean verify(String token) {
+        return validate(token).isPresent();
+    }
+
+    /**
+     * Verifies the provided JWT token and returns its decoded form.
+     *
+     * <p>
+     * The signature, expiration and claims are checked with the pre-built verifier. Failures are reported as an
+     * empty result and logged at debug level only: every authenticated request is validated, so any client
+     * could otherwise flood the log with bad tokens.
+     * </p>
+     *
+     * @param token The JWT token to be verified. Must not be {@code null} or empty.
+     * @return the decoded token if it is valid; empty otherwise.
+     * @throws IllegalArgumentException if the token is {@code null} or empty.
+     */
+    @Override
+    public Optional<DecodedJWT> validate(String token) {
         // Check if the token is null or empty
         if (token == null || token.isEmpty()) {
             throw new IllegalArgumentException("Token must not be null or empty");
         }
         try {
-            // Verify the token's signature and claims using the specified algorithm
-            JWT.require(Algorithm.HMAC256(key)).build().verify(token);
-            return true;    // Token is valid
+            // Verify the token's signature and claims using the pre-built verifier
+            return Optional.of(verifier.verify(token));
         } catch (SignatureVerificationException e) {
-            // Log an error if the signature is invalid
-            logger.error("Invalid JWT signature: {}", e.getMessage());
+            logger.debug("Invalid JWT signature: {}", e.getMessage());
         } catch (TokenExpiredException e) {
-            // Log an error if the token is expired
-            logger.error("JWT token is expired: {}", e.getMessage());
+            logger.debug("JWT token is expired: {}", e.getMessage());
         } catch (JWTVerificationException e) {
-            // Log an error for other verification failures
-            logger.error("JWT token verification failed: {}", e.getMessage());
+            logger.debug("JWT token verification failed: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
     }
 
     /**
@@ -132,4 +194,10 @@ public class TokenServiceImpl implements TokenService {
         // Decode the JWT token and retrieve the claims as a map
         return JWT.decode(token).getClaims();
     }
+
+    private static String newTokenId() {
+        var bytes = new byte[TOKEN_ID_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
 }
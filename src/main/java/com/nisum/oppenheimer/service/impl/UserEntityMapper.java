@@ -0,0 +1,53 @@
+package com.nisum.oppenheimer.service.impl;
+
+import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO;
+import com.nisum.oppenheimer.model.Phone;
+import com.nisum.oppenheimer.model.User;
+import com.nisum.oppenheimer.model.id.IdGenerator;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * UserEntityMapper maps a sign-up request to the {@link User} entity stored for it.
+ * <p>
+ * It is shared by every path creating users, sign-up, import and the reactive stack, so they all store the
+ * same entity for the same request.
+ * </p>
+ */
+final class UserEntityMapper {
+
+    private UserEntityMapper() {
+    }
+
+    /**
+     * Maps the {@link UserDTO} to a {@link User} entity.
+     * <p>
+     * It generates a time-ordered UUIDv7 key for the user; the phones are values stored in the user row. The
+     * internal id and the audit timestamps are left to the caller, since JPA assigns them when the entity is
+     * persisted.
+     * </p>
+     *
+     * @param dto          the {@link UserDTO} containing user details
+     * @param passwordHash the Argon2 hash of the user's password
+     * @param idGenerator  the generator of the user's key
+     * @return the mapped {@link User} entity
+     */
+    static User toUserEntity(UserDTO dto, String passwordHash, IdGenerator idGenerator) {
+        List<Phone> phones = Optional.ofNullable(dto.getPhones()).orElse(List.of()).stream()
+                .map(phoneDTO -> Phone.builder()
+                        .number(Long.parseLong(phoneDTO.getNumber()))
+                        .cityCode(Short.parseShort(phoneDTO.getCityCode()))
+                        .countryCode(Short.parseShort(phoneDTO.getCountryCode()))
+                        .build())
+                .toList();
+
+        return User.builder()
+                   .xkey(idGenerator.nextKey().toString())
+                   .name(dto.getName())
+                   .email(dto.getEmail())
+                   .password(passwordHash)
+                   .phones(phones)
+                   .build();
+    }
+}
@@ -0,0 +1,303 @@
+package com.nisum.oppenheimer.service.impl;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO;
+import com.nisum.oppenheimer.model.User;
+import com.nisum.oppenheimer.model.id.IdGenerator;
+import com.nisum.oppenheimer.repository.UserRepository;
+import com.nisum.oppenheimer.service.exception.ServiceOverloadedException;
+import com.nisum.oppenheimer.service.record.ImportResultRecord;
+import com.nisum.oppenheimer.service.spec.EmailIndexService;
+import com.nisum.oppenheimer.service.spec.OutboxService;
+import com.nisum.oppenheimer.service.spec.PasswordHashService;
+import com.nisum.oppenheimer.service.spec.UserImportService;
+import com.nisum.oppenheimer.util.Constants;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the {@link UserImportService} interface.
+ * <p>
+ * Records are pulled one at a time from a Jackson {@link MappingIterator}, which accepts both a JSON array
+ * and a root-level sequence of objects (NDJSON), and validated as they are read. Every
+ * {@code user.import.batchSize} records, the batch is checked for duplicate emails through the
+ * {@link EmailIndexService} with at most one query, its passwords are hashed in parallel on the hashing
+ * executor, and its users are inserted in one transaction, which Hibernate sends as ordered JDBC batches, with their
+ * {@code user.created} events written to the outbox as one more batch.
+ * The results of the batch are then handed to the caller and the batch is discarded, so memory use does
+ * not depend on the size of the import.
+ * </p>
+ *
+ * <p>
+ * A record that cannot be bound to a {@link UserDTO} is reported as invalid and the import goes on with the
+ * next one. Malformed JSON cannot be resynchronized, so it ends the import after reporting the pending batch.
+ * </p>
+ *
+ * <p>
+ * When the hashing executor is saturated, the batch waits for capacity, retrying after the delay suggested by
+ * the {@link PasswordHashService}. If it is still saturated after {@code user.import.overloadTimeout}, the import
+ * ends with a final {@code aborted} result at the first record that was not imported.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportServiceImpl.class);
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UserRepository userRepository;
+    private final PasswordHashService passwordHashService;
+    private final EmailIndexService emailIndexService;
+    private final IdGenerator idGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxService outboxService;
+
+    @Value("${user.import.batchSize}")
+    private int batchSize;
+
+    @Value("${user.import.overloadTimeout}")
+    private Duration overloadTimeout;
+
+    @Override
+    public long importUsers(InputStream body, Consumer<List<ImportResultRecord>> results) {
+        var batch = new ArrayList<Entry>(batchSize);
+        long index = 0;
+        boolean running = true;
+
+        try (MappingIterator<UserDTO> records = objectMapper.readerFor(UserDTO.class).readValues(body)) {
+            while (running && records.hasNextValue()) {
+                try {
+                    var dto = records.nextValue();
+                    batch.add(validate(index, dto));
+                } catch (JsonParseException e) {
+                    batch.add(new Entry(index, null, ImportResultRecord.invalid(index, null, "Malformed JSON")));
+                    index++;
+                    break;
+                } catch (JsonMappingException e) {
+                    batch.add(new Entry(index, null, ImportResultRecord.invalid(index, null, e.getOriginalMessage())));
+                }
+                index++;
+
+                if (batch.size() >= batchSize) {
+                    running = flush(batch, results);
+                    batch.clear();
+                }
+            }
+        } catch (JsonParseException e) {
+            batch.add(new Entry(index, null, ImportResultRecord.invalid(index, null, "Malformed JSON")));
+            index++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (running && !batch.isEmpty()) {
+            flush(batch, results);
+        }
+        logger.info("Imported stream of {} records", index);
+        return index;
+    }
+
+    /**
+     * Validates a record, resolving it right away as invalid when it breaks any constraint.
+     *
+     * @param index the position of the record
+     * @param dto   the record
+     * @return the batch entry
+     */
+    private Entry validate(long index, UserDTO dto) {
+        Set<ConstraintViolation<UserDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return new Entry(index, dto, null);
+        }
+        var message = violations.stream()
+                                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                                .sorted()
+                                .collect(Collectors.joining(", "));
+        return new Entry(index, dto, ImportResultRecord.invalid(index, dto.getEmail(), message));
+    }
+
+    /**
+     * Processes a batch and hands its results to the caller. When the hashing stage stays saturated, the results
+     * before the first record left unprocessed are handed over, followed by an {@code aborted} result for it.
+     *
+     * @param batch   the batch entries
+     * @param results the consumer of the results
+     * @return whether the import can go on
+     */
+    private boolean flush(List<Entry> batch, Consumer<List<ImportResultRecord>> results) {
+        try {
+            results.accept(process(batch));
+            return true;
+        } catch (ServiceOverloadedException e) {
+            var reported = new ArrayList<ImportResultRecord>(batch.size());
+            for (Entry entry : batch) {
+                if (entry.result() == null) {
+                    logger.warn("Aborting the import at record {}, password hashing is saturated", entry.index());
+                    reported.add(ImportResultRecord.aborted(entry.index(), entry.dto().getEmail(), Constants.IMPORT_ABORTED));
+                    break;
+                }
+                reported.add(entry.result());
+            }
+            results.accept(reported);
+            return false;
+        }
+    }
+
+    /**
+     * Creates the valid users of a batch and returns the results of all its records in input order.
+     *
+     * @param batch the batch entries
+     * @return the results of the batch
+     */
+    private List<ImportResultRecord> process(List<Entry> batch) {
+        var pending = batch.stream().filter(entry -> entry.result() == null).toList();
+
+        // Emails repeated inside the batch or already stored are duplicates; the first occurrence wins
+        var stored = pending.isEmpty()
+                ? Set.<String>of()
+                : emailIndexService.existing(pending.stream().map(entry -> entry.dto().getEmail()).toList());
+        var seen = new HashSet<String>();
+        var accepted = new ArrayList<Entry>(pending.size());
+        for (Entry entry : pending) {
+            var email = entry.dto().getEmail();
+            if (stored.contains(email) || !seen.add(email)) {
+                entry.resolve(ImportResultRecord.duplicate(entry.index(), email));
+            } else {
+                accepted.add(entry);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            var hashes = encodeAll(accepted.stream().map(entry -> entry.dto().getPassword()).toList());
+            var users = new ArrayList<User>(accepted.size());
+            for (int i = 0; i < accepted.size(); i++) {
+                users.add(UserEntityMapper.toUserEntity(accepted.get(i).dto(), hashes.get(i), idGenerator));
+            }
+            insert(accepted, users);
+        }
+
+        return batch.stream().map(Entry::result).toList();
+    }
+
+    /**
+     * Hashes the passwords of a batch, waiting for the hashing executor while it is saturated.
+     *
+     * @param passwords the raw passwords
+     * @return the hashes, in the same order
+     * @throws ServiceOverloadedException if the executor is still saturated after {@code user.import.overloadTimeout}
+     */
+    private List<String> encodeAll(List<String> passwords) {
+        long deadline = System.nanoTime() + overloadTimeout.toNanos();
+        while (true) {
+            try {
+                return passwordHashService.encodeAll(passwords);
+            } catch (ServiceOverloadedException e) {
+                var delay = e.getRetryAfter();
+                if (System.nanoTime() + delay.toNanos() - deadline > 0) {
+                    throw e;
+                }
+                logger.debug("Password hashing is saturated, retrying the import batch in {}", delay);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts the users of a batch and their events in one transaction. When a concurrent insert claims one of the emails
+     * first, the batch is retried one user per transaction so that only the clashing records are lost.
+     *
+     * @param entries the accepted batch entries
+     * @param users   the users to insert, in the same order as the entries
+     */
+    private void insert(List<Entry> entries, List<User> users) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAll(users);
+                outboxService.append(users.stream().map(outboxService::userCreated).toList());
+            });
+            for (int i = 0; i < entries.size(); i++) {
+                var entry = entries.get(i);
+                entry.resolve(ImportResultRecord.created(entry.index(), entry.dto().getEmail(), users.get(i).getXkey()));
+                emailIndexService.add(entry.dto().getEmail());
+            }
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Batch insert hit a constraint violation, retrying {} users one by one", users.size());
+            for (int i = 0; i < entries.size(); i++) {
+                var entry = entries.get(i);
+                var user = users.get(i);
+                // The id handed out by the failed transaction was never stored
+                user.setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        userRepository.save(user);
+                        outboxService.append(List.of(outboxService.userCreated(user)));
+                    });
+                    entry.resolve(ImportResultRecord.created(entry.index(), entry.dto().getEmail(), user.getXkey()));
+                } catch (DataIntegrityViolationException duplicate) {
+                    entry.resolve(ImportResultRecord.duplicate(entry.index(), entry.dto().getEmail()));
+                }
+                emailIndexService.add(entry.dto().getEmail());
+            }
+        }
+    }
+
+    /**
+     * A record of the current batch and, once known, its result.
+     */
+    private static final class Entry {
+
+        private final long index;
+        private final UserDTO dto;
+        private ImportResultRecord result;
+
+        private Entry(long index, UserDTO dto, ImportResultRecord result) {
+            this.index = index;
+            this.dto = dto;
+            this.result = result;
+        }
+
+        long index() {
+            return index;
+        }
+
+        UserDTO dto() {
+            return dto;
+        }
+
+        ImportResultRecord result() {
+            return result;
+        }
+
+        void resolve(ImportResultRecord result) {
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.nisum.oppenheimer.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nisum.oppenheimer.repository.UserRepository;
+import com.nisum.oppenheimer.repository.projection.UserSummary;
+import com.nisum.oppenheimer.repository.routing.ReplicaRouting;
+import com.nisum.oppenheimer.service.exception.UserNotFoundException;
+import com.nisum.oppenheimer.service.record.UserProfileRecord;
+import com.nisum.oppenheimer.service.spec.UserProfileService;
+import com.nisum.oppenheimer.util.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Implementation of the {@link UserProfileService} interface.
+ * <p>
+ * Profiles are read through a bounded cache. On a miss the profile is loaded with the
+ * {@link UserSummary} projection, an indexed lookup by {@code xkey} that never builds the entity graph.
+ * Entries live for at most {@code user.cache.ttl}, which bounds how stale a profile can be on instances
+ * that did not perform the update themselves; the instance applying an update evicts the entry right away.
+ * Profiles of users this instance just created are loaded from the primary, see {@link ReplicaRouting}.
+ * </p>
+ *
+ * <p>
+ * Unknown keys are not cached. Cache statistics are exported as metrics under the {@code user-profiles} cache name.
+ * </p>
+ */
+@Service
+public class UserProfileServiceImpl implements UserProfileService {
+
+    private static final String CACHE_NAME = "user-profiles";
+
+    private final UserRepository userRepository;
+    private final ReplicaRouting replicaRouting;
+    private final Cache<String, UserProfileRecord> profiles;
+
+    public UserProfileServiceImpl(UserRepository userRepository,
+                                  ReplicaRouting replicaRouting,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${user.cache.maximumSize}") long maximumSize,
+                                  @Value("${user.cache.ttl}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.replicaRouting = replicaRouting;
+        this.profiles = Caffeine.newBuilder()
+                                .maximumSize(maximumSize)
+                                .expireAfterWrite(ttl)
+                                .recordStats()
+                                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, profiles, CACHE_NAME);
+    }
+
+    @Override
+    public UserProfileRecord find(String xkey) {
+        var cached = profiles.getIfPresent(xkey);
+        if (cached != null) {
+            return cached;
+        }
+
+        var profile = replicaRouting.readYourWrites(xkey, () -> userRepository.findSummaryByXkey(xkey))
+                                    .map(UserProfileServiceImpl::mapToUserProfileRecord)
+                                    .orElseThrow(() -> new UserNotFoundException(Constants.USER_NOT_FOUND));
+        profiles.put(xkey, profile);
+        return profile;
+    }
+
+    @Override
+    public void evict(String xkey) {
+        profiles.invalidate(xkey);
+    }
+
+    private static UserProfileRecord mapToUserProfileRecord(UserSummary summary) {
+        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+        return new UserProfileRecord(
+                summary.xkey(),
+                summary.name(),
+                summary.email(),
+                summary.created().format(formatter),
+                summary.modified().format(formatter),
+                true
+        );
+    }
+}
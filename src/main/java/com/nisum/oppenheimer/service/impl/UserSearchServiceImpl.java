@@ -0,0 +1,151 @@
+package com.nisum.oppenheimer.service.impl;
+
+import com.nisum.oppenheimer.model.id.IdGenerator;
+import com.nisum.oppenheimer.repository.UserRepository;
+import com.nisum.oppenheimer.repository.projection.UserListing;
+import com.nisum.oppenheimer.service.record.UserPageRecord;
+import com.nisum.oppenheimer.service.record.UserProfileRecord;
+import com.nisum.oppenheimer.service.spec.UserSearchService;
+import com.nisum.oppenheimer.util.Constants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * Implementation of the {@link UserSearchService} interface.
+ * <p>
+ * Pages are read with keyset pagination on the time-ordered user id: each page asks the
+ * {@link UserRepository#findPage} query for the users after the last id of the previous page, so a deep page
+ * costs the same as the first one. One extra row is fetched to know whether a following page exists without
+ * a count query. Rows are read through the {@link UserListing} projection.
+ * </p>
+ *
+ * <p>
+ * The created range is turned into a range of ids with {@link IdGenerator#firstIdAt}, so it narrows the same
+ * primary key scan instead of needing an index of its own. {@code created} holds local times of the
+ * {@code user.search.zone} zone. The id range is widened by {@code user.search.clockSkew} on both sides, for
+ * users whose id and creation time were taken a little apart, and the exact range is then applied to
+ * {@code created} itself, so the ids only narrow the scan and never decide whether a user matches.
+ * Users created before ids were time ordered have lower ids than any time-ordered one, so they fall below the
+ * id range and only match ranges without a lower bound.
+ * </p>
+ *
+ * <p>
+ * The continuation token is the URL-safe Base64 of the last id of the page. Clients must treat it as opaque
+ * and pass it back with the same filters. Pages hold {@code user.search.defaultPageSize} users unless the
+ * client asks for another limit, up to {@code user.search.maxPageSize}.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class UserSearchServiceImpl implements UserSearchService {
+
+    private static final Base64.Encoder TOKEN_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder TOKEN_DECODER = Base64.getUrlDecoder();
+
+    private final UserRepository userRepository;
+    private final IdGenerator idGenerator;
+
+    @Value("${user.search.defaultPageSize}")
+    private int defaultPageSize;
+
+    @Value("${user.search.maxPageSize}")
+    private int maxPageSize;
+
+    @Value("${user.search.zone}")
+    private ZoneId zone;
+
+    @Value("${user.search.clockSkew}")
+    private Duration clockSkew;
+
+    @Override
+    public UserPageRecord search(String emailPrefix, LocalDateTime createdFrom, LocalDateTime createdTo, Integer limit, String after) {
+        int pageSize = limit == null ? defaultPageSize : limit;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException(Constants.PAGE_LIMIT_INVALID + maxPageSize);
+        }
+
+        long afterId = after == null ? 0 : decode(after);
+        if (createdFrom != null) {
+            afterId = Math.max(afterId, firstIdAt(createdFrom.minus(clockSkew)) - 1);
+        }
+        long beforeId = createdTo == null ? Long.MAX_VALUE : firstIdAt(createdTo.plus(clockSkew));
+
+        var rows = userRepository.findPage(afterId, beforeId, createdFrom, createdTo, toPattern(emailPrefix),
+                                           Limit.of(pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        var page = hasNext ? rows.subList(0, pageSize) : rows;
+        return new UserPageRecord(page.stream().map(UserSearchServiceImpl::mapToUserProfileRecord).toList(),
+                                  hasNext ? encode(page.get(pageSize - 1).getId()) : null);
+    }
+
+    /**
+     * Returns the lowest id of a user created at the given time, which {@code created} holds in the configured zone.
+     *
+     * @param created the creation time
+     * @return the first id of that time
+     */
+    private long firstIdAt(LocalDateTime created) {
+        return idGenerator.firstIdAt(created.atZone(zone).toInstant());
+    }
+
+    /**
+     * Turns the email prefix into a {@code LIKE} pattern, escaping the wildcards it may contain.
+     *
+     * @param emailPrefix the prefix, or null
+     * @return the pattern matching the emails that start with the prefix
+     */
+    static String toPattern(String emailPrefix) {
+        if (emailPrefix == null || emailPrefix.isEmpty()) {
+            return "%";
+        }
+        var pattern = new StringBuilder(emailPrefix.length() + 2);
+        for (int i = 0; i < emailPrefix.length(); i++) {
+            char c = emailPrefix.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') {
+                pattern.append('\\');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    static String encode(long id) {
+        return TOKEN_ENCODER.encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(id).array());
+    }
+
+    static long decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = TOKEN_DECODER.decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(Constants.PAGE_TOKEN_INVALID);
+        }
+        if (bytes.length != Long.BYTES) {
+            throw new IllegalArgumentException(Constants.PAGE_TOKEN_INVALID);
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+
+    private static UserProfileRecord mapToUserProfileRecord(UserListing listing) {
+        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+        return new UserProfileRecord(
+                listing.getXkey(),
+                listing.getName(),
+                listing.getEmail(),
+                listing.getCreated().format(formatter),
+                listing.getModified().format(formatter),
+                true
+        );
+    }
+}
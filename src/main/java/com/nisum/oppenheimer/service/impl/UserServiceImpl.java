@@ -1,23 +1,35 @@
 package com.nisum.oppenheimer.service.impl;
 
+import com.nisum.oppenheimer.api.restful.controllers.dto.LoginDTO;
 import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO;
-import com.nisum.oppenheimer.model.Phone;
+import com.nisum.oppenheimer.metrics.SignUpMetrics;
+import com.nisum.oppenheimer.metrics.SignUpMetrics.Stage;
 import com.nisum.oppenheimer.model.User;
+import com.nisum.oppenheimer.model.id.IdGenerator;
 import com.nisum.oppenheimer.repository.UserRepository;
+import com.nisum.oppenheimer.repository.routing.ReplicaRouting;
+import com.nisum.oppenheimer.service.exception.AuthenticationFailedException;
+import com.nisum.oppenheimer.service.exception.DuplicateEmailException;
 import com.nisum.oppenheimer.service.record.UserRecord;
+import com.nisum.oppenheimer.service.spec.EmailIndexService;
+import com.nisum.oppenheimer.service.spec.LastLoginService;
+import com.nisum.oppenheimer.service.spec.OutboxService;
+import com.nisum.oppenheimer.service.spec.PasswordHashService;
 import com.nisum.oppenheimer.service.spec.TokenService;
+import com.nisum.oppenheimer.service.spec.UserProfileService;
 import com.nisum.oppenheimer.service.spec.UserService;
+import com.nisum.oppenheimer.util.Constants;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Set;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.List;
 
 /**
  * Implementation of the {@link UserService} interface.
@@ -43,70 +55,143 @@ public class UserServiceImpl implements UserService {
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
 
     private final UserRepository userRepository;
-    private final Argon2PasswordEncoder passwordEncoder;
+    private final PasswordHashService passwordHashService;
     private final TokenService tokenService;
+    private final LastLoginService lastLoginService;
+    private final IdGenerator idGenerator;
+    private final UserProfileService userProfileService;
+    private final EmailIndexService emailIndexService;
+    private final SignUpMetrics signUpMetrics;
+    private final ReplicaRouting replicaRouting;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${token.persistId}")
+    private boolean persistTokenId;
 
 
     /**
      * Creates a new user in the system.
      * <p>
-     * This method first checks if a user with the same email already exists in the database. If the email
-     * is unique, it proceeds to map the provided {@link UserDTO} to a {@link User} entity, including
-     * mapping the associated phone numbers, and then saves the entity in the database.
+     * This method first checks if a user with the same email already exists, asking the {@link EmailIndexService},
+     * which only queries the database when the email may be registered. If the email is unique, it proceeds to map
+     * the provided {@link UserDTO} to a {@link User} entity, including mapping the associated phone numbers, and
+     * then saves the entity in the database together with its {@code user.created} event in the outbox, in one
+     * transaction, so downstream systems learn about the user without adding a call to the sign-up. A concurrent
+     * sign-up with the same email is caught by the unique constraint on insert and reported the same way. The issued token is
+     * returned to the client but never stored; with {@code token.persistId} only its jti is saved.
+     * The email and key of the new user are handed to {@link ReplicaRouting}, so the user's own reads go to
+     * the primary until the replica has caught up. Each stage is timed and the outcome counted through {@link SignUpMetrics}.
      * </p>
      *
      * @param dto the {@link UserDTO} containing user details
      * @return a {@link UserRecord} containing the persisted user's details
-     * @throws IllegalArgumentException if a user with the given email already exists
+     * @throws DuplicateEmailException if a user with the given email already exists
+     * @throws com.nisum.oppenheimer.service.exception.ServiceOverloadedException if the password hashing stage is saturated
      */
     @Override
     public UserRecord create(UserDTO dto) {
-        // Check if the user already exists by email
-        if (userRepository.existsByEmail(dto.getEmail())) {
-            throw new IllegalArgumentException("Email already exists");
+        try {
+            var created = createUser(dto);
+            signUpMetrics.count(SignUpMetrics.Outcome.CREATED);
+            return created;
+        } catch (DuplicateEmailException e) {
+            signUpMetrics.count(SignUpMetrics.Outcome.DUPLICATE);
+            throw e;
+        } catch (RuntimeException e) {
+            signUpMetrics.count(SignUpMetrics.Outcome.ERROR);
+            throw e;
         }
+    }
 
-        // Map DTO to Entity (Phones and User)
-        var user = mapToUserEntity(dto);
+    /**
+     * Runs the stages of {@link #create}, timing each one.
+     *
+     * @param dto the {@link UserDTO} containing user details
+     * @return a {@link UserRecord} containing the persisted user's details
+     */
+    private UserRecord createUser(UserDTO dto) {
+        // Check if the user already exists by email; emails the index has never seen skip the query
+        if (signUpMetrics.time(Stage.EMAIL_CHECK, () -> emailIndexService.exists(dto.getEmail()))) {
+            throw new DuplicateEmailException(Constants.EMAIL_ALREADY_EXISTS);
+        }
+
+        // Hash the password and map DTO to Entity (Phones and User)
+        var passwordHash = signUpMetrics.time(Stage.PASSWORD_HASH, () -> passwordHashService.encode(dto.getPassword()));
+        var user = UserEntityMapper.toUserEntity(dto, passwordHash, idGenerator);
+
+        // Issue the token; only its compact identifier is kept, if anything
+        var issued = signUpMetrics.time(Stage.TOKEN, () -> tokenService.issue(user));
+        if (persistTokenId) {
+            user.setTokenId(issued.id());
+        }
 
-        // Save the User entity
-        user = userRepository.save(user);
+        // Save the User entity and its event; the unique constraint catches duplicates the check above let through
+        User saved;
+        try {
+            saved = signUpMetrics.time(Stage.INSERT, () -> transactionTemplate.execute(status -> {
+                var inserted = userRepository.save(user);
+                outboxService.append(List.of(outboxService.userCreated(inserted)));
+                return inserted;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // The clashing row may not have reached the replica yet
+            if (replicaRouting.onPrimary(() -> userRepository.existsByEmail(dto.getEmail()))) {
+                emailIndexService.add(dto.getEmail());
+                throw new DuplicateEmailException(Constants.EMAIL_ALREADY_EXISTS);
+            }
+            throw e;
+        }
+        emailIndexService.add(saved.getEmail());
+        replicaRouting.written(saved.getEmail(), saved.getXkey());
 
         // Return UserRecord after successful creation
-        return mapToUserRecord(user);
+        return mapToUserRecord(saved, issued.token());
     }
 
     /**
-     * Maps the {@link UserDTO} to a {@link User} entity.
+     * Authenticates a user.
      * <p>
-     * This method handles the conversion of the user data transfer object to the corresponding
-     * user entity for persistence. It generates UUIDs for the user and their associated phone numbers,
-     * and sets the created and modified timestamps to the current time.
+     * The raw password is verified against the stored Argon2 hash. An unknown email is verified against
+     * {@link PasswordHashService#dummyHash} before failing, so its response time does not reveal that the
+     * email is not registered. When the stored hash is weaker than the
+     * current hashing settings, it is replaced with a fresh hash while the raw password is at hand, and the
+     * cached profile of the user is evicted since its modification time moves. The login
+     * time is handed to the {@link LastLoginService} write-behind buffer instead of being updated synchronously.
+     * A login right after sign-up reads the user from the primary, see {@link ReplicaRouting#readYourWrites}.
      * </p>
      *
-     * @param dto the {@link UserDTO} containing user details
-     * @return the mapped {@link User} entity
+     * @param dto the {@link LoginDTO} containing the credentials
+     * @return a {@link UserRecord} with a fresh token and the time of this login
+     * @throws AuthenticationFailedException if the email is unknown or the password does not match
      */
-    private User mapToUserEntity(UserDTO dto) {
-        Set<Phone> phones = dto.getPhones().stream()
-                .map(phoneDTO -> Phone.builder()
-                        .xkey(UUID.randomUUID().toString())
-                        .number(Long.parseLong(phoneDTO.getNumber()))
-                        .cityCode(Short.parseShort(phoneDTO.getCityCode()))
-                        .countryCode(Short.parseShort(phoneDTO.getCountryCode()))
-                        .build())
-                .collect(Collectors.toSet());
-
-        var user = User.builder()
-                        .xkey(UUID.randomUUID().toString())
-                        .name(dto.getName())
-                        .email(dto.getEmail())
-                        .password(passwordEncoder.encode(dto.getPassword()))
-                        .phones(phones)
-                    .build();
-        user.setToken(tokenService.generate(user));
-
-        return user;
+    @Override
+    public UserRecord login(LoginDTO dto) {
+        var found = replicaRouting.readYourWrites(dto.getEmail(), () -> userRepository.findByEmail(dto.getEmail()));
+        if (found.isEmpty()) {
+            // Pay for a verification anyway, so an unknown email takes as long as a wrong password
+            passwordHashService.matches(dto.getPassword(), passwordHashService.dummyHash());
+            throw new AuthenticationFailedException(Constants.INVALID_CREDENTIALS);
+        }
+        var user = found.get();
+
+        if (!passwordHashService.matches(dto.getPassword(), user.getPassword())) {
+            throw new AuthenticationFailedException(Constants.INVALID_CREDENTIALS);
+        }
+
+        // Rehash passwords stored with weaker settings than the current ones
+        if (passwordHashService.upgradeEncoding(user.getPassword())) {
+            logger.info("Upgrading password hash for user: {}", user.getXkey());
+            user.setPassword(passwordHashService.encode(dto.getPassword()));
+            user = userRepository.save(user);
+            userProfileService.evict(user.getXkey());
+        }
+
+        var loginAt = LocalDateTime.now();
+        lastLoginService.record(user.getId(), loginAt);
+        user.setLastLogin(loginAt);
+
+        return mapToUserRecord(user, tokenService.generate(user));
     }
 
     /**
@@ -117,10 +202,11 @@ public class UserServiceImpl implements UserService {
      * as well as their token and active status.
      * </p>
      *
-     * @param user the {@link User} entity to be mapped
+     * @param user  the {@link User} entity to be mapped
+     * @param token the token issued to the user, which is not stored with the entity
      * @return a {@link UserRecord} containing user details
      */
-    private UserRecord mapToUserRecord(User user) {
+    UserRecord mapToUserRecord(User user, String token) {
         if(user.getCreated() == null) {
             user.setCreated(LocalDateTime.now());
         }
@@ -134,8 +220,8 @@ public class UserServiceImpl implements UserService {
                 user.getXkey(),
                 user.getCreated().format(formatter),
                 user.getModified().format(formatter),
-                user.getCreated().format(formatter),
-                user.getToken(),
+                (user.getLastLogin() != null ? user.getLastLogin() : user.getCreated()).format(formatter),
+                token,
                 true  // Assuming new users are active by default
         );
     }
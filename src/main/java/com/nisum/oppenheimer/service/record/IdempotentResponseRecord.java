@@ -0,0 +1,44 @@
+package com.nisum.oppenheimer.service.record;
+
+/**
+ * IdempotentResponseRecord represents the sign-up response stored under an {@code Idempotency-Key}.
+ *
+ * @param fingerprint HMAC-SHA256 of the request the key was first used with, under {@code idempotency.secret}, in hex.
+ * @param location    Location of the created user, or null while the request is in flight.
+ * @param body        Body of the 201 response, or null while the request is in flight. Stored without its token.
+ */
+public record IdempotentResponseRecord(String fingerprint,
+                                       String location,
+                                       UserRecord body) {
+
+    /**
+     * Creates the placeholder of a request that has claimed its key and not completed yet.
+     *
+     * @param fingerprint the fingerprint of the request
+     * @return a record without response
+     */
+    public static IdempotentResponseRecord inFlight(String fingerprint) {
+        return new IdempotentResponseRecord(fingerprint, null, null);
+    }
+
+    /**
+     * Tells whether the response is known, or the request is still in flight.
+     *
+     * @return true once the response has been stored
+     */
+    public boolean completed() {
+        return body != null;
+    }
+
+    /**
+     * Returns the same response with another token, or none.
+     *
+     * @param token the token of the response, or null to store it without any
+     * @return a copy of the completed response with the given token
+     */
+    public IdempotentResponseRecord withToken(String token) {
+        return new IdempotentResponseRecord(fingerprint, location, new UserRecord(body.id(), body.created(),
+                                                                                 body.modified(), body.lastLogin(),
+                                                                                 token, body.isActive()));
+    }
+}
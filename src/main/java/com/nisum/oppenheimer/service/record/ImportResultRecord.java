@@ -0,0 +1,43 @@
+package com.nisum.oppenheimer.service.record;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.nisum.oppenheimer.util.Constants;
+
+/**
+ * ImportResultRecord represents the outcome of one record of a bulk import.
+ *
+ * @param index       Zero-based position of the record in the imported stream.
+ * @param email       Email of the record, when it could be read.
+ * @param status      One of {@code created}, {@code duplicate}, {@code invalid} or {@code aborted}; an
+ *                    {@code aborted} result is the last one and covers its record and every one after it.
+ * @param id          Unique identifier of the created user; only set when the status is {@code created}.
+ * @param message     Why the record was not created; not set when the status is {@code created}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportResultRecord(long index,
+                                 String email,
+                                 String status,
+                                 String id,
+                                 String message) {
+
+    public static final String CREATED = "created";
+    public static final String DUPLICATE = "duplicate";
+    public static final String INVALID = "invalid";
+    public static final String ABORTED = "aborted";
+
+    public static ImportResultRecord created(long index, String email, String id) {
+        return new ImportResultRecord(index, email, CREATED, id, null);
+    }
+
+    public static ImportResultRecord duplicate(long index, String email) {
+        return new ImportResultRecord(index, email, DUPLICATE, null, Constants.EMAIL_ALREADY_EXISTS);
+    }
+
+    public static ImportResultRecord invalid(long index, String email, String message) {
+        return new ImportResultRecord(index, email, INVALID, null, message);
+    }
+
+    public static ImportResultRecord aborted(long index, String email, String message) {
+        return new ImportResultRecord(index, email, ABORTED, null, message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.nisum.oppenheimer.service.record;
+
+/**
+ * IssuedToken represents a freshly signed token together with its identifier.
+ *
+ * @param token The signed JWT returned to the client.
+ * @param id    The compact token identifier, also written to the {@code jti} claim.
+ */
+public record IssuedToken(String token, String id) {
+}
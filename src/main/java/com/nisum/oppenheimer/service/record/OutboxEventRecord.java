@@ -0,0 +1,23 @@
+package com.nisum.oppenheimer.service.record;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * OutboxEventRecord represents an event written to the {@code OUTBOX} table and handed to the outbox sink.
+ *
+ * @param id           Time-ordered identifier of the event; events of the same aggregate are delivered in id order.
+ * @param aggregateKey Public key of the user the event is about.
+ * @param type         Type of the event, e.g. {@code user.created}.
+ * @param payload      JSON document of the event, written as is.
+ * @param created      Timestamp of when the event was written.
+ */
+public record OutboxEventRecord(long id,
+                                String aggregateKey,
+                                String type,
+                                @JsonRawValue String payload,
+                                LocalDateTime created) {
+
+    public static final String USER_CREATED = "user.created";
+}
@@ -0,0 +1,16 @@
+package com.nisum.oppenheimer.service.record;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * UserPageRecord represents one page of the user listing.
+ *
+ * @param users       The profiles of the page, in creation order.
+ * @param next        Opaque token to pass back as {@code after} to fetch the following page; not set on the last page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserPageRecord(List<UserProfileRecord> users,
+                             String next) {
+}
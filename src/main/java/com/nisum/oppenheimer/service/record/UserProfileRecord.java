@@ -0,0 +1,29 @@
+package com.nisum.oppenheimer.service.record;
+
+/**
+ * UserProfileRecord represents the public profile of a user, as returned by the fetch endpoint.
+ *
+ * @param id          Unique identifier for the user.
+ * @param name        Full name of the user.
+ * @param email       Email address of the user.
+ * @param created     Timestamp of when the user was created.
+ * @param modified    Timestamp of when the user was last modified.
+ * @param isActive    Status indicating if the user is active.
+ */
+public record UserProfileRecord(String id,
+                                String name,
+                                String email,
+                                String created,
+                                String modified,
+                                boolean isActive) {
+
+    /**
+     * The strong entity tag of this version of the profile, derived from its modification time.
+     * The profile only changes through entity updates, which always move {@code modified} forward.
+     *
+     * @return the quoted entity tag
+     */
+    public String etag() {
+        return '"' + modified.replaceAll("\\D", "") + '"';
+    }
+}
@@ -0,0 +1,44 @@
+package com.nisum.oppenheimer.service.spec;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * EmailIndexService defines the contract for checking whether email addresses are already registered.
+ * Implementations may answer without querying the database when an email is certainly not registered.
+ */
+public interface EmailIndexService {
+
+    /**
+     * Checks whether a user with the given email exists.
+     *
+     * @param email the email to check; must not be null.
+     * @return true if the email is registered, false otherwise.
+     */
+    boolean exists(@NotNull String email);
+
+    /**
+     * Checks the index alone, without querying the database, for callers that query it themselves.
+     *
+     * @param email the email to check; must not be null.
+     * @return false if the email is certainly not registered, true if the database must be asked.
+     */
+    boolean mightExist(@NotNull String email);
+
+    /**
+     * Finds which of the given emails are already registered.
+     *
+     * @param emails the emails to check; must not be null.
+     * @return the subset of the emails that are registered.
+     */
+    Set<String> existing(@NotNull Collection<String> emails);
+
+    /**
+     * Records a newly registered email. Must be called after every successful insert.
+     *
+     * @param email the registered email; must not be null.
+     */
+    void add(@NotNull String email);
+}
@@ -0,0 +1,27 @@
+package com.nisum.oppenheimer.service.spec;
+
+import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO;
+import com.nisum.oppenheimer.service.record.IdempotentResponseRecord;
+
+import java.util.function.Supplier;
+
+/**
+ * IdempotencyService is an interface that defines the execution of requests at most once per
+ * {@code Idempotency-Key}.
+ */
+public interface IdempotencyService {
+
+    /**
+     * Runs a request once for its key and returns its response to every request with the same key.
+     *
+     * @param key     the idempotency key sent by the client
+     * @param request the bound sign-up request; the key is bound to all of its fields, password included, so it
+     *                cannot be reused for another one, and only a keyed hash of them is kept
+     * @param create  the sign-up, run only if the key has not been seen
+     * @return the response of the first request with the key
+     * @throws IllegalArgumentException if the key is blank or longer than 64 characters
+     * @throws com.nisum.oppenheimer.service.exception.IdempotencyKeyReusedException if the key was used with another request
+     * @throws com.nisum.oppenheimer.service.exception.RequestInProgressException if another instance is running the request
+     */
+    IdempotentResponseRecord execute(String key, UserDTO request, Supplier<IdempotentResponseRecord> create);
+}
@@ -0,0 +1,36 @@
+package com.nisum.oppenheimer.service.spec;
+
+import com.nisum.oppenheimer.service.record.IdempotentResponseRecord;
+
+import java.util.Optional;
+
+/**
+ * IdempotencyStore is an interface that defines where the responses of idempotent requests are kept, bounded
+ * in size or age. The implementation is chosen with {@code idempotency.store}.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims a key for a request, unless another request holds it already.
+     *
+     * @param key         the idempotency key
+     * @param fingerprint the fingerprint of the request
+     * @return empty if the key is now claimed by the caller, or what is stored under it, completed or in flight
+     */
+    Optional<IdempotentResponseRecord> claim(String key, String fingerprint);
+
+    /**
+     * Stores the response of a request that claimed its key.
+     *
+     * @param key      the idempotency key
+     * @param response the response to replay
+     */
+    void complete(String key, IdempotentResponseRecord response);
+
+    /**
+     * Releases a key whose request failed, so a retry runs it again.
+     *
+     * @param key the idempotency key
+     */
+    void release(String key);
+}
@@ -0,0 +1,27 @@
+package com.nisum.oppenheimer.service.spec;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * LastLoginService defines the contract for tracking when users last logged in.
+ * Implementations may buffer the timestamps and persist them later.
+ */
+public interface LastLoginService {
+
+    /**
+     * Records a login for the given user.
+     *
+     * @param userId  the internal id of the user.
+     * @param loginAt the time of the login.
+     */
+    void record(@NotNull Long userId, @NotNull LocalDateTime loginAt);
+
+    /**
+     * Persists every buffered login.
+     *
+     * @return the number of users whose last login was written.
+     */
+    int flush();
+}
@@ -0,0 +1,38 @@
+package com.nisum.oppenheimer.service.spec;
+
+import com.nisum.oppenheimer.model.User;
+import com.nisum.oppenheimer.service.record.OutboxEventRecord;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * OutboxService is an interface that defines the contract for the transactional outbox: events are written
+ * in the transaction of the change they describe, and relayed to the {@link OutboxSink} afterwards.
+ */
+public interface OutboxService {
+
+    /**
+     * Builds the {@code user.created} event of a user, without writing it.
+     *
+     * @param user the persisted user; must not be null.
+     * @return the OutboxEventRecord to append
+     */
+    OutboxEventRecord userCreated(@NotNull User user);
+
+    /**
+     * Writes the events to the outbox. Must run in the transaction that writes the change they describe,
+     * so the events are stored if and only if the change is.
+     *
+     * @param events the events to write; must not be null.
+     */
+    void append(@NotNull List<OutboxEventRecord> events);
+
+    /**
+     * Claims the pending events in batches, publishes them to the sink and removes them once published.
+     * Delivery is at least once: a batch whose publication or removal fails is published again later.
+     *
+     * @return the number of events published
+     */
+    int relay();
+}
@@ -0,0 +1,21 @@
+package com.nisum.oppenheimer.service.spec;
+
+import com.nisum.oppenheimer.service.record.OutboxEventRecord;
+
+import java.util.List;
+
+/**
+ * OutboxSink is an interface that defines where the outbox relay publishes events. The implementation is
+ * chosen with {@code outbox.sink}.
+ */
+public interface OutboxSink {
+
+    /**
+     * Publishes a batch of events, in order. The events are removed from the outbox only when this method
+     * returns, so it must not return before they are safely delivered; throwing makes the relay retry the
+     * whole batch later, and the sink may then see some events twice.
+     *
+     * @param events the events to publish, in id order
+     */
+    void publish(List<OutboxEventRecord> events);
+}
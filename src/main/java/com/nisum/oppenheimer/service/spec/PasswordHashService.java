@@ -0,0 +1,79 @@
+package com.nisum.oppenheimer.service.spec;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * PasswordHashService defines the contract for hashing user passwords.
+ * Implementations are responsible for keeping the memory used by concurrent hashes bounded.
+ */
+public interface PasswordHashService {
+
+    /**
+     * Hashes the given raw password.
+     *
+     * @param rawPassword the password to hash.
+     * @return the encoded hash, including its salt and cost parameters.
+     * @throws com.nisum.oppenheimer.service.exception.ServiceOverloadedException if the hashing stage is saturated.
+     */
+    String encode(@NotNull CharSequence rawPassword);
+
+    /**
+     * Hashes the given raw password without waiting for the result, for callers that must not block.
+     *
+     * @param rawPassword the password to hash.
+     * @return the encoded hash, completed on a hashing worker.
+     * @throws com.nisum.oppenheimer.service.exception.ServiceOverloadedException if the hashing stage is saturated.
+     */
+    CompletableFuture<String> encodeAsync(@NotNull CharSequence rawPassword);
+
+    /**
+     * Hashes several raw passwords in parallel, keeping at most one hash in flight per hashing worker
+     * so that a bulk caller never fills the queue shared with interactive sign-ups.
+     *
+     * @param rawPasswords the passwords to hash.
+     * @return the encoded hashes, in the same order as the passwords.
+     * @throws com.nisum.oppenheimer.service.exception.ServiceOverloadedException if the hashing stage is saturated.
+     */
+    List<String> encodeAll(@NotNull List<? extends CharSequence> rawPasswords);
+
+    /**
+     * Verifies a raw password against a stored hash.
+     * The cost parameters are read from the hash itself, so hashes created with older settings keep verifying.
+     *
+     * @param rawPassword     the password to check.
+     * @param encodedPassword the stored hash.
+     * @return true if the password matches the hash, false otherwise.
+     * @throws com.nisum.oppenheimer.service.exception.ServiceOverloadedException if the hashing stage is saturated.
+     */
+    boolean matches(@NotNull CharSequence rawPassword, @NotNull String encodedPassword);
+
+    /**
+     * Verifies a raw password against a stored hash without waiting for the result, for callers that must not block.
+     *
+     * @param rawPassword     the password to check.
+     * @param encodedPassword the stored hash.
+     * @return whether the password matches the hash, completed on a hashing worker.
+     * @throws com.nisum.oppenheimer.service.exception.ServiceOverloadedException if the hashing stage is saturated.
+     */
+    CompletableFuture<Boolean> matchesAsync(@NotNull CharSequence rawPassword, @NotNull String encodedPassword);
+
+    /**
+     * Returns the hash of a random password, made with the current settings. Logins for unknown emails verify
+     * against it, so they cost as much as a wrong password and do not reveal which emails are registered.
+     *
+     * @return an encoded hash that no password is expected to match.
+     */
+    String dummyHash();
+
+    /**
+     * Checks whether a stored hash is weaker than the current hashing settings and should be rehashed
+     * the next time the raw password is available.
+     *
+     * @param encodedPassword the stored hash.
+     * @return true if the hash should be upgraded, false otherwise.
+     */
+    boolean upgradeEncoding(@NotNull String encodedPassword);
+}
@@ -0,0 +1,32 @@
+package com.nisum.oppenheimer.service.spec;
+
+import com.nisum.oppenheimer.api.restful.controllers.dto.LoginDTO;
+import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO;
+import com.nisum.oppenheimer.service.record.UserRecord;
+import jakarta.validation.constraints.NotNull;
+import reactor.core.publisher.Mono;
+
+/**
+ * ReactiveUserService is the non-blocking counterpart of {@link UserService}, used by the reactive profile.
+ * It has the same contract, with results and errors signalled through a {@link Mono}.
+ */
+public interface ReactiveUserService {
+
+    /**
+     * Adds a new user based on the provided UserDTO.
+     *
+     * @param dto the UserDTO object containing user details; must not be null.
+     * @return a Mono emitting the UserRecord of the added user, or a
+     *         {@link com.nisum.oppenheimer.service.exception.DuplicateEmailException} if the email is already registered.
+     */
+    Mono<UserRecord> create(@NotNull UserDTO dto);
+
+    /**
+     * Authenticates a user with the provided credentials.
+     *
+     * @param dto the LoginDTO object containing the email and raw password; must not be null.
+     * @return a Mono emitting the UserRecord of the authenticated user with a fresh token, or an
+     *         {@link com.nisum.oppenheimer.service.exception.AuthenticationFailedException} if the credentials are invalid.
+     */
+    Mono<UserRecord> login(@NotNull LoginDTO dto);
+}
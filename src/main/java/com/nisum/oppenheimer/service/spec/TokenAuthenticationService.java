@@ -0,0 +1,19 @@
+package com.nisum.oppenheimer.service.spec;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Optional;
+
+/**
+ * TokenAuthenticationService defines the contract for authenticating requests with bearer tokens.
+ */
+public interface TokenAuthenticationService {
+
+    /**
+     * Authenticates the given bearer token.
+     *
+     * @param token the raw JWT token sent by the client.
+     * @return the subject (email) of the token if it is valid, empty otherwise.
+     */
+    Optional<String> authenticate(@NotNull String token);
+}
@@ -1,11 +1,14 @@
 package com.nisum.oppenheimer.service.spec;
 
 import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.nisum.oppenheimer.model.User;
+import com.nisum.oppenheimer.service.record.IssuedToken;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * TokenService defines the contract for generating, verifying, and decoding JWT tokens.
@@ -21,6 +24,14 @@ public interface TokenService {
      */
     String generate(@NotNull User user);
 
+    /**
+     * Issues a JWT token for the given user, together with its compact identifier.
+     *
+     * @param user The user for whom the token will be issued.
+     * @return the signed token and its identifier (the jti claim).
+     */
+    IssuedToken issue(@NotNull User user);
+
     /**
      * Verifies the validity of the provided JWT token.
      *
@@ -29,6 +40,14 @@ public interface TokenService {
      */
     boolean verify(@Valid String token);
 
+    /**
+     * Verifies the provided JWT token and returns it decoded.
+     *
+     * @param token The JWT token to be verified.
+     * @return the decoded token if it is valid, empty otherwise.
+     */
+    Optional<DecodedJWT> validate(@Valid String token);
+
     /**
      * Decodes the provided JWT token and extracts claims.
      *
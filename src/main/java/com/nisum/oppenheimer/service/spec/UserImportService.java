@@ -0,0 +1,29 @@
+package com.nisum.oppenheimer.service.spec;
+
+import com.nisum.oppenheimer.service.record.ImportResultRecord;
+import jakarta.validation.constraints.NotNull;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * UserImportService defines the contract for creating users in bulk.
+ */
+public interface UserImportService {
+
+    /**
+     * Imports the users read from the given stream.
+     * <p>
+     * The stream holds {@link com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO} objects, either as a
+     * JSON array or as newline-delimited JSON. It is read incrementally and processed in batches, so only one
+     * batch of records is held in memory at a time.
+     * </p>
+     *
+     * @param body    the stream of users; must not be null.
+     * @param results receives the outcome of every record, one batch at a time, in input order.
+     * @return the number of records read.
+     * @throws com.nisum.oppenheimer.service.exception.ServiceOverloadedException if the hashing stage is saturated.
+     */
+    long importUsers(@NotNull InputStream body, @NotNull Consumer<List<ImportResultRecord>> results);
+}
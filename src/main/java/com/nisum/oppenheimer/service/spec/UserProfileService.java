@@ -0,0 +1,26 @@
+package com.nisum.oppenheimer.service.spec;
+
+import com.nisum.oppenheimer.service.record.UserProfileRecord;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * UserProfileService is an interface that defines the contract for reading user profiles by their public key.
+ */
+public interface UserProfileService {
+
+    /**
+     * Retrieves the profile of a user.
+     *
+     * @param xkey the public key of the user; must not be null.
+     * @return the UserProfileRecord of the user
+     * @throws com.nisum.oppenheimer.service.exception.UserNotFoundException if no user has the given key.
+     */
+    UserProfileRecord find(@NotNull String xkey);
+
+    /**
+     * Discards any cached profile of the user. Must be called after every update of the user.
+     *
+     * @param xkey the public key of the user; must not be null.
+     */
+    void evict(@NotNull String xkey);
+}
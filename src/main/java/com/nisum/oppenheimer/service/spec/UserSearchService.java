@@ -0,0 +1,24 @@
+package com.nisum.oppenheimer.service.spec;
+
+import com.nisum.oppenheimer.service.record.UserPageRecord;
+
+import java.time.LocalDateTime;
+
+/**
+ * UserSearchService is an interface that defines the contract for listing and searching users page by page.
+ */
+public interface UserSearchService {
+
+    /**
+     * Retrieves a page of users matching the given filters, in creation order.
+     *
+     * @param emailPrefix the prefix the email must start with, or null for any email.
+     * @param createdFrom the inclusive lower bound of the creation time, or null.
+     * @param createdTo   the exclusive upper bound of the creation time, or null.
+     * @param limit       the maximum number of users in the page, or null for the default page size.
+     * @param after       the continuation token of the previous page, or null for the first page.
+     * @return the UserPageRecord with the users and, unless it is the last page, the token of the next one
+     * @throws IllegalArgumentException if the limit is out of range or the token is malformed.
+     */
+    UserPageRecord search(String emailPrefix, LocalDateTime createdFrom, LocalDateTime createdTo, Integer limit, String after);
+}
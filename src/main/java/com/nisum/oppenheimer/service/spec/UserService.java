@@ -1,5 +1,6 @@
 package com.nisum.oppenheimer.service.spec;
 
+import com.nisum.oppenheimer.api.restful.controllers.dto.LoginDTO;
 import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO;
 import com.nisum.oppenheimer.service.record.UserRecord;
 import jakarta.validation.constraints.NotNull;
@@ -15,7 +16,17 @@ public interface UserService {
      * @param dto the UserDTO object containing user details; must not be null.
      * @return a UserRecord representing the added user, including generated fields
      *         such as id, created, modified timestamps, and token.
-     * @throws IllegalArgumentException if the provided user is null.
+     * @throws com.nisum.oppenheimer.service.exception.DuplicateEmailException if the email is already registered.
      */
     UserRecord create(@NotNull UserDTO dto);
+
+    /**
+     * Authenticates a user with the provided credentials.
+     *
+     * @param dto the LoginDTO object containing the email and raw password; must not be null.
+     * @return a UserRecord representing the authenticated user, including a fresh token
+     *         and the time of this login.
+     * @throws com.nisum.oppenheimer.service.exception.AuthenticationFailedException if the credentials are invalid.
+     */
+    UserRecord login(@NotNull LoginDTO dto);
 }
@@ -5,6 +5,12 @@ public class Constants {
     // RESTful API
     public static final String USER_PATH_REST_ENDPOINT = "/api/users";
     public static final String USER_V1_MEDIA_TYPE = "application/vnd.nisum.oppenheimer.user.v1+json";
+    public static final String USER_LOGIN_PATH = "/login";
+    public static final String USER_ID_PATH = "/{id}";
+    public static final String USER_IMPORT_PATH = "/import";
+    public static final String JWKS_PATH = "/.well-known/jwks.json";
+    public static final String AUTHENTICATED_SUBJECT_ATTRIBUTE = "oppenheimer.authenticatedSubject";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
 
     // General validation messages
     public static final String NAME_REQUIRED = "Name is required";
@@ -19,6 +25,16 @@ public class Constants {
     public static final String CITY_CODE_INVALID = "City code must contain only digits";
     public static final String COUNTRY_CODE_REQUIRED = "Country code is required";
     public static final String COUNTRY_CODE_INVALID = "Country code must contain only digits";
+    public static final String PHONES_TOO_MANY = "At most 20 phones are allowed";
+    public static final String INVALID_CREDENTIALS = "Invalid email or password";
+    public static final String USER_NOT_FOUND = "User not found";
+    public static final String EMAIL_ALREADY_EXISTS = "Email already exists";
+    public static final String PAGE_LIMIT_INVALID = "Limit must be between 1 and ";
+    public static final String PAGE_TOKEN_INVALID = "Invalid continuation token";
+    public static final String IMPORT_ABORTED = "Too many concurrent sign-ups; this record and the ones after it were not imported";
+    public static final String IDEMPOTENCY_KEY_INVALID = "Idempotency-Key must be between 1 and 64 characters";
+    public static final String IDEMPOTENCY_KEY_REUSED = "Idempotency-Key was already used with a different request";
+    public static final String IDEMPOTENCY_KEY_IN_PROGRESS = "A request with this Idempotency-Key is still in progress";
 
     // Regex patterns
     public static final String EMAIL_REGEX = "^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$";
@@ -34,4 +50,5 @@ public class Constants {
     public static final int PHONE_NUMBER_MAX_SIZE = 15;
     public static final int CITY_CODE_MAX_SIZE = 15;
     public static final int COUNTRY_CODE_MAX_SIZE = 15;
+    public static final int PHONES_MAX_SIZE = 20;
 }
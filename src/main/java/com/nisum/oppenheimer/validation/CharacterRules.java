@@ -0,0 +1,152 @@
+package com.nisum.oppenheimer.validation;
+
+/**
+ * Single-pass, allocation-free checks equivalent to the validation regular expressions in
+ * {@link com.nisum.oppenheimer.util.Constants}.
+ * <p>
+ * Each method walks the input once over plain character comparisons, without compiling or running a
+ * {@link java.util.regex.Pattern}. The equivalence with the original expressions is covered by a test corpus.
+ * </p>
+ */
+public final class CharacterRules {
+
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+    private static final int MAX_DOMAIN_LENGTH = 255;
+    private static final int MIN_TOP_LEVEL_LENGTH = 2;
+    private static final int MAX_TOP_LEVEL_LENGTH = 4;
+
+    private CharacterRules() {
+    }
+
+    /**
+     * Equivalent to {@code \d+}: one or more ASCII digits.
+     *
+     * @param value the text to check
+     * @return true if the text is a non-empty run of digits
+     */
+    public static boolean isDigits(CharSequence value) {
+        int length = value.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Equivalent to {@code Constants.PASSWORD_REGEX}: at least one uppercase letter, one lowercase letter,
+     * one digit and one of {@code @#$%^&+=}, with no line terminator anywhere.
+     *
+     * @param value the text to check
+     * @return true if the text meets the password complexity rules
+     */
+    public static boolean isStrongPassword(CharSequence value) {
+        boolean upper = false;
+        boolean lower = false;
+        boolean digit = false;
+        boolean special = false;
+
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                upper = true;
+            } else if (c >= 'a' && c <= 'z') {
+                lower = true;
+            } else if (isDigit(c)) {
+                digit = true;
+            } else if (isPasswordSpecial(c)) {
+                special = true;
+            } else if (isLineTerminator(c)) {
+                return false;
+            }
+        }
+        return upper && lower && digit && special;
+    }
+
+    /**
+     * Equivalent to {@code Constants.EMAIL_REGEX} combined with Bean Validation's {@code @Email}, which the
+     * email field used to carry together:
+     * <ul>
+     *     <li>a local part of word characters, dashes and dots, neither starting nor ending with a dot,
+     *     without consecutive dots and at most 64 characters long;</li>
+     *     <li>a single {@code @};</li>
+     *     <li>a domain of at least two dot-separated labels of word characters and dashes, at most 255
+     *     characters long, whose labels neither start nor end with a dash and whose last label has
+     *     2 to 4 characters.</li>
+     * </ul>
+     *
+     * @param value the text to check
+     * @return true if the text is an accepted email address
+     */
+    public static boolean isEmail(CharSequence value) {
+        int length = value.length();
+        int at = -1;
+
+        // Local part
+        char previous = '.';
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '@') {
+                at = i;
+                break;
+            }
+            if (c == '.' ? previous == '.' : !isWordOrDash(c)) {
+                return false;
+            }
+            previous = c;
+        }
+        if (at <= 0 || at > MAX_LOCAL_PART_LENGTH || previous == '.') {
+            return false;
+        }
+        if (length - at - 1 > MAX_DOMAIN_LENGTH) {
+            return false;
+        }
+
+        // Domain labels
+        int labels = 0;
+        int labelLength = 0;
+        previous = '.';
+        for (int i = at + 1; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (labelLength == 0 || previous == '-') {
+                    return false;
+                }
+                labels++;
+                labelLength = 0;
+            } else if (isWordOrDash(c)) {
+                if (c == '-' && labelLength == 0) {
+                    return false;
+                }
+                labelLength++;
+            } else {
+                return false;
+            }
+            previous = c;
+        }
+        return labels >= 1
+               && previous != '-'
+               && labelLength >= MIN_TOP_LEVEL_LENGTH
+               && labelLength <= MAX_TOP_LEVEL_LENGTH;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordOrDash(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || c == '_' || c == '-';
+    }
+
+    private static boolean isPasswordSpecial(char c) {
+        return c == '@' || c == '#' || c == '$' || c == '%' || c == '^' || c == '&' || c == '+' || c == '=';
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
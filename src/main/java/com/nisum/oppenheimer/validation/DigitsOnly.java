@@ -0,0 +1,19 @@
+package com.nisum.oppenheimer.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.*;
+
+@Documented
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = DigitsOnlyValidator.class)
+public @interface DigitsOnly {
+
+    String message() default "must contain only digits";
+
+    Class<?>[] groups() default { };
+
+    Class<? extends Payload>[] payload() default { };
+}
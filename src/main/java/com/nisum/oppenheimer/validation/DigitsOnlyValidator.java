@@ -0,0 +1,16 @@
+package com.nisum.oppenheimer.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Accepts the same values as {@code @Pattern(regexp = "\\d+")}, without a regular expression.
+ * Null values are left to {@code @NotNull}.
+ */
+public class DigitsOnlyValidator implements ConstraintValidator<DigitsOnly, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || CharacterRules.isDigits(value);
+    }
+}
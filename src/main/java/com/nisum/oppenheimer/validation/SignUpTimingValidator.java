@@ -0,0 +1,43 @@
+package com.nisum.oppenheimer.validation;
+
+import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO;
+import com.nisum.oppenheimer.metrics.SignUpMetrics;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+/**
+ * Decorates the MVC validator to time the validation of sign-up requests and count the invalid ones.
+ * Other request bodies are validated without being measured.
+ */
+public class SignUpTimingValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+    private final SignUpMetrics signUpMetrics;
+
+    public SignUpTimingValidator(SmartValidator delegate, SignUpMetrics signUpMetrics) {
+        this.delegate = delegate;
+        this.signUpMetrics = signUpMetrics;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, new Object[0]);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        if (!(target instanceof UserDTO)) {
+            delegate.validate(target, errors, validationHints);
+            return;
+        }
+        signUpMetrics.time(SignUpMetrics.Stage.VALIDATION, () -> delegate.validate(target, errors, validationHints));
+        if (errors.hasErrors()) {
+            signUpMetrics.count(SignUpMetrics.Outcome.INVALID);
+        }
+    }
+}
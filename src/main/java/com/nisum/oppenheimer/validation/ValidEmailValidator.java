@@ -0,0 +1,16 @@
+package com.nisum.oppenheimer.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Accepts the same emails as {@code @Email} and {@code @Pattern(regexp = Constants.EMAIL_REGEX)} together,
+ * in a single pass. Null values are left to {@code @NotBlank}.
+ */
+public class ValidEmailValidator implements ConstraintValidator<ValidEmail, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || CharacterRules.isEmail(value);
+    }
+}
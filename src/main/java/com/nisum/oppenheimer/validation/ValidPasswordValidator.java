@@ -7,11 +7,24 @@ import org.springframework.beans.factory.annotation.Value;
 
 import java.util.regex.Pattern;
 
+/**
+ * Checks password complexity with {@link CharacterRules#isStrongPassword}, which is equivalent to the
+ * default {@code password.regex}. A different {@code password.regex} is still honored, compiled once.
+ */
 public class ValidPasswordValidator implements ConstraintValidator<ValidPassword, String> {
 
     @Value("${password.regex}")
     private String passwordRegex;
 
+    private Pattern customPattern;
+
+    @Override
+    public void initialize(ValidPassword constraintAnnotation) {
+        if (passwordRegex != null && !passwordRegex.equals(Constants.PASSWORD_REGEX)) {
+            customPattern = Pattern.compile(passwordRegex);
+        }
+    }
+
     @Override
     public boolean isValid(String value, ConstraintValidatorContext context) {
 
@@ -19,11 +32,10 @@ public class ValidPasswordValidator implements ConstraintValidator<ValidPassword
             return false;
         }
 
-        if (passwordRegex == null) {
-            passwordRegex = Constants.PASSWORD_REGEX;
+        if (customPattern != null) {
+            return customPattern.matcher(value).matches();
         }
 
-        Pattern pattern = Pattern.compile(passwordRegex);
-        return pattern.matcher(value).matches();
+        return CharacterRules.isStrongPassword(value);
     }
 }
@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# Compares the startup time and memory of the JVM image and the native image.
+#
+# Build both images first:
+#   ./gradlew jibDockerBuild       -> localhost:5000/oppenheimer:latest
+#   ./gradlew bootBuildImage       -> localhost:5000/oppenheimer-native:latest
+#
+# Each image is started RUNS times with the memory and CPU limits of the deployment. The script reports the time
+# until the readiness probe answers UP, the startup time logged by Spring, and the container memory once ready
+# and after a few sign-ups.
+set -euo pipefail
+
+JVM_IMAGE=${JVM_IMAGE:-localhost:5000/oppenheimer:latest}
+NATIVE_IMAGE=${NATIVE_IMAGE:-localhost:5000/oppenheimer-native:latest}
+MEMORY=${MEMORY:-640m}
+CPUS=${CPUS:-1}
+RUNS=${RUNS:-5}
+PORT=${PORT:-18080}
+READINESS="http://localhost:${PORT}/oppenheimer/actuator/health/readiness"
+SIGN_UP="http://localhost:${PORT}/oppenheimer/api/users"
+MEDIA_TYPE="application/vnd.nisum.oppenheimer.user.v1+json"
+
+now_ms() {
+  date +%s%3N
+}
+
+memory_mib() {
+  docker stats --no-stream --format '{{.MemUsage}}' "$1" | awk '{print $1}'
+}
+
+measure() {
+  local label=$1 image=$2 run=$3
+  local started ready elapsed container logged idle loaded
+
+  started=$(now_ms)
+  container=$(docker run -d --rm -p "${PORT}:8080" --memory "${MEMORY}" --cpus "${CPUS}" "${image}")
+  until curl -fs "${READINESS}" >/dev/null 2>&1; do
+    if ! docker inspect "${container}" >/dev/null 2>&1; then
+      echo "${label}: container exited before it was ready" >&2
+      return 1
+    fi
+    sleep 0.05
+  done
+  ready=$(now_ms)
+  elapsed=$((ready - started))
+  logged=$(docker logs "${container}" 2>&1 | grep -o 'Started Application in [0-9.]* seconds' | awk '{print $4}' || true)
+  idle=$(memory_mib "${container}")
+
+  for i in $(seq 1 20); do
+    curl -fs -o /dev/null -X POST "${SIGN_UP}" -H "Content-Type: ${MEDIA_TYPE}" -H "Accept: ${MEDIA_TYPE}" \
+         -d "{\"name\":\"Startup ${i}\",\"email\":\"startup-${run}-${i}@example.org\",\"password\":\"Hunter2@Secret\",\"phones\":[]}" || true
+  done
+  loaded=$(memory_mib "${container}")
+
+  docker stop "${container}" >/dev/null
+  printf '%-7s %3s %10s %12s %12s %14s\n' "${label}" "${run}" "${elapsed}" "${logged:-?}" "${idle}" "${loaded}"
+}
+
+printf '%-7s %3s %10s %12s %12s %14s\n' "image" "run" "ready(ms)" "started(s)" "mem ready" "mem 20 signups"
+for run in $(seq 1 "${RUNS}"); do
+  measure jvm "${JVM_IMAGE}" "${run}"
+  measure native "${NATIVE_IMAGE}" "${run}"
+done
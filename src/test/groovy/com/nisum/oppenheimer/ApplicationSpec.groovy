@@ -8,7 +8,7 @@ import spock.lang.Specification
 
 import static org.junit.jupiter.api.Assertions.assertNotNull
 
-@SpringBootTest(classes = Application)
+@SpringBootTest(classes = Application, properties = ["warmup.enabled=false", "idempotency.secret=application-spec-secret", "ids.nodeId=0"])
 class ApplicationSpec extends Specification {
 
     @Autowired ApplicationContext context
@@ -223,4 +223,29 @@ class UserDTOSpec extends Specification {
             assertEquals(2, violations.size())
             assertTrue(violations.any { it.message == Constants.PHONE_NUMBER_REQUIRED })
     }
+
+    /**
+     * Tests that the UserDTO is not valid when it has more phones than the user row can store.
+     *
+     * <p>
+     * Given a UserDTO object with valid name, email and password and 21 valid phones,
+     * the test expects a single violation whose message matches {@code Constants.PHONES_TOO_MANY}.
+     * </p>
+     */
+    def "should not validate UserDTO with too many phones"() {
+        given:
+            def userDTO = new UserDTO(
+                    name: "John Doe",
+                    email: "john.doe@example.com",
+                    password: "@Password123",
+                    phones: (0..Constants.PHONES_MAX_SIZE).collect {
+                        new PhoneDTO(number: "80934332" + String.format("%02d", it), cityCode: "1", countryCode: "57")
+                    }
+            )
+        when:
+            Set<ConstraintViolation<UserDTO>> violations = validator.validate(userDTO)
+        then:
+            assertEquals(1, violations.size())
+            assertTrue(violations.any { it.message == Constants.PHONES_TOO_MANY })
+    }
 }
@@ -1,17 +1,35 @@
 package com.nisum.oppenheimer.api.restful.controllers.impl
 
+import com.nisum.oppenheimer.api.restful.controllers.dto.LoginDTO
 import com.nisum.oppenheimer.api.restful.controllers.dto.PhoneDTO
 import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO
 import com.nisum.oppenheimer.api.restful.controllers.spec.UserController
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.nisum.oppenheimer.api.restful.controllers.ApiExceptionAdviser
+import com.nisum.oppenheimer.service.exception.DuplicateEmailException
+import com.nisum.oppenheimer.service.exception.UserNotFoundException
+import com.nisum.oppenheimer.service.impl.IdempotencyServiceImpl
+import com.nisum.oppenheimer.service.impl.MemoryIdempotencyStore
+import com.nisum.oppenheimer.service.record.ImportResultRecord
+import com.nisum.oppenheimer.service.record.UserPageRecord
+import com.nisum.oppenheimer.service.record.UserProfileRecord
 import com.nisum.oppenheimer.service.record.UserRecord
+import com.nisum.oppenheimer.service.spec.UserImportService
+import com.nisum.oppenheimer.service.spec.UserProfileService
+import com.nisum.oppenheimer.service.spec.UserSearchService
+import com.nisum.oppenheimer.service.spec.TokenService
 import com.nisum.oppenheimer.service.spec.UserService
 import com.nisum.oppenheimer.util.Constants
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import org.springframework.http.HttpStatus
 import org.springframework.test.web.servlet.MockMvc
 import org.springframework.test.web.servlet.setup.MockMvcBuilders
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.time.Duration
+import java.time.LocalDateTime
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*
 
 /**
@@ -47,10 +65,21 @@ class UserControllerImplSpec extends Specification {
 
     MockMvc mockMvc
     UserService userService = Mock(UserService)
-    UserController userController = new UserControllerImpl(userService)
+    UserProfileService userProfileService = Mock(UserProfileService)
+    UserImportService userImportService = Mock(UserImportService)
+    UserSearchService userSearchService = Mock(UserSearchService)
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    TokenService tokenService = Stub(TokenService) {
+        generate(_) >> "token456"
+    }
+    IdempotencyServiceImpl idempotencyService = new IdempotencyServiceImpl(
+            new MemoryIdempotencyStore(meterRegistry, 100, Duration.ofHours(1)), tokenService, meterRegistry,
+            Duration.ofSeconds(1), "idempotency-secret")
+    UserController userController = new UserControllerImpl(userService, userProfileService, userImportService,
+                                                           userSearchService, idempotencyService, new ObjectMapper())
 
     def setup() {
-        mockMvc = MockMvcBuilders.standaloneSetup(userController).build()
+        mockMvc = MockMvcBuilders.standaloneSetup(userController).setControllerAdvice(new ApiExceptionAdviser()).build()
     }
 
     /**
@@ -176,4 +205,187 @@ class UserControllerImplSpec extends Specification {
             "validName"   | ""                      | "validPassword123!"                             | HttpStatus.BAD_REQUEST // Email is blank
             "validName"   | "jane.doe@nisum.com"    | null                                            | HttpStatus.BAD_REQUEST // Password is null
     }
-}
\ No newline at end of file
+
+    def "should answer conflict when the email is already registered"() {
+        given:
+            userService.create(_) >> { throw new DuplicateEmailException(Constants.EMAIL_ALREADY_EXISTS) }
+        when:
+            def response = mockMvc.perform(post("/api/users")
+                    .contentType(Constants.USER_V1_MEDIA_TYPE)
+                    .content('{"name":"asdf","email":"jane.doe@nisum.com","password":"bkPnVny19ZHaALrz8UsL/SRSKdJBNr3iuvBiaclhmmI=","phones":[]}'))
+                    .andReturn()
+        then:
+            response.response.status == 409
+            response.response.contentAsString.contains(Constants.EMAIL_ALREADY_EXISTS)
+    }
+
+    def "should replay the original response with a fresh token to a retry with the same Idempotency-Key"() {
+        given:
+            def userRecord = new UserRecord("user-key", "2023-09-22T12:00:00Z", "2023-09-22T12:00:00Z", null, "token123", true)
+            def signUp = post("/api/users")
+                    .contentType(Constants.USER_V1_MEDIA_TYPE)
+                    .header(Constants.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                    .content('{"name":"asdf","email":"jane.doe@nisum.com","password":"bkPnVny19ZHaALrz8UsL/SRSKdJBNr3iuvBiaclhmmI=","phones":[]}')
+        when:
+            def first = mockMvc.perform(signUp).andReturn()
+            def retry = mockMvc.perform(signUp).andReturn()
+        then:
+            1 * userService.create(_) >> userRecord
+            retry.response.status == 201
+            retry.response.getHeader("Location") == "http://localhost/api/users/user-key"
+            first.response.contentAsString.contains('"token":"token123"')
+            retry.response.contentAsString == first.response.contentAsString.replace("token123", "token456")
+            meterRegistry.get("idempotency.requests").tag("outcome", "replayed").counter().count() == 1
+    }
+
+    def "should reject an Idempotency-Key reused with another email"() {
+        given:
+            userService.create(_) >> new UserRecord("user-key", "2023-09-22T12:00:00Z", "2023-09-22T12:00:00Z", null, "token123", true)
+            mockMvc.perform(post("/api/users")
+                    .contentType(Constants.USER_V1_MEDIA_TYPE)
+                    .header(Constants.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                    .content('{"name":"asdf","email":"jane.doe@nisum.com","password":"bkPnVny19ZHaALrz8UsL/SRSKdJBNr3iuvBiaclhmmI=","phones":[]}'))
+        when:
+            def response = mockMvc.perform(post("/api/users")
+                    .contentType(Constants.USER_V1_MEDIA_TYPE)
+                    .header(Constants.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                    .content('{"name":"asdf","email":"john.doe@nisum.com","password":"bkPnVny19ZHaALrz8UsL/SRSKdJBNr3iuvBiaclhmmI=","phones":[]}'))
+                    .andReturn()
+        then:
+            response.response.status == 422
+            response.response.contentAsString.contains(Constants.IDEMPOTENCY_KEY_REUSED)
+    }
+
+    def "should reject an Idempotency-Key reused with the same email and another password"() {
+        given:
+            userService.create(_) >> new UserRecord("user-key", "2023-09-22T12:00:00Z", "2023-09-22T12:00:00Z", null, "token123", true)
+            mockMvc.perform(post("/api/users")
+                    .contentType(Constants.USER_V1_MEDIA_TYPE)
+                    .header(Constants.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                    .content('{"name":"asdf","email":"jane.doe@nisum.com","password":"bkPnVny19ZHaALrz8UsL/SRSKdJBNr3iuvBiaclhmmI=","phones":[]}'))
+        when:
+            def response = mockMvc.perform(post("/api/users")
+                    .contentType(Constants.USER_V1_MEDIA_TYPE)
+                    .header(Constants.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                    .content('{"name":"asdf","email":"jane.doe@nisum.com","password":"Xh3kPq9Z+vLm2WtR8yNc4BsDf7GjUe1Ao=","phones":[]}'))
+                    .andReturn()
+        then:
+            response.response.status == 422
+            response.response.contentAsString.contains(Constants.IDEMPOTENCY_KEY_REUSED)
+            meterRegistry.get("idempotency.requests").tag("outcome", "rejected").counter().count() == 1
+    }
+
+    def "should login with valid credentials and return OK HTTP Response code"() {
+        given:
+            def userRecord = new UserRecord(UUID.randomUUID().toString(), "2023-09-22T12:00:00Z", "2023-09-22T12:00:00Z",
+                                            "2023-09-23T12:00:00Z", "token123", true)
+            userService.login(new LoginDTO("jane.doe@nisum.com", "bkPnVny19ZHaALrz8UsL")) >> userRecord
+        when:
+            def response = mockMvc.perform(post("/api/users/login")
+                    .contentType(Constants.USER_V1_MEDIA_TYPE)
+                    .content('{"email":"jane.doe@nisum.com","password":"bkPnVny19ZHaALrz8UsL"}'))
+                    .andReturn()
+        then:
+            response.response.status == 200
+            response.response.contentAsString.contains("token123")
+    }
+
+    def "should not login without a password"() {
+        when:
+            def response = mockMvc.perform(post("/api/users/login")
+                    .contentType(Constants.USER_V1_MEDIA_TYPE)
+                    .content('{"email":"jane.doe@nisum.com"}'))
+                    .andReturn()
+        then:
+            response.response.status == 400
+            0 * userService.login(_)
+    }
+
+    def "should get a user by id with a strong ETag"() {
+        given:
+            userProfileService.find("user-key") >> new UserProfileRecord("user-key", "Jane Doe", "jane.doe@nisum.com",
+                                                                         "2023-09-22T12:00:00", "2023-09-22T12:30:00.123456", true)
+        when:
+            def response = mockMvc.perform(get("/api/users/user-key").accept(Constants.USER_V1_MEDIA_TYPE)).andReturn()
+        then:
+            response.response.status == 200
+            response.response.getHeader("ETag") == '"20230922123000123456"'
+            response.response.getHeader("Cache-Control") == "no-cache, private"
+            response.response.contentAsString.contains("jane.doe@nisum.com")
+    }
+
+    def "should answer not modified when the ETag still matches"() {
+        given:
+            userProfileService.find("user-key") >> new UserProfileRecord("user-key", "Jane Doe", "jane.doe@nisum.com",
+                                                                         "2023-09-22T12:00:00", "2023-09-22T12:30:00.123456", true)
+        when:
+            def response = mockMvc.perform(get("/api/users/user-key")
+                    .accept(Constants.USER_V1_MEDIA_TYPE)
+                    .header("If-None-Match", '"20230922123000123456"'))
+                    .andReturn()
+        then:
+            response.response.status == 304
+            response.response.contentAsString.isEmpty()
+    }
+
+    def "should answer not found for an unknown user"() {
+        given:
+            userProfileService.find("missing") >> { throw new UserNotFoundException(Constants.USER_NOT_FOUND) }
+        when:
+            def response = mockMvc.perform(get("/api/users/missing").accept(Constants.USER_V1_MEDIA_TYPE)).andReturn()
+        then:
+            response.response.status == 404
+    }
+
+    def "should list users with the filters and the token of the next page"() {
+        given:
+            def profile = new UserProfileRecord("user-key", "Jane Doe", "jane.doe@nisum.com",
+                                                "2023-09-22T12:00:00", "2023-09-22T12:30:00", true)
+        when:
+            def response = mockMvc.perform(get("/api/users")
+                    .param("email", "jane")
+                    .param("createdFrom", "2023-09-01T00:00:00")
+                    .param("limit", "1")
+                    .param("after", "AAAAAAAAAAE")
+                    .accept(Constants.USER_V1_MEDIA_TYPE))
+                    .andReturn()
+        then:
+            1 * userSearchService.search("jane", LocalDateTime.parse("2023-09-01T00:00:00"), null, 1, "AAAAAAAAAAE") >>
+                    new UserPageRecord([profile], "AAAAAAAAAAI")
+            response.response.status == 200
+            response.response.contentAsString.contains('"next":"AAAAAAAAAAI"')
+            response.response.contentAsString.contains("jane.doe@nisum.com")
+    }
+
+    def "should answer bad request for an out of range limit"() {
+        given:
+            userSearchService.search(null, null, null, 1000, null) >> {
+                throw new IllegalArgumentException(Constants.PAGE_LIMIT_INVALID + 100)
+            }
+        when:
+            def response = mockMvc.perform(get("/api/users").param("limit", "1000").accept(Constants.USER_V1_MEDIA_TYPE)).andReturn()
+        then:
+            response.response.status == 400
+    }
+
+    def "should stream one NDJSON line per imported record"() {
+        given:
+            userImportService.importUsers(_, _) >> { args ->
+                args[1].accept([ImportResultRecord.created(0, "a@nisum.com", "user-key"),
+                                ImportResultRecord.duplicate(1, "b@nisum.com")])
+                2L
+            }
+        when:
+            def started = mockMvc.perform(post("/api/users/import")
+                    .contentType("application/x-ndjson")
+                    .content('{"email":"a@nisum.com"}\n{"email":"b@nisum.com"}'))
+                    .andReturn()
+            def response = mockMvc.perform(asyncDispatch(started)).andReturn()
+        then:
+            response.response.status == 200
+            response.response.contentAsString.readLines() == [
+                    '{"index":0,"email":"a@nisum.com","status":"created","id":"user-key"}',
+                    '{"index":1,"email":"b@nisum.com","status":"duplicate","message":"Email already exists"}'
+            ]
+    }
+}
@@ -0,0 +1,72 @@
+package com.nisum.oppenheimer.api.restful.converters
+
+import com.nisum.oppenheimer.api.restful.controllers.dto.LoginDTO
+import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO
+import com.nisum.oppenheimer.config.JacksonConfig
+import com.nisum.oppenheimer.service.record.UserRecord
+import com.nisum.oppenheimer.util.Constants
+import org.springframework.http.MediaType
+import org.springframework.http.converter.HttpMessageNotReadableException
+import org.springframework.mock.http.MockHttpInputMessage
+import org.springframework.mock.http.MockHttpOutputMessage
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.nio.charset.StandardCharsets
+
+/**
+ * Spock Specification for the sign-up message converter.
+ */
+class UserJsonHttpMessageConverterSpec extends Specification {
+
+    static final MediaType USER_V1 = MediaType.parseMediaType(Constants.USER_V1_MEDIA_TYPE)
+
+    @Subject
+    UserJsonHttpMessageConverter converter =
+            new UserJsonHttpMessageConverter(JacksonConfig.objectMapperBuilder(false, true).build())
+
+    def "should only handle sign-up requests and responses"() {
+        expect:
+            converter.canRead(UserDTO, USER_V1)
+            converter.canWrite(UserRecord, USER_V1)
+            !converter.canWrite(UserDTO, USER_V1)
+            !converter.canRead(UserRecord, USER_V1)
+            !converter.canRead(LoginDTO, USER_V1)
+            !converter.canRead(UserDTO, MediaType.TEXT_PLAIN)
+    }
+
+    def "should read a sign-up request"() {
+        given:
+            def input = new MockHttpInputMessage('''{"name":"Juan","email":"juan@rodriguez.org","password":"Hunter2@Secret",
+                                                     "phones":[{"number":"1234567","citycode":"1","countrycode":"57"}]}'''
+                                                         .getBytes(StandardCharsets.UTF_8))
+        when:
+            def dto = converter.read(UserDTO, input) as UserDTO
+        then:
+            dto.email == "juan@rodriguez.org"
+            dto.phones.size() == 1
+    }
+
+    def "should reject unknown properties"() {
+        given:
+            def input = new MockHttpInputMessage('{"name":"Juan","admin":true}'.getBytes(StandardCharsets.UTF_8))
+        when:
+            converter.read(UserDTO, input)
+        then:
+            thrown(HttpMessageNotReadableException)
+    }
+
+    def "should write a compact response with its length"() {
+        given:
+            def output = new MockHttpOutputMessage()
+            def record = new UserRecord("key", "2024-10-16T10:15:30", "2024-10-16T10:15:30", "2024-10-16T10:15:30", "token", true)
+        when:
+            converter.write(record, USER_V1, output)
+        then:
+            def body = output.getBodyAsString(StandardCharsets.UTF_8)
+            !body.contains("\n")
+            body.contains('"token":"token"')
+            output.headers.getContentLength() == body.getBytes(StandardCharsets.UTF_8).length
+            output.headers.getContentType().isCompatibleWith(USER_V1)
+    }
+}
@@ -0,0 +1,77 @@
+package com.nisum.oppenheimer.api.restful.filters
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import jakarta.servlet.FilterChain
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+
+class ConcurrencyLimitFilterSpec extends Specification {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(50), Duration.ofSeconds(2), meterRegistry)
+
+    def "should pass requests through while permits are available"() {
+        given:
+            def chain = Mock(FilterChain)
+            def response = new MockHttpServletResponse()
+        when:
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/users"), response, chain)
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/users"), response, chain)
+        then:
+            2 * chain.doFilter(_, _)
+            response.status == 200
+            meterRegistry.get("http.server.concurrency.active").gauge().value() == 0
+    }
+
+    @Timeout(5)
+    def "should reject with 503 and Retry-After when no permit frees up in time"() {
+        given:
+            def entered = new CountDownLatch(1)
+            def release = new CountDownLatch(1)
+            def executor = Executors.newSingleThreadExecutor()
+            def holding = executor.submit {
+                filter.doFilter(new MockHttpServletRequest("POST", "/api/users"), new MockHttpServletResponse(),
+                                { req, res -> entered.countDown(); release.await() } as FilterChain)
+            }
+            entered.await()
+            def response = new MockHttpServletResponse()
+            def chain = Mock(FilterChain)
+        when:
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/users"), response, chain)
+        then:
+            0 * chain.doFilter(_, _)
+            response.status == 503
+            response.getHeader("Retry-After") == "2"
+            meterRegistry.get("http.server.concurrency.rejected").counter().count() == 1
+        cleanup:
+            release.countDown()
+            holding.get()
+            executor.shutdown()
+    }
+
+    def "should hold the permit of an async request until it completes"() {
+        given:
+            def request = new MockHttpServletRequest("POST", "/api/users/import")
+            request.asyncSupported = true
+            def rejected = new MockHttpServletResponse()
+        when:
+            filter.doFilter(request, new MockHttpServletResponse(), { req, res -> req.startAsync() } as FilterChain)
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/users"), rejected, Mock(FilterChain))
+        then:
+            meterRegistry.get("http.server.concurrency.active").gauge().value() == 1
+            rejected.status == 503
+        when:
+            request.asyncContext.complete()
+            def admitted = new MockHttpServletResponse()
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/users"), admitted, Mock(FilterChain))
+        then:
+            admitted.status == 200
+            meterRegistry.get("http.server.concurrency.active").gauge().value() == 0
+    }
+}
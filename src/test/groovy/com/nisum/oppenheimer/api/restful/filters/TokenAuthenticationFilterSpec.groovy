@@ -0,0 +1,118 @@
+package com.nisum.oppenheimer.api.restful.filters
+
+import com.nisum.oppenheimer.service.spec.TokenAuthenticationService
+import com.nisum.oppenheimer.util.Constants
+import jakarta.servlet.FilterChain
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import spock.lang.Specification
+
+class TokenAuthenticationFilterSpec extends Specification {
+
+    TokenAuthenticationService tokenAuthenticationService = Mock(TokenAuthenticationService)
+    TokenAuthenticationFilter filter = new TokenAuthenticationFilter(tokenAuthenticationService, Set.of("admin@nisum.com"),
+                                                                      Set.of("support@nisum.com"))
+
+    def "should expose the subject of a valid token"() {
+        given:
+            def request = request("GET", "/api/users/user-key", "Bearer signed-jwt")
+            def chain = Mock(FilterChain)
+        when:
+            filter.doFilter(request, new MockHttpServletResponse(), chain)
+        then:
+            1 * tokenAuthenticationService.authenticate("signed-jwt") >> Optional.of("support@nisum.com")
+            1 * chain.doFilter(_, _)
+            request.getAttribute(Constants.AUTHENTICATED_SUBJECT_ATTRIBUTE) == "support@nisum.com"
+    }
+
+    def "should answer unauthorized to a missing or blank bearer token without validating it"() {
+        given:
+            def response = new MockHttpServletResponse()
+            def chain = Mock(FilterChain)
+        when:
+            filter.doFilter(request("GET", "/api/users/user-key", header), response, chain)
+        then:
+            0 * tokenAuthenticationService.authenticate(_)
+            0 * chain.doFilter(_, _)
+            response.status == 401
+            response.getHeader("WWW-Authenticate") == "Bearer"
+        where:
+            header << [null, "Basic abc", "Bearer ", "Bearer    "]
+    }
+
+    def "should answer unauthorized to an invalid token"() {
+        given:
+            def response = new MockHttpServletResponse()
+        when:
+            filter.doFilter(request("GET", "/api/users/user-key", "Bearer forged"), response, Mock(FilterChain))
+        then:
+            1 * tokenAuthenticationService.authenticate("forged") >> Optional.empty()
+            response.status == 401
+    }
+
+    def "should only let the allowed subjects import users"() {
+        given:
+            def response = new MockHttpServletResponse()
+            def chain = Mock(FilterChain)
+            tokenAuthenticationService.authenticate("signed-jwt") >> Optional.of(subject)
+        when:
+            filter.doFilter(request("POST", "/api/users/import", "Bearer signed-jwt"), response, chain)
+        then:
+            (allowed ? 1 : 0) * chain.doFilter(_, _)
+            response.status == (allowed ? 200 : 403)
+        where:
+            subject              | allowed
+            "admin@nisum.com"    | true
+            "jane.doe@nisum.com" | false
+    }
+
+    def "should refuse the listing and lookup of users to a self-registered token"() {
+        given:
+            def response = new MockHttpServletResponse()
+            def chain = Mock(FilterChain)
+            tokenAuthenticationService.authenticate("signed-jwt") >> Optional.of("jane.doe@nisum.com")
+        when:
+            filter.doFilter(request("GET", path, "Bearer signed-jwt"), response, chain)
+        then:
+            0 * chain.doFilter(_, _)
+            response.status == 403
+        where:
+            path << ["/api/users", "/api/users/user-key"]
+    }
+
+    def "should only let the allowed subjects list and look up users"() {
+        given:
+            def response = new MockHttpServletResponse()
+            def chain = Mock(FilterChain)
+            tokenAuthenticationService.authenticate("signed-jwt") >> Optional.of(subject)
+        when:
+            filter.doFilter(request("GET", "/api/users", "Bearer signed-jwt"), response, chain)
+        then:
+            (allowed ? 1 : 0) * chain.doFilter(_, _)
+            response.status == (allowed ? 200 : 403)
+        where:
+            subject             | allowed
+            "support@nisum.com" | true
+            "admin@nisum.com"   | false
+    }
+
+    def "should leave sign-up and login public"() {
+        given:
+            def chain = Mock(FilterChain)
+        when:
+            filter.doFilter(request("POST", path, null), new MockHttpServletResponse(), chain)
+        then:
+            1 * chain.doFilter(_, _)
+            0 * tokenAuthenticationService.authenticate(_)
+        where:
+            path << ["/api/users", "/api/users/login"]
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String authorization) {
+        def request = new MockHttpServletRequest(method, path)
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization)
+        }
+        request
+    }
+}
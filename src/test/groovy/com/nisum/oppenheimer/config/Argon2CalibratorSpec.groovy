@@ -0,0 +1,55 @@
+package com.nisum.oppenheimer.config
+
+import org.springframework.test.context.ActiveProfiles
+import spock.lang.Specification
+
+import java.time.Duration
+
+/**
+ * Argon2CalibratorSpec is a Spock specification for testing the
+ * {@link Argon2Calibrator} class.
+ *
+ * <p>
+ * The tests use very small memory costs so that the calibration stays fast,
+ * and check that the calibrator picks the strongest parameters under a generous
+ * latency target and falls back to the floor under an impossible one.
+ * </p>
+ */
+@ActiveProfiles("test")
+class Argon2CalibratorSpec extends Specification {
+
+    Argon2Settings base = new Argon2Settings(16, 32, 1, 64, 1)
+
+    def "should pick the memory ceiling and max iterations when the target is generous"() {
+        given:
+            def calibrator = new Argon2Calibrator(Duration.ofSeconds(5), 8, 64, 3, 2)
+        when:
+            def settings = calibrator.calibrate(base)
+        then:
+            settings.memory() == 64
+            settings.iterations() == 3
+            settings.saltLength() == base.saltLength()
+            settings.parallelism() == base.parallelism()
+    }
+
+    def "should fall back to the memory floor and a single iteration when the target cannot be met"() {
+        given:
+            def calibrator = new Argon2Calibrator(Duration.ZERO, 8, 64, 3, 2)
+        when:
+            def settings = calibrator.calibrate(base)
+        then:
+            settings.memory() == 8
+            settings.iterations() == 1
+    }
+
+    def "should keep verifying hashes created with weaker settings and flag them for upgrade"() {
+        given:
+            def weak = base.withCost(8, 1).toEncoder()
+            def strong = base.withCost(64, 2).toEncoder()
+            def hash = weak.encode("@Password123")
+        expect:
+            strong.matches("@Password123", hash)
+            strong.upgradeEncoding(hash)
+            !strong.upgradeEncoding(strong.encode("@Password123"))
+    }
+}
@@ -0,0 +1,38 @@
+package com.nisum.oppenheimer.config
+
+import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO
+import com.nisum.oppenheimer.model.id.TimeOrderedIdentifierGenerator
+import com.nisum.oppenheimer.service.record.ImportResultRecord
+import org.springframework.aot.hint.RuntimeHints
+import org.springframework.aot.hint.TypeReference
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates
+import spock.lang.Specification
+
+/**
+ * Spock Specification for the native image hints, checked on the JVM.
+ */
+class NativeRuntimeHintsSpec extends Specification {
+
+    RuntimeHints hints = new RuntimeHints()
+
+    def setup() {
+        new NativeRuntimeHints().registerHints(hints, getClass().classLoader)
+    }
+
+    def "should include the Liquibase changelog"() {
+        expect:
+            RuntimeHintsPredicates.resource().forResource("db/changelog.sql").test(hints)
+    }
+
+    def "should let Hibernate instantiate the id generator"() {
+        expect:
+            RuntimeHintsPredicates.reflection().onType(TimeOrderedIdentifierGenerator).test(hints)
+    }
+
+    def "should register the JSON bodies and the JWT serializers for binding"() {
+        expect:
+            RuntimeHintsPredicates.reflection().onType(UserDTO).test(hints)
+            RuntimeHintsPredicates.reflection().onType(ImportResultRecord).test(hints)
+            RuntimeHintsPredicates.reflection().onType(TypeReference.of("com.auth0.jwt.impl.PayloadDeserializer")).test(hints)
+    }
+}
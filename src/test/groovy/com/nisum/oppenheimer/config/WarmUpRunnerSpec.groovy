@@ -0,0 +1,97 @@
+package com.nisum.oppenheimer.config
+
+import com.nisum.oppenheimer.model.User
+import com.nisum.oppenheimer.model.id.TimeOrderedIdGenerator
+import com.nisum.oppenheimer.repository.UserRepository
+import com.nisum.oppenheimer.service.record.IssuedToken
+import com.nisum.oppenheimer.service.record.OutboxEventRecord
+import com.nisum.oppenheimer.service.spec.LastLoginService
+import com.nisum.oppenheimer.service.spec.OutboxService
+import com.nisum.oppenheimer.service.spec.PasswordHashService
+import com.nisum.oppenheimer.service.spec.TokenService
+import com.nisum.oppenheimer.service.spec.UserProfileService
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import jakarta.validation.Validation
+import org.springframework.boot.DefaultApplicationArguments
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.SimpleTransactionStatus
+import org.springframework.transaction.support.TransactionTemplate
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Duration
+import java.time.LocalDateTime
+
+/**
+ * Spock Specification for the startup warm-up.
+ */
+class WarmUpRunnerSpec extends Specification {
+
+    UserRepository userRepository = Mock(UserRepository)
+    PasswordHashService passwordHashService = Mock(PasswordHashService)
+    TokenService tokenService = Mock(TokenService)
+    JdbcTemplate jdbcTemplate = Mock(JdbcTemplate)
+    OutboxService outboxService = Mock(OutboxService) {
+        userCreated(_) >> { User user -> new OutboxEventRecord(1L, user.xkey, OutboxEventRecord.USER_CREATED, '{}', LocalDateTime.now()) }
+    }
+    PlatformTransactionManager transactionManager = Mock(PlatformTransactionManager)
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+
+    def "should sign up synthetic users in rolled-back transactions and exercise the token service"() {
+        given:
+            def runner = runner(3, Duration.ofMinutes(1))
+        when:
+            runner.run(new DefaultApplicationArguments())
+        then:
+            // The insert joins the warm-up transaction, which is committed as rollback-only
+            6 * transactionManager.getTransaction(_) >>> [new SimpleTransactionStatus(true), new SimpleTransactionStatus(false)] * 3
+            3 * userRepository.existsByEmail({ it.endsWith("@warmup.invalid") }) >> false
+            3 * passwordHashService.encode("WarmUp@Password1") >> "hash"
+            3 * tokenService.issue(_) >> new IssuedToken("signed-jwt", "token-id")
+            3 * userRepository.save(_) >> { User user -> user }
+            3 * userRepository.flush()
+            3 * tokenService.verify("signed-jwt") >> true
+            3 * tokenService.generate(_) >> "fresh-token"
+            3 * tokenService.validate("fresh-token") >> Optional.empty()
+            3 * transactionManager.commit({ it.newTransaction && it.rollbackOnly })
+            3 * transactionManager.commit({ !it.newTransaction })
+            meterRegistry.get("application.warmup.iterations").gauge().value() == 3
+    }
+
+    def "should keep synthetic sign-ups out of the sign-up and email index metrics"() {
+        given:
+            def runner = runner(2, Duration.ofMinutes(1))
+            transactionManager.getTransaction(_) >> { new SimpleTransactionStatus() }
+            passwordHashService.encode(_) >> "hash"
+            tokenService.issue(_) >> new IssuedToken("signed-jwt", "token-id")
+            userRepository.save(_) >> { User user -> user }
+        when:
+            runner.run(new DefaultApplicationArguments())
+        then:
+            0 * jdbcTemplate._
+            meterRegistry.find("user.email.index.lookups").counters().isEmpty()
+            meterRegistry.find("user.email.index.memory").gauges().isEmpty()
+            meterRegistry.find("user.signup.outcome").counters().isEmpty()
+            meterRegistry.find("user.signup.stage").timers().isEmpty()
+            meterRegistry.get("application.warmup.iterations").gauge().value() == 2
+    }
+
+    def "should stop once the time budget is spent"() {
+        given:
+            def runner = runner(1000, Duration.ZERO)
+        when:
+            runner.run(new DefaultApplicationArguments())
+        then:
+            0 * userRepository.save(_)
+            meterRegistry.get("application.warmup.duration").timeGauge() != null
+    }
+
+    private WarmUpRunner runner(int iterations, Duration timeBudget) {
+        new WarmUpRunner(userRepository, passwordHashService, tokenService, Mock(LastLoginService),
+                         new TimeOrderedIdGenerator(0, Clock.systemUTC()), Mock(UserProfileService),
+                         jdbcTemplate, outboxService, Validation.buildDefaultValidatorFactory().validator,
+                         new TransactionTemplate(transactionManager), meterRegistry,
+                         iterations, timeBudget, 1)
+    }
+}
@@ -13,7 +13,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull
  * Spock Specification for auditing functionality in entities that extend Auditable.
  *
  * This specification tests the automatic setting of created and modified timestamps
- * for User, Token, and Phone entities upon persistence.
+ * for User entities upon persistence.
  */
 @DataJpaTest
 @ActiveProfiles("test")
@@ -49,7 +49,7 @@ class AuditableSpec extends Specification {
             def user = new User(xkey: "user1",
                                 name: "John Doe",
                                 email: "john@nisum.com",
-                                token: UUID.randomUUID().toString(),
+                                tokenId: "token-id",
                                 password: "password")
         when:
             entityManager.persist(user)
@@ -62,52 +62,6 @@ class AuditableSpec extends Specification {
             user.created.isBefore(user.modified)
     }
 
-    /**
-     * Tests that the created and modified timestamps are correctly set
-     * when a Phone entity is persisted.
-     *
-     * <p>
-     * Given a User object and a Phone object with valid attributes:
-     * <ul>
-     *     <li>xkey: "phone1"</li>
-     *     <li>number: 1234567890L</li>
-     *     <li>cityCode: 1</li>
-     *     <li>countryCode: 1</li>
-     *     <li>user: the User object created above</li>
-     * </ul>
-     *
-     * When the Phone is persisted, the test expects that:
-     * <ul>
-     *     <li>The created timestamp is not null.</li>
-     *     <li>The modified timestamp is not null.</li>
-     *     <li>The created timestamp is before the modified timestamp.</li>
-     * </ul>
-     * </p>
-     */
-    @Transactional
-    def "should set created and modified timestamps on persist for Phone"() {
-        given:
-            def user = new User(xkey: "user1",
-                    name: "John Doe",
-                    email: "john@nisum.com",
-                    token: UUID.randomUUID().toString(),
-                    password: "password")
-            entityManager.persist(user)
-
-            def phone = new Phone(xkey: "phone1", number: 1234567890L, cityCode: 1, countryCode: 1, user: user)
-
-        when:
-            entityManager.persist(phone)
-            entityManager.flush()
-
-        then:
-            assertNotNull(user)
-            assertNotNull(phone)
-            phone.created != null
-            phone.modified != null
-            phone.created.isBefore(phone.modified)
-    }
-
     /**
      * Tests that the modified timestamp is set correctly when a User entity is updated.
      *
@@ -135,7 +89,7 @@ class AuditableSpec extends Specification {
         def user = new User(xkey: "user1",
                 name: "John Doe",
                 email: "john@nisum.com",
-                token: UUID.randomUUID().toString(),
+                tokenId: "token-id",
                 password: "password")
             entityManager.persist(user)
             entityManager.flush()
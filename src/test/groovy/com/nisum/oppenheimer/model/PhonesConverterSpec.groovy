@@ -0,0 +1,46 @@
+package com.nisum.oppenheimer.model
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+/**
+ * Spock Specification for the PhonesConverter.
+ *
+ * <p>
+ * The tests verify the column format, that phones survive a round trip in order,
+ * and that a user without phones is stored as null.
+ * </p>
+ */
+class PhonesConverterSpec extends Specification {
+
+    @Subject
+    PhonesConverter converter = new PhonesConverter()
+
+    def "should write the phones in order as one column"() {
+        expect:
+            converter.convertToDatabaseColumn([new Phone(1234567L, (short) 1, (short) 57),
+                                               new Phone(7654321L, (short) 2, (short) 57)]) == "57-1-1234567,57-2-7654321"
+    }
+
+    def "should read back the phones that were written"() {
+        given:
+            def phones = (1..10).collect { new Phone(8093433230L + it, (short) it, (short) 57) }
+        expect:
+            converter.convertToEntityAttribute(converter.convertToDatabaseColumn(phones)) == phones
+    }
+
+    def "should store no phones as null"() {
+        expect:
+            converter.convertToDatabaseColumn(phones) == null
+            converter.convertToEntityAttribute(null) == []
+        where:
+            phones << [null, []]
+    }
+
+    def "should reject a malformed column"() {
+        when:
+            converter.convertToEntityAttribute("57-1234567")
+        then:
+            thrown(IllegalArgumentException)
+    }
+}
@@ -39,7 +39,7 @@ class UserSpec extends Specification {
                             .xkey("unique-key")
                             .name("John Doe")
                             .email("john.doe@nisum.com")
-                            .token(UUID.randomUUID().toString())
+                            .tokenId("token-id")
                             .password("securepassword")
                            .build()
 
@@ -52,7 +52,7 @@ class UserSpec extends Specification {
 
     /**
      * Tests that a User can be created with valid attributes,
-     * and it has associated Phone and Token objects.
+     * and it has associated Phone values.
      *
      * <p>
      * Given a User builder with the following attributes:
@@ -63,15 +63,14 @@ class UserSpec extends Specification {
      *     <li>password: "securepassword" (converted to char array)</li>
      * </ul>
      *
-     * This test creates two associated Phone objects and two associated Token objects.
+     * This test creates two associated Phone values.
      * It expects that the created User object:
      * <ul>
      *     <li>Is not null.</li>
-     *     <li>Has exactly 2 associated Phone objects.</li>
-     *     <li>Has exactly 2 associated Token objects.</li>
+     *     <li>Has exactly 2 associated Phone values, in order.</li>
      * </ul>
      *
-     * Additionally, it verifies that the phone and token details match the expected values.
+     * Additionally, it verifies that the phone details match the expected values.
      * </p>
      */
     def "should create User with valid attributes and associated phones and tokens"() {
@@ -80,12 +79,11 @@ class UserSpec extends Specification {
             def phones = IntStream.rangeClosed(1,2)
                                               .mapToObj({ index ->
                                                  Phone.builder()
-                                                       .xkey(String.format("phone-key-%s",index))
                                                        .number(123456789L+index)
                                                        .cityCode((short) 212)
                                                        .countryCode((short) 1)
                                                       .build()
-                                              }).collect(Collectors.toSet())
+                                              }).collect(Collectors.toList())
 
             def user = User.builder()
                             .xkey("unique-key")
@@ -93,7 +91,7 @@ class UserSpec extends Specification {
                             .email("john.doe@nisum.com")
                             .password("securepassword")
                             .phones(phones)
-                            .token(UUID.randomUUID().toString())
+                            .tokenId("token-id")
                            .build()
 
         expect:
@@ -101,6 +99,6 @@ class UserSpec extends Specification {
             user.phones.size() == 2
 
             and: "Verify phone details"
-            user.phones*.xkey.containsAll(["phone-key-1", "phone-key-2"])
+            user.phones*.number() == [123456790L, 123456791L]
     }
 }
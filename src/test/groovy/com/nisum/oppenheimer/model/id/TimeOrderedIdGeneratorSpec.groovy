@@ -0,0 +1,85 @@
+package com.nisum.oppenheimer.model.id
+
+import org.springframework.test.context.ActiveProfiles
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneOffset
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+import static com.nisum.oppenheimer.model.id.TimeOrderedIdGenerator.MAX_NODE_ID
+
+/**
+ * TimeOrderedIdGeneratorSpec is a Spock specification for testing the
+ * {@link TimeOrderedIdGenerator} class.
+ *
+ * <p>
+ * The tests verify that surrogate ids are unique and increasing even with a frozen
+ * clock or concurrent callers, that they embed the node id, that an instant maps to
+ * the lowest id of its millisecond, and that public keys are valid, time-ordered UUIDv7 values.
+ * </p>
+ */
+@ActiveProfiles("test")
+class TimeOrderedIdGeneratorSpec extends Specification {
+
+    def "should issue increasing ids embedding the node id even when the clock does not move"() {
+        given:
+            def clock = Clock.fixed(Instant.parse("2026-10-16T00:00:00Z"), ZoneOffset.UTC)
+            def generator = new TimeOrderedIdGenerator(5, clock)
+        when: "More ids than fit in one millisecond are requested"
+            def ids = (1..5000).collect { generator.nextId() }
+        then:
+            ids == ids.toSorted()
+            ids.toSet().size() == 5000
+            ids.every { ((it >>> 12) & 0x3FF) == 5 }
+    }
+
+    def "should issue unique ids across concurrent callers"() {
+        given:
+            def generator = new TimeOrderedIdGenerator(1, Clock.systemUTC())
+            def ids = ConcurrentHashMap.newKeySet()
+            def pool = Executors.newFixedThreadPool(8)
+        when:
+            8.times { pool.submit { 10_000.times { ids.add(generator.nextId()) } } }
+            pool.shutdown()
+            pool.awaitTermination(30, TimeUnit.SECONDS)
+        then:
+            ids.size() == 80_000
+    }
+
+    def "should map an instant to a lower bound of the ids issued from then on"() {
+        given:
+            def now = Instant.parse("2026-10-16T00:00:00Z")
+            def generator = new TimeOrderedIdGenerator(MAX_NODE_ID, Clock.fixed(now, ZoneOffset.UTC))
+        when:
+            def id = generator.nextId()
+        then:
+            generator.firstIdAt(now) <= id
+            generator.firstIdAt(now.plusMillis(1)) > id
+            generator.firstIdAt(Instant.parse("2020-01-01T00:00:00Z")) == 0
+            generator.firstIdAt(Instant.MAX) > 0
+    }
+
+    def "should issue UUIDv7 keys ordered by creation time"() {
+        given:
+            def generator = new TimeOrderedIdGenerator(0, Clock.systemUTC())
+        when:
+            def first = generator.nextKey()
+            Thread.sleep(2)
+            def second = generator.nextKey()
+        then:
+            first.version() == 7
+            first.variant() == 2
+            first.toString() < second.toString()
+    }
+
+    def "should reject node ids that do not fit in ten bits"() {
+        when:
+            new TimeOrderedIdGenerator(1024, Clock.systemUTC())
+        then:
+            thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,98 @@
+package com.nisum.oppenheimer.repository
+
+import com.nisum.oppenheimer.config.SecondLevelCacheConfig
+import com.nisum.oppenheimer.model.User
+import jakarta.persistence.EntityManagerFactory
+import org.hibernate.SessionFactory
+import org.hibernate.stat.Statistics
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest
+import org.springframework.context.annotation.Import
+import org.springframework.test.context.ActiveProfiles
+import org.springframework.transaction.annotation.Propagation
+import org.springframework.transaction.annotation.Transactional
+import org.springframework.transaction.support.TransactionTemplate
+import spock.lang.Specification
+
+/**
+ * Spock Specification for the second-level cache behind the UserRepository lookups.
+ *
+ * <p>
+ * Each step commits its own transaction, so the cache is filled and invalidated as in the application.
+ * The tests verify that lookups by email are answered without SQL once cached, and that inserts and
+ * updates are visible to the next lookup.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(SecondLevelCacheConfig)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRepositoryCacheSpec extends Specification {
+
+    @Autowired UserRepository userRepository
+    @Autowired TransactionTemplate transactionTemplate
+    @Autowired EntityManagerFactory entityManagerFactory
+
+    Statistics statistics
+
+    def setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory).statistics
+    }
+
+    def cleanup() {
+        userRepository.deleteAll()
+        entityManagerFactory.cache.evictAll()
+    }
+
+    def "should answer a lookup by email from the natural-id and entity caches"() {
+        given:
+            userRepository.save(user("john.doe@nisum.com", "John Doe"))
+            userRepository.findByEmail("john.doe@nisum.com")
+            statistics.clear()
+        when:
+            def found = userRepository.findByEmail("john.doe@nisum.com")
+        then:
+            found.get().name == "John Doe"
+            statistics.naturalIdCacheHitCount == 1
+            statistics.secondLevelCacheHitCount >= 1
+            statistics.prepareStatementCount == 0
+    }
+
+    def "should cache existence checks until a user is inserted"() {
+        given:
+            statistics.clear()
+        when:
+            def before = [userRepository.existsByEmail("jane.doe@nisum.com"),
+                          userRepository.existsByEmail("jane.doe@nisum.com")]
+            userRepository.save(user("jane.doe@nisum.com", "Jane Doe"))
+            def after = userRepository.existsByEmail("jane.doe@nisum.com")
+        then:
+            before == [false, false]
+            after
+            statistics.queryCacheHitCount == 1
+            statistics.queryCacheMissCount == 2
+    }
+
+    def "should return the updated user after an update"() {
+        given:
+            userRepository.save(user("jim.doe@nisum.com", "Jim Doe"))
+            userRepository.findByEmail("jim.doe@nisum.com")
+        when:
+            transactionTemplate.executeWithoutResult {
+                def stored = userRepository.findByEmail("jim.doe@nisum.com").get()
+                stored.name = "James Doe"
+                userRepository.save(stored)
+            }
+        then:
+            userRepository.findByEmail("jim.doe@nisum.com").get().name == "James Doe"
+    }
+
+    private static User user(String email, String name) {
+        User.builder()
+            .xkey(UUID.randomUUID().toString())
+            .name(name)
+            .email(email)
+            .password("securepassword")
+            .build()
+    }
+}
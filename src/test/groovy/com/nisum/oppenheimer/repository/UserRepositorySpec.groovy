@@ -1,11 +1,22 @@
 package com.nisum.oppenheimer.repository
 
+import com.nisum.oppenheimer.model.Phone
 import com.nisum.oppenheimer.model.User
+import com.nisum.oppenheimer.model.id.TimeOrderedIdGenerator
+import jakarta.persistence.EntityManager
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest
+import org.springframework.data.domain.Limit
+import org.springframework.jdbc.core.JdbcTemplate
 import org.springframework.test.context.ActiveProfiles
 import spock.lang.Specification
 
+
+import java.sql.Timestamp
+import java.time.Clock
+import java.time.LocalDateTime
+import java.time.ZoneOffset
+
 import static org.junit.jupiter.api.Assertions.assertNotNull
 
 /**
@@ -19,6 +30,8 @@ class UserRepositorySpec extends Specification {
 
 
     @Autowired UserRepository userRepository
+    @Autowired EntityManager entityManager
+    @Autowired JdbcTemplate jdbcTemplate
 
     /**
      * Tests the saving of a User and checks for existence by email.
@@ -51,7 +64,7 @@ class UserRepositorySpec extends Specification {
                             .name("John Doe")
                             .email("john.doe@nisum.com")
                             .password("securepassword")
-                            .token(UUID.randomUUID().toString())
+                            .tokenId("token-id")
                            .build()
         when:
             userRepository.save(user as User)
@@ -91,7 +104,7 @@ class UserRepositorySpec extends Specification {
                             .name("John Doe")
                             .email("john.doe@nisum.com")
                             .password("securepassword")
-                            .token(UUID.randomUUID().toString())
+                            .tokenId("token-id")
                            .build()
             userRepository.save(user)
         when:
@@ -126,4 +139,125 @@ class UserRepositorySpec extends Specification {
             assertNotNull(retrievedUser)
             !retrievedUser.isPresent()
     }
+
+    /**
+     * Tests the retrieval of a User summary by its public key.
+     *
+     * <p>
+     * The test expects that the projection carries the user's public fields and that an
+     * unknown key returns an empty result.
+     * </p>
+     */
+    def "should retrieve a user summary by xkey"() {
+        given:
+            def user = User.builder()
+                            .xkey("unique-key")
+                            .name("John Doe")
+                            .email("john.doe@nisum.com")
+                            .password("securepassword")
+                           .build()
+            userRepository.saveAndFlush(user)
+        when:
+            def summary = userRepository.findSummaryByXkey("unique-key")
+        then:
+            summary.isPresent()
+            summary.get().name() == "John Doe"
+            summary.get().email() == "john.doe@nisum.com"
+            summary.get().modified() != null
+            !userRepository.findSummaryByXkey("missing-key").isPresent()
+    }
+
+    /**
+     * Tests that the phones of a User are stored in its row and read back in order.
+     *
+     * <p>
+     * The test saves a User with two phones, clears the persistence context and expects the reloaded
+     * User to carry the same phones, and the {@code phones} column to hold them in the stored format.
+     * </p>
+     */
+    def "should store the phones of a user in its row"() {
+        given:
+            def phones = [new Phone(8093433232L, (short) 1, (short) 57), new Phone(8093433233L, (short) 1, (short) 57)]
+            def user = userRepository.saveAndFlush(User.builder()
+                                                       .xkey("unique-key")
+                                                       .name("John Doe")
+                                                       .email("john.doe@nisum.com")
+                                                       .password("securepassword")
+                                                       .phones(phones)
+                                                      .build())
+            entityManager.clear()
+        when:
+            def retrievedUser = userRepository.findById(user.id)
+        then:
+            retrievedUser.get().phones == phones
+            jdbcTemplate.queryForObject("SELECT phones FROM users WHERE id = ?", String, user.id) ==
+                    "57-1-8093433232,57-1-8093433233"
+    }
+
+    /**
+     * Tests the keyset pagination of the user listing.
+     *
+     * <p>
+     * The test saves three users and expects the pages to follow the id order, each one resuming after
+     * the last id of the previous page, with the email filter and the id bounds applied.
+     * </p>
+     */
+    def "should page through users after the last id with filters"() {
+        given:
+            def users = ["ann", "bob", "anna"].collect { name ->
+                userRepository.saveAndFlush(User.builder()
+                                                .xkey(name + "-key")
+                                                .name(name)
+                                                .email(name + "@nisum.com")
+                                                .password("securepassword")
+                                               .build())
+            }
+            def ids = users*.id
+        when:
+            def first = userRepository.findPage(0, Long.MAX_VALUE, null, null, "%", Limit.of(2))
+            def second = userRepository.findPage(first.last().id, Long.MAX_VALUE, null, null, "%", Limit.of(2))
+            def prefixed = userRepository.findPage(0, Long.MAX_VALUE, null, null, "ann%", Limit.of(10))
+            def bounded = userRepository.findPage(ids[0], ids[2], null, null, "%", Limit.of(10))
+        then:
+            ids == ids.toSorted()
+            first*.id == ids.take(2)
+            first*.xkey == ["ann-key", "bob-key"]
+            second*.id == [ids[2]]
+            prefixed*.email == ["ann@nisum.com", "anna@nisum.com"]
+            bounded*.id == [ids[1]]
+    }
+
+    /**
+     * Tests the created range of the user listing.
+     *
+     * <p>
+     * The id range only narrows the scan, a little wider than the created range: the test expects the rows of
+     * the id range to be kept by their creation time, even when their id falls past the end of the range, and
+     * a user with a sequence id from before ids were time ordered to only match a range without a lower bound.
+     * </p>
+     */
+    def "should apply the exact created range to the rows of the id range"() {
+        given:
+            def generator = new TimeOrderedIdGenerator(0, Clock.systemUTC())
+            def idAt = { String time -> generator.firstIdAt(LocalDateTime.parse(time).toInstant(ZoneOffset.UTC)) }
+            insert(7, "legacy", "2026-10-10T12:00:00")
+            insert(idAt("2026-10-10T11:59:59.800") + 1, "early", "2026-10-10T11:59:59.900")
+            insert(idAt("2026-10-10T12:00:00.200") + 1, "inside", "2026-10-10T12:00:00.100")
+            insert(idAt("2026-10-10T13:00:00.300") + 1, "skewed", "2026-10-10T12:59:59.900")
+            def from = LocalDateTime.parse("2026-10-10T12:00:00")
+            def to = LocalDateTime.parse("2026-10-10T13:00:00")
+        when:
+            def range = userRepository.findPage(idAt("2026-10-10T11:59:59") - 1, idAt("2026-10-10T13:00:01"), from, to,
+                                                "%", Limit.of(10))
+            def upTo = userRepository.findPage(0, idAt("2026-10-10T13:00:01"), null, to, "%", Limit.of(10))
+        then:
+            range*.email == ["inside@nisum.com", "skewed@nisum.com"]
+            upTo*.email == ["legacy@nisum.com", "early@nisum.com", "inside@nisum.com", "skewed@nisum.com"]
+    }
+
+    private void insert(long id, String name, String created) {
+        def time = Timestamp.valueOf(LocalDateTime.parse(created))
+        jdbcTemplate.update("INSERT INTO users (id, created, modified, xkey, name, email, password) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                            id, time, time, name + "-key", name, name + "@nisum.com", "securepassword")
+    }
 }
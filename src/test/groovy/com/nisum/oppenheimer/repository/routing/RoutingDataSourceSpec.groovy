@@ -0,0 +1,145 @@
+package com.nisum.oppenheimer.repository.routing
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.datasource.DataSourceTransactionManager
+import org.springframework.jdbc.datasource.DriverManagerDataSource
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy
+import org.springframework.transaction.support.TransactionTemplate
+import spock.lang.Specification
+
+import java.sql.Timestamp
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneId
+
+/**
+ * RoutingDataSourceSpec is a Spock specification for testing the
+ * {@link RoutingDataSource}, {@link ReplicaRouting} and {@link ReplicaLagMonitor} classes.
+ *
+ * <p>
+ * Two H2 databases stand for the primary and the replica; each one knows its own name, so a query shows where
+ * a transaction was routed. The tests verify that read-only transactions use the replica only while its lag is
+ * within tolerance, and that recent writes and explicit requests stick to the primary.
+ * </p>
+ */
+class RoutingDataSourceSpec extends Specification {
+
+    static final Instant NOW = Instant.parse("2025-01-01T12:00:10Z")
+
+    DriverManagerDataSource primary = database("routing-primary")
+    DriverManagerDataSource replica = database("routing-replica")
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    ReplicaRouting replicaRouting = new ReplicaRouting(meterRegistry, true, Duration.ofSeconds(2),
+                                                       Duration.ofSeconds(5), 100)
+    JdbcTemplate jdbcTemplate
+    TransactionTemplate readOnly
+    TransactionTemplate readWrite
+
+    def setup() {
+        new JdbcTemplate(primary).update("MERGE INTO node (id, name) VALUES (1, 'primary')")
+        new JdbcTemplate(replica).update("MERGE INTO node (id, name) VALUES (1, 'replica')")
+
+        def dataSource = new LazyConnectionDataSourceProxy(new RoutingDataSource(primary, replica, replicaRouting))
+        def transactionManager = new DataSourceTransactionManager(dataSource)
+        jdbcTemplate = new JdbcTemplate(dataSource)
+        readOnly = new TransactionTemplate(transactionManager)
+        readOnly.readOnly = true
+        readWrite = new TransactionTemplate(transactionManager)
+    }
+
+    def "read-only transactions use the replica while its lag is within tolerance"() {
+        given:
+        replicaRouting.replicaLag(Duration.ofMillis(500))
+        def primaryRoutes = meterRegistry.counter("datasource.routes", "route", "primary").count()
+
+        expect:
+        readOnly.execute { node() } == "replica"
+        readWrite.execute { node() } == "primary"
+        jdbcTemplate.queryForObject("SELECT name FROM node WHERE id = 1", String) == "primary"
+        meterRegistry.counter("datasource.routes", "route", "replica").count() == 1
+        meterRegistry.counter("datasource.routes", "route", "primary").count() == primaryRoutes + 2
+    }
+
+    def "reads go to the primary while the lag is unknown or above tolerance"() {
+        when:
+        replicaRouting.replicaLag(lag)
+
+        then:
+        readOnly.execute { node() } == "primary"
+
+        where:
+        lag << [null, Duration.ofSeconds(3)]
+    }
+
+    def "reads of recently written keys stick to the primary"() {
+        given:
+        replicaRouting.replicaLag(Duration.ZERO)
+
+        when:
+        replicaRouting.written("jane.doe@nisum.com")
+
+        then:
+        replicaRouting.readYourWrites("jane.doe@nisum.com") { readOnly.execute { node() } } == "primary"
+        replicaRouting.readYourWrites("john.doe@nisum.com") { readOnly.execute { node() } } == "replica"
+        replicaRouting.onPrimary { readOnly.execute { node() } } == "primary"
+        readOnly.execute { node() } == "replica"
+    }
+
+    def "a disabled routing always uses the primary"() {
+        given:
+        def disabled = ReplicaRouting.disabled()
+        disabled.replicaLag(Duration.ZERO)
+        def dataSource = new LazyConnectionDataSourceProxy(new RoutingDataSource(primary, replica, disabled))
+        def jdbc = new JdbcTemplate(dataSource)
+        def template = new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+        template.readOnly = true
+
+        expect:
+        template.execute { jdbc.queryForObject("SELECT name FROM node WHERE id = 1", String) } == "primary"
+    }
+
+    def "the lag monitor measures how old the replica heartbeat is"() {
+        given:
+        def monitor = new ReplicaLagMonitor(new JdbcTemplate(primary), new JdbcTemplate(replica), replicaRouting,
+                                            Clock.fixed(NOW, ZoneId.systemDefault()))
+        def replicated = NOW.minusSeconds(3).atZone(ZoneId.systemDefault()).toLocalDateTime()
+        new JdbcTemplate(replica).update("MERGE INTO replica_heartbeat (id, beat) VALUES (1, ?)",
+                                         Timestamp.valueOf(replicated))
+
+        when:
+        def lag = monitor.check()
+
+        then:
+        lag == Duration.ofSeconds(3)
+        new JdbcTemplate(primary).queryForObject("SELECT COUNT(*) FROM replica_heartbeat", Integer) == 1
+        readOnly.execute { node() } == "primary"
+
+        when:
+        new JdbcTemplate(replica).update("DROP TABLE replica_heartbeat")
+
+        then:
+        monitor.check() == null
+
+        cleanup:
+        createHeartbeat(new JdbcTemplate(replica))
+    }
+
+    private String node() {
+        jdbcTemplate.queryForObject("SELECT name FROM node WHERE id = 1", String)
+    }
+
+    private static DriverManagerDataSource database(String name) {
+        def dataSource = new DriverManagerDataSource("jdbc:h2:mem:${name};DB_CLOSE_DELAY=-1", "sa", "")
+        def jdbc = new JdbcTemplate(dataSource)
+        jdbc.update("CREATE TABLE IF NOT EXISTS node (id INT PRIMARY KEY, name VARCHAR(16))")
+        createHeartbeat(jdbc)
+        jdbc.update("DELETE FROM replica_heartbeat")
+        dataSource
+    }
+
+    private static void createHeartbeat(JdbcTemplate jdbc) {
+        jdbc.update("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat TIMESTAMP(6) NOT NULL)")
+    }
+}
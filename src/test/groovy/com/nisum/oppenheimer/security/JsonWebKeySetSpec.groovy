@@ -0,0 +1,92 @@
+package com.nisum.oppenheimer.security
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.nisum.oppenheimer.service.impl.TokenServiceImplSpec.MutableClock
+import org.springframework.test.context.ActiveProfiles
+import spock.lang.Specification
+
+import java.security.KeyPairGenerator
+import java.security.spec.ECGenParameterSpec
+import java.time.Clock
+import java.time.Instant
+import java.time.temporal.ChronoUnit
+
+/**
+ * JsonWebKeySetSpec is a Spock specification for testing the {@link JsonWebKeySet} class.
+ *
+ * <p>
+ * The tests verify that the precomputed JWKS document publishes every non-expired
+ * public key with its kid, drops a key once it expires, never publishes anything in HMAC mode,
+ * and that EC keys on a curve other than P-256 are rejected when the key ring loads.
+ * </p>
+ */
+@ActiveProfiles("test")
+class JsonWebKeySetSpec extends Specification {
+
+    def "should publish the non-expired EC and RSA public keys"() {
+        given:
+            def now = Instant.now()
+            def ec = KeyPairGenerator.getInstance("EC")
+            ec.initialize(new ECGenParameterSpec("secp256r1"))
+            def current = ec.generateKeyPair()
+            def expired = ec.generateKeyPair()
+            def ring = SigningKeyRing.asymmetric("ES256", [
+                    new SigningKey("current", current.public, current.private, now.minus(1, ChronoUnit.DAYS), null),
+                    new SigningKey("expired", expired.public, null, now.minus(9, ChronoUnit.DAYS), now.minus(1, ChronoUnit.DAYS))
+            ], Clock.systemUTC())
+        when:
+            def jwks = JsonWebKeySet.of(ring)
+            def keys = new ObjectMapper().readValue(jwks.current().body(), Map).keys
+        then:
+            keys.size() == 1
+            keys[0].kid == "current"
+            keys[0].kty == "EC"
+            keys[0].alg == "ES256"
+            Base64.urlDecoder.decode(keys[0].x as String).length == 32
+            jwks.current().etag().startsWith('"')
+    }
+
+    def "should stop publishing a key once it expires"() {
+        given:
+            def now = Instant.now()
+            def clock = new MutableClock(now)
+            def ec = KeyPairGenerator.getInstance("EC")
+            ec.initialize(new ECGenParameterSpec("secp256r1"))
+            def current = ec.generateKeyPair()
+            def retiring = ec.generateKeyPair()
+            def jwks = JsonWebKeySet.of(SigningKeyRing.asymmetric("ES256", [
+                    new SigningKey("current", current.public, current.private, now.minus(1, ChronoUnit.DAYS), null),
+                    new SigningKey("retiring", retiring.public, null, now.minus(9, ChronoUnit.DAYS), now.plus(1, ChronoUnit.HOURS))
+            ], clock))
+            def before = jwks.current()
+        when:
+            clock.instant = now.plus(2, ChronoUnit.HOURS)
+            def after = jwks.current()
+        then:
+            before.kids() == ["current", "retiring"]
+            after.kids() == ["current"]
+            new ObjectMapper().readValue(after.body(), Map).keys*.kid == ["current"]
+            after.etag() != before.etag()
+            jwks.current().is(after)
+    }
+
+    def "should reject EC keys on a curve other than P-256"() {
+        given:
+            def ec = KeyPairGenerator.getInstance("EC")
+            ec.initialize(new ECGenParameterSpec("secp384r1"))
+            def p384 = ec.generateKeyPair()
+        when:
+            SigningKeyRing.asymmetric("ES256", [
+                    new SigningKey("p384", p384.public, p384.private, Instant.now(), null)
+            ], Clock.systemUTC())
+        then:
+            thrown(IllegalArgumentException)
+    }
+
+    def "should publish an empty key set in HMAC mode"() {
+        when:
+            def jwks = JsonWebKeySet.of(SigningKeyRing.hmac("secretKey"))
+        then:
+            new String(jwks.current().body()) == '{"keys":[]}'
+    }
+}
@@ -0,0 +1,89 @@
+package com.nisum.oppenheimer.service.impl
+
+import com.nisum.oppenheimer.repository.UserRepository
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.core.RowCallbackHandler
+import org.springframework.test.context.ActiveProfiles
+import spock.lang.Specification
+
+import java.sql.ResultSet
+
+/**
+ * EmailIndexServiceImplSpec is a Spock specification for testing the
+ * {@link EmailIndexServiceImpl} class.
+ *
+ * <p>
+ * The tests verify that emails the filter has never seen skip the database, that
+ * possible matches are confirmed with a query, that nothing is skipped before the
+ * warm-up completes, and that the filter metrics are published.
+ * </p>
+ */
+@ActiveProfiles("test")
+class EmailIndexServiceImplSpec extends Specification {
+
+    UserRepository userRepository = Mock(UserRepository)
+    JdbcTemplate jdbcTemplate = Mock(JdbcTemplate)
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+
+    EmailIndexServiceImpl emailIndexService = new EmailIndexServiceImpl(userRepository, jdbcTemplate, meterRegistry, 1000, 0.01)
+
+    private void warmUpWith(String... emails) {
+        def resultSet = Mock(ResultSet)
+        def rows = emails.iterator()
+        resultSet.getString(1) >> { rows.next() }
+        jdbcTemplate.query(_ as String, _ as RowCallbackHandler) >> { String sql, RowCallbackHandler handler ->
+            emails.length.times { handler.processRow(resultSet) }
+        }
+        emailIndexService.warmUp()
+    }
+
+    def "should query the database for every email before the warm-up"() {
+        when:
+            def exists = emailIndexService.exists("jane.doe@nisum.com")
+        then:
+            1 * userRepository.existsByEmail("jane.doe@nisum.com") >> false
+            !exists
+    }
+
+    def "should skip the query for emails that were never registered"() {
+        given:
+            warmUpWith("jane.doe@nisum.com")
+        when:
+            def exists = emailIndexService.exists("john.doe@nisum.com")
+        then:
+            0 * userRepository.existsByEmail(_)
+            !exists
+            meterRegistry.get("user.email.index.lookups").tag("result", "miss").counter().count() == 1
+    }
+
+    def "should confirm possible matches with the database"() {
+        given:
+            warmUpWith("jane.doe@nisum.com")
+            emailIndexService.add("john.doe@nisum.com")
+        when:
+            def jane = emailIndexService.exists("jane.doe@nisum.com")
+            def john = emailIndexService.exists("john.doe@nisum.com")
+        then:
+            1 * userRepository.existsByEmail("jane.doe@nisum.com") >> true
+            1 * userRepository.existsByEmail("john.doe@nisum.com") >> true
+            jane && john
+    }
+
+    def "should only look up the possible matches of a batch"() {
+        given:
+            warmUpWith("jane.doe@nisum.com")
+        when:
+            def existing = emailIndexService.existing(["jane.doe@nisum.com", "john.doe@nisum.com"])
+        then:
+            1 * userRepository.findExistingEmails(["jane.doe@nisum.com"]) >> (["jane.doe@nisum.com"] as Set)
+            existing == ["jane.doe@nisum.com"] as Set
+    }
+
+    def "should publish the filter memory and false-positive rates"() {
+        expect:
+            meterRegistry.get("user.email.index.memory").gauge().value() > 0
+            meterRegistry.get("user.email.index.fpp").tag("type", "configured").gauge().value() == 0.01
+            meterRegistry.get("user.email.index.fpp").tag("type", "estimated").gauge().value() == 0
+    }
+}
@@ -0,0 +1,191 @@
+package com.nisum.oppenheimer.service.impl
+
+import com.nisum.oppenheimer.api.restful.controllers.dto.PhoneDTO
+import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO
+import com.nisum.oppenheimer.service.exception.DuplicateEmailException
+import com.nisum.oppenheimer.service.exception.IdempotencyKeyReusedException
+import com.nisum.oppenheimer.service.exception.RequestInProgressException
+import com.nisum.oppenheimer.service.record.IdempotentResponseRecord
+import com.nisum.oppenheimer.service.record.UserRecord
+import com.nisum.oppenheimer.service.spec.IdempotencyStore
+import com.nisum.oppenheimer.service.spec.TokenService
+import com.nisum.oppenheimer.util.Constants
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.Duration
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * IdempotencyServiceImplSpec is a Spock specification for testing the
+ * {@link IdempotencyServiceImpl} class, with the in-memory store.
+ *
+ * <p>
+ * The tests verify that a key runs its request once and replays the response with a fresh token, that the
+ * stored response holds no token, that concurrent requests with the same key wait for the one in flight, that
+ * a failed request can be retried, and that a key is rejected when reused with another request or held in
+ * flight by another instance.
+ * </p>
+ */
+class IdempotencyServiceImplSpec extends Specification {
+
+    static final IdempotentResponseRecord CREATED = new IdempotentResponseRecord(
+            null, "http://localhost/api/users/user-key",
+            new UserRecord("user-key", "2023-09-22T12:00:00", "2023-09-22T12:00:00", null, "token", true))
+
+    static final UserDTO JANE = new UserDTO("Jane Doe", "jane.doe@nisum.com", "Secret#123",
+                                            [new PhoneDTO("8092230098", "1", "57")])
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    TokenService tokenService = Stub(TokenService) {
+        generate({ it.email == "jane.doe@nisum.com" && it.name == "Jane Doe" }) >> "fresh-token"
+    }
+
+    @Subject
+    IdempotencyServiceImpl idempotencyService = new IdempotencyServiceImpl(
+            new MemoryIdempotencyStore(meterRegistry, 100, Duration.ofHours(1)), tokenService, meterRegistry,
+            Duration.ofSeconds(1), "idempotency-secret")
+
+    def "should run the request once and replay its response with a fresh token"() {
+        given:
+            def runs = new AtomicInteger()
+        when:
+            def first = idempotencyService.execute("key", JANE, { runs.incrementAndGet(); CREATED })
+            def replay = idempotencyService.execute("key", JANE, { runs.incrementAndGet(); CREATED })
+        then:
+            runs.get() == 1
+            first == CREATED
+            replay.location() == CREATED.location()
+            replay.body() == CREATED.withToken("fresh-token").body()
+            outcome("executed") == 1
+            outcome("replayed") == 1
+    }
+
+    def "should store the response without its token"() {
+        given:
+            def store = Mock(IdempotencyStore)
+            def service = new IdempotencyServiceImpl(store, tokenService, meterRegistry, Duration.ofSeconds(1),
+                                                     "idempotency-secret")
+        when:
+            def response = service.execute("key", JANE, { CREATED })
+        then:
+            1 * store.claim("key", _) >> Optional.empty()
+            1 * store.complete("key", { it.location() == CREATED.location() && it.body() == CREATED.withToken(null).body() })
+            response.body().token() == "token"
+    }
+
+    def "should let concurrent requests with the same key wait for the one in flight"() {
+        given:
+            def runs = new AtomicInteger()
+            def started = new CountDownLatch(1)
+            def release = new CountDownLatch(1)
+            def executor = Executors.newVirtualThreadPerTaskExecutor()
+        when:
+            def first = executor.submit({
+                idempotencyService.execute("key", JANE, {
+                    runs.incrementAndGet()
+                    started.countDown()
+                    release.await()
+                    CREATED
+                })
+            } as Callable)
+            started.await()
+            def waiting = (1..3).collect {
+                executor.submit({
+                    idempotencyService.execute("key", JANE, { runs.incrementAndGet(); CREATED })
+                } as Callable)
+            }
+            while (outcome("coalesced") < 3) {
+                Thread.sleep(5)
+            }
+            release.countDown()
+        then:
+            first.get(5, TimeUnit.SECONDS).body() == CREATED.body()
+            waiting*.get(5, TimeUnit.SECONDS)*.body() == [CREATED.body()] * 3
+            runs.get() == 1
+        cleanup:
+            executor.shutdownNow()
+    }
+
+    def "should run the request again after it failed"() {
+        when:
+            idempotencyService.execute("key", JANE, {
+                throw new DuplicateEmailException(Constants.EMAIL_ALREADY_EXISTS)
+            })
+        then:
+            thrown(DuplicateEmailException)
+        when:
+            def retry = idempotencyService.execute("key", JANE, { CREATED })
+        then:
+            retry.body() == CREATED.body()
+    }
+
+    def "should reject a key reused with another request"() {
+        given:
+            idempotencyService.execute("key", JANE, { CREATED })
+        when:
+            idempotencyService.execute("key", other, { CREATED })
+        then:
+            thrown(IdempotencyKeyReusedException)
+            outcome("rejected") == 1
+        where:
+            other << [new UserDTO("Jane Doe", "john.doe@nisum.com", "Secret#123", JANE.phones),
+                      new UserDTO("Jane Doe", "jane.doe@nisum.com", "Other#456", JANE.phones),
+                      new UserDTO("Jane Doe", "jane.doe@nisum.com", "Secret#123", []),
+                      new UserDTO("Jane Doe", "jane.doe@nisum.com", "Secret#123", [new PhoneDTO("8092230098", "1", "56")]),
+                      // Moving bytes from one field to the next must not give the same fingerprint
+                      new UserDTO("Jane Doej", "ane.doe@nisum.com", "Secret#123", JANE.phones)]
+    }
+
+    def "should replay to an equal copy of the request"() {
+        given:
+            idempotencyService.execute("key", JANE, { CREATED })
+        when:
+            def copy = new UserDTO("Jane Doe", "jane.doe@nisum.com", "Secret#123", [new PhoneDTO("8092230098", "1", "57")])
+            def replay = idempotencyService.execute("key", copy, { CREATED })
+        then:
+            replay.body().id() == CREATED.body().id()
+            outcome("replayed") == 1
+    }
+
+    def "should reject a key held in flight by another instance"() {
+        given:
+            def store = Mock(IdempotencyStore)
+            def service = new IdempotencyServiceImpl(store, tokenService, meterRegistry, Duration.ofSeconds(2),
+                                                     "idempotency-secret")
+            store.claim("key", _) >> { args -> Optional.of(IdempotentResponseRecord.inFlight(args[1])) }
+        when:
+            service.execute("key", JANE, { CREATED })
+        then:
+            def e = thrown(RequestInProgressException)
+            e.retryAfter == Duration.ofSeconds(2)
+            0 * store.complete(_, _)
+    }
+
+    def "should refuse to start without a secret"() {
+        when:
+            new IdempotencyServiceImpl(Mock(IdempotencyStore), tokenService, meterRegistry, Duration.ofSeconds(1), secret)
+        then:
+            thrown(IllegalStateException)
+        where:
+            secret << [null, "", " "]
+    }
+
+    def "should reject a missing or oversized key"() {
+        when:
+            idempotencyService.execute(key, JANE, { CREATED })
+        then:
+            thrown(IllegalArgumentException)
+        where:
+            key << [" ", "k" * 65]
+    }
+
+    private double outcome(String outcome) {
+        meterRegistry.get("idempotency.requests").tag("outcome", outcome).counter().count()
+    }
+}
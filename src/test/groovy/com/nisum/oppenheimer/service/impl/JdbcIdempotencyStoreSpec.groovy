@@ -0,0 +1,93 @@
+package com.nisum.oppenheimer.service.impl
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.nisum.oppenheimer.service.record.IdempotentResponseRecord
+import com.nisum.oppenheimer.service.record.UserRecord
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.datasource.DriverManagerDataSource
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.sql.Timestamp
+import java.time.Duration
+import java.time.LocalDateTime
+
+/**
+ * JdbcIdempotencyStoreSpec is a Spock specification for testing the
+ * {@link JdbcIdempotencyStore} class, against an in-memory H2 database with the idempotency table of the changelog.
+ *
+ * <p>
+ * The tests verify that a key is claimed once, that its response is stored and read back, that a released or
+ * expired key can be claimed again, that a claim left in flight is taken over after the timeout, and that the
+ * purge deletes the expired keys.
+ * </p>
+ */
+class JdbcIdempotencyStoreSpec extends Specification {
+
+    static final UserRecord BODY = new UserRecord("user-key", "2023-09-22T12:00:00", "2023-09-22T12:00:00", null, null, true)
+
+    DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:idempotency-${UUID.randomUUID()};DB_CLOSE_DELAY=-1", "sa", "")
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource)
+
+    @Subject
+    JdbcIdempotencyStore store = new JdbcIdempotencyStore(jdbcTemplate, new ObjectMapper(), Duration.ofHours(1),
+                                                          Duration.ofSeconds(30))
+
+    def setup() {
+        jdbcTemplate.execute("CREATE TABLE idempotency_keys (idem_key VARCHAR(64) PRIMARY KEY, fingerprint VARCHAR(64) NOT NULL, " +
+                             "location VARCHAR(255), body VARCHAR(2048), created TIMESTAMP(6) NOT NULL)")
+    }
+
+    def cleanup() {
+        jdbcTemplate.execute("SHUTDOWN")
+    }
+
+    def "should claim a key once and replay its stored response"() {
+        when:
+            def first = store.claim("key", "fingerprint")
+            def inFlight = store.claim("key", "fingerprint")
+        then:
+            first.isEmpty()
+            !inFlight.get().completed()
+        when:
+            store.complete("key", new IdempotentResponseRecord("fingerprint", "http://localhost/api/users/user-key", BODY))
+            def replay = store.claim("key", "fingerprint")
+        then:
+            replay.get() == new IdempotentResponseRecord("fingerprint", "http://localhost/api/users/user-key", BODY)
+    }
+
+    def "should let a released key be claimed again"() {
+        given:
+            store.claim("key", "fingerprint")
+        when:
+            store.release("key")
+        then:
+            store.claim("key", "fingerprint").isEmpty()
+    }
+
+    def "should take over a claim left in flight past the timeout"() {
+        given:
+            insert("key", null, LocalDateTime.now().minusMinutes(1))
+        expect:
+            store.claim("key", "fingerprint").isEmpty()
+            !store.claim("key", "fingerprint").get().completed()
+    }
+
+    def "should ignore and purge keys older than the ttl"() {
+        given:
+            insert("expired", '{"id":"old-key"}', LocalDateTime.now().minusHours(2))
+            insert("other", '{"id":"old-key"}', LocalDateTime.now().minusHours(2))
+            insert("current", '{"id":"user-key"}', LocalDateTime.now())
+        expect:
+            store.claim("expired", "fingerprint").isEmpty()
+            store.purge() == 1
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_keys", Integer) == 2
+    }
+
+    private void insert(String key, String body, LocalDateTime created) {
+        jdbcTemplate.update("INSERT INTO idempotency_keys (idem_key, fingerprint, location, body, created) VALUES (?, ?, ?, ?, ?)",
+                            key, "fingerprint", body == null ? null : "http://localhost/api/users/old-key", body,
+                            Timestamp.valueOf(created))
+    }
+}
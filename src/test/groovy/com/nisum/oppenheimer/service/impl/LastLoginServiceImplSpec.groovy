@@ -0,0 +1,86 @@
+package com.nisum.oppenheimer.service.impl
+
+import com.nisum.oppenheimer.model.User
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import jakarta.persistence.Cache
+import jakarta.persistence.EntityManagerFactory
+import org.springframework.dao.DataAccessResourceFailureException
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.scheduling.TaskScheduler
+import org.springframework.test.context.ActiveProfiles
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.sql.Timestamp
+import java.time.LocalDateTime
+
+/**
+ * LastLoginServiceImplSpec is a Spock specification for testing the
+ * {@link LastLoginServiceImpl} write-behind buffer.
+ *
+ * <p>
+ * The tests verify that logins are coalesced per user, flushed as a single
+ * JDBC batch, evicted from the second-level cache once written, kept for a
+ * retry when the batch fails, and that reaching the batch size schedules an
+ * early flush.
+ * </p>
+ */
+@ActiveProfiles("test")
+class LastLoginServiceImplSpec extends Specification {
+
+    JdbcTemplate jdbcTemplate = Mock(JdbcTemplate)
+    TaskScheduler taskScheduler = Mock(TaskScheduler)
+    Cache secondLevelCache = Mock(Cache)
+    EntityManagerFactory entityManagerFactory = Stub(EntityManagerFactory) {
+        getCache() >> secondLevelCache
+    }
+
+    @Subject
+    LastLoginServiceImpl lastLoginService = new LastLoginServiceImpl(jdbcTemplate, taskScheduler, new SimpleMeterRegistry(),
+                                                                     entityManagerFactory)
+
+    def setup() {
+        lastLoginService.batchSize = 3
+        lastLoginService.bindMetrics()
+    }
+
+    def "should keep the latest login per user and flush them in one batch"() {
+        given:
+            def now = LocalDateTime.now()
+            lastLoginService.record(1L, now.minusMinutes(1))
+            lastLoginService.record(1L, now)
+            lastLoginService.record(2L, now)
+        when:
+            def flushed = lastLoginService.flush()
+        then:
+            1 * jdbcTemplate.batchUpdate(_ as String, { List<Object[]> rows ->
+                rows.size() == 2 && rows.every { it[0] == Timestamp.valueOf(now) }
+            })
+            1 * secondLevelCache.evict(User, 1L)
+            1 * secondLevelCache.evict(User, 2L)
+            flushed == 2
+            lastLoginService.flush() == 0
+    }
+
+    def "should keep the buffered logins when the batch fails"() {
+        given:
+            lastLoginService.record(1L, LocalDateTime.now())
+        when:
+            def first = lastLoginService.flush()
+            def second = lastLoginService.flush()
+        then:
+            1 * jdbcTemplate.batchUpdate(_ as String, _ as List) >> { throw new DataAccessResourceFailureException("down") }
+        then:
+            1 * jdbcTemplate.batchUpdate(_ as String, _ as List)
+            1 * secondLevelCache.evict(User, 1L)
+            first == 0
+            second == 1
+    }
+
+    def "should schedule an early flush once when the buffer reaches the batch size"() {
+        when:
+            (1L..5L).each { lastLoginService.record(it, LocalDateTime.now()) }
+        then:
+            1 * taskScheduler.schedule(_ as Runnable, _)
+    }
+}
@@ -0,0 +1,154 @@
+package com.nisum.oppenheimer.service.impl
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.nisum.oppenheimer.model.User
+import com.nisum.oppenheimer.model.id.TimeOrderedIdGenerator
+import com.nisum.oppenheimer.service.record.OutboxEventRecord
+import com.nisum.oppenheimer.service.spec.OutboxSink
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.datasource.DataSourceTransactionManager
+import org.springframework.jdbc.datasource.DriverManagerDataSource
+import org.springframework.transaction.support.TransactionTemplate
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.Clock
+import java.time.LocalDateTime
+import java.util.concurrent.TimeUnit
+
+/**
+ * OutboxServiceImplSpec is a Spock specification for testing the
+ * {@link OutboxServiceImpl} class, against an in-memory H2 database with the outbox table of the changelog.
+ *
+ * <p>
+ * The tests verify that appended events are only visible once their transaction commits, that the relay
+ * publishes them in batches and removes them, that a failed batch is published again, and that events locked
+ * by another relay are skipped without letting a later event of the same user overtake them.
+ * </p>
+ */
+class OutboxServiceImplSpec extends Specification {
+
+    DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:outbox-${UUID.randomUUID()};DB_CLOSE_DELAY=-1", "sa", "")
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource)
+    TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+
+    List<OutboxEventRecord> published = []
+    boolean failing
+    OutboxSink sink = { List<OutboxEventRecord> events ->
+        if (failing) {
+            throw new IllegalStateException("Sink unavailable")
+        }
+        published.addAll(events)
+    } as OutboxSink
+
+    @Subject
+    OutboxServiceImpl outboxService = new OutboxServiceImpl(jdbcTemplate, transactionTemplate, sink, new ObjectMapper(),
+                                                            new TimeOrderedIdGenerator(0, Clock.systemUTC()), meterRegistry)
+
+    def setup() {
+        jdbcTemplate.execute("CREATE TABLE outbox (id BIGINT PRIMARY KEY, aggregate_key VARCHAR(36) NOT NULL, " +
+                             "event_type VARCHAR(64) NOT NULL, payload VARCHAR(2048) NOT NULL, created TIMESTAMP(6) NOT NULL)")
+        outboxService.batchSize = 2
+        outboxService.init()
+    }
+
+    def cleanup() {
+        jdbcTemplate.execute("SHUTDOWN")
+    }
+
+    def "should build the user.created event from the profile of the user"() {
+        when:
+            def event = outboxService.userCreated(user("user-key"))
+        then:
+            event.aggregateKey() == "user-key"
+            event.type() == OutboxEventRecord.USER_CREATED
+            event.payload() == '{"id":"user-key","name":"Jane Doe","email":"user-key@nisum.com",' +
+                               '"created":"2023-09-22T12:00:00","modified":"2023-09-22T12:00:00","isActive":true}'
+    }
+
+    def "should not store events of a rolled back transaction"() {
+        when:
+            transactionTemplate.executeWithoutResult { status ->
+                outboxService.append([outboxService.userCreated(user("user-key"))])
+                status.setRollbackOnly()
+            }
+        then:
+            pending() == 0
+    }
+
+    def "should publish the events in batches and remove them"() {
+        given:
+            def events = ["a", "b", "c"].collect { outboxService.userCreated(user(it)) }
+            outboxService.append(events)
+        when:
+            def relayed = outboxService.relay()
+        then:
+            relayed == 3
+            published*.id() == events*.id()
+            pending() == 0
+            meterRegistry.get("outbox.published").counter().count() == 3
+            meterRegistry.get("outbox.delivery").timer().count() == 3
+    }
+
+    def "should publish a failed batch again on the next poll"() {
+        given:
+            def event = new OutboxEventRecord(1L, "user-key", OutboxEventRecord.USER_CREATED, '{}',
+                                              LocalDateTime.now().minusSeconds(5))
+            outboxService.append([event])
+            failing = true
+        when:
+            def first = outboxService.relay()
+        then:
+            first == 0
+            pending() == 1
+            meterRegistry.get("outbox.failures").counter().count() == 1
+            meterRegistry.get("outbox.lag").timeGauge().value(TimeUnit.SECONDS) >= 5
+        when:
+            failing = false
+            def second = outboxService.relay()
+        then:
+            second == 1
+            published*.id() == [event.id()]
+            pending() == 0
+    }
+
+    def "should skip locked events and keep later events of the same user behind them"() {
+        given:
+            def first = outboxService.userCreated(user("a"))
+            def second = outboxService.userCreated(user("a"))
+            def other = outboxService.userCreated(user("b"))
+            outboxService.append([first, second, other])
+            def connection = dataSource.connection
+            connection.autoCommit = false
+            connection.prepareStatement("SELECT id FROM outbox WHERE id = ${first.id()} FOR UPDATE").executeQuery()
+        when:
+            outboxService.relay()
+        then:
+            published*.id() == [other.id()]
+        when:
+            connection.rollback()
+            connection.close()
+            outboxService.relay()
+        then:
+            published*.id() == [other.id(), first.id(), second.id()]
+    }
+
+    private int pending() {
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox", Integer)
+    }
+
+    private static User user(String xkey) {
+        def user = User.builder()
+                       .xkey(xkey)
+                       .name("Jane Doe")
+                       .email(xkey + "@nisum.com")
+                       .password("hash")
+                       .build()
+        user.setCreated(LocalDateTime.parse("2023-09-22T12:00:00"))
+        user.setModified(LocalDateTime.parse("2023-09-22T12:00:00"))
+        user
+    }
+}
@@ -0,0 +1,93 @@
+package com.nisum.oppenheimer.service.impl
+
+import com.nisum.oppenheimer.service.exception.ServiceOverloadedException
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder
+import org.springframework.test.context.ActiveProfiles
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.Duration
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+
+/**
+ * PasswordHashServiceImplSpec is a Spock specification for testing the
+ * {@link PasswordHashServiceImpl} class.
+ *
+ * <p>
+ * The tests verify that passwords are hashed on the dedicated executor, that the
+ * hashing stage rejects work once its bounded queue is full, and that the queue
+ * metrics are published.
+ * </p>
+ */
+@ActiveProfiles("test")
+class PasswordHashServiceImplSpec extends Specification {
+
+    Argon2PasswordEncoder passwordEncoder = Mock(Argon2PasswordEncoder)
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                                                         new ArrayBlockingQueue<>(1))
+
+    @Subject
+    PasswordHashServiceImpl passwordHashService = new PasswordHashServiceImpl(passwordEncoder, executor, meterRegistry)
+
+    def setup() {
+        passwordHashService.retryAfter = Duration.ofSeconds(2)
+        passwordHashService.bindMetrics()
+    }
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+    def "should hash the password on the hashing executor"() {
+        when:
+            def hash = passwordHashService.encode("@Password123")
+        then:
+            1 * passwordEncoder.encode("@Password123") >> { Thread.currentThread().name.contains("pool") ? "hashed" : "wrong-thread" }
+            hash == "hashed"
+            meterRegistry.get("password.hashing.wait").timer().count() == 1
+    }
+
+    def "should reject hashing with retry after when the queue is full"() {
+        given: "A busy worker and a full queue"
+            def release = new CountDownLatch(1)
+            executor.submit({ release.await() })
+            executor.submit({ release.await() })
+        when:
+            passwordHashService.encode("@Password123")
+        then:
+            def ex = thrown(ServiceOverloadedException)
+            ex.retryAfter == Duration.ofSeconds(2)
+            meterRegistry.get("password.hashing.rejected").counter().count() == 1
+            meterRegistry.get("password.hashing.queue.depth").gauge().value() == 1
+            0 * passwordEncoder.encode(_)
+        cleanup:
+            release.countDown()
+    }
+
+    def "should hash a batch in order without overflowing the shared queue"() {
+        when: "More passwords than the single worker and the one queue slot could hold at once"
+            def hashes = passwordHashService.encodeAll(["a", "b", "c", "d"])
+        then:
+            4 * passwordEncoder.encode(_) >> { CharSequence raw -> "hash-" + raw }
+            hashes == ["hash-a", "hash-b", "hash-c", "hash-d"]
+            meterRegistry.find("password.hashing.rejected").counter() == null
+    }
+
+    def "should hash the dummy password once with the settings of the encoder"() {
+        given:
+            def service = new PasswordHashServiceImpl(passwordEncoder, executor, new SimpleMeterRegistry())
+        when:
+            service.bindMetrics()
+            def first = service.dummyHash()
+            def second = service.dummyHash()
+        then:
+            1 * passwordEncoder.encode(_) >> "dummy-hash"
+            first == "dummy-hash"
+            second == "dummy-hash"
+    }
+}
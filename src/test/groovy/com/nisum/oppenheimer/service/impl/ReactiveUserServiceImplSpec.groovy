@@ -0,0 +1,177 @@
+package com.nisum.oppenheimer.service.impl
+
+import com.nisum.oppenheimer.api.restful.controllers.dto.LoginDTO
+import com.nisum.oppenheimer.api.restful.controllers.dto.PhoneDTO
+import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO
+import com.nisum.oppenheimer.metrics.SignUpMetrics
+import com.nisum.oppenheimer.model.User
+import com.nisum.oppenheimer.model.id.TimeOrderedIdGenerator
+import com.nisum.oppenheimer.service.exception.AuthenticationFailedException
+import com.nisum.oppenheimer.service.exception.DuplicateEmailException
+import com.nisum.oppenheimer.service.record.IssuedToken
+import com.nisum.oppenheimer.service.record.OutboxEventRecord
+import com.nisum.oppenheimer.service.spec.EmailIndexService
+import com.nisum.oppenheimer.service.spec.LastLoginService
+import com.nisum.oppenheimer.service.spec.OutboxService
+import com.nisum.oppenheimer.service.spec.PasswordHashService
+import com.nisum.oppenheimer.service.spec.TokenService
+import com.nisum.oppenheimer.service.spec.UserProfileService
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import io.r2dbc.spi.ConnectionFactories
+import org.springframework.r2dbc.connection.R2dbcTransactionManager
+import org.springframework.r2dbc.core.DatabaseClient
+import org.springframework.transaction.reactive.TransactionalOperator
+import reactor.test.StepVerifier
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.Clock
+import java.time.LocalDateTime
+import java.util.concurrent.CompletableFuture
+
+/**
+ * Spock Specification for the reactive sign-up and login, run against an in-memory H2 database over R2DBC
+ * with the tables of the changelog.
+ */
+class ReactiveUserServiceImplSpec extends Specification {
+
+    def connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///reactive-${UUID.randomUUID()}?options=DB_CLOSE_DELAY=-1")
+    DatabaseClient databaseClient = DatabaseClient.create(connectionFactory)
+
+    PasswordHashService passwordHashService = Mock(PasswordHashService)
+    TokenService tokenService = Mock(TokenService)
+    LastLoginService lastLoginService = Mock(LastLoginService)
+    UserProfileService userProfileService = Mock(UserProfileService)
+    EmailIndexService emailIndexService = Mock(EmailIndexService)
+    OutboxService outboxService = Mock(OutboxService) {
+        userCreated(_) >> { User user -> new OutboxEventRecord(user.id, user.xkey, OutboxEventRecord.USER_CREATED, '{}', LocalDateTime.now()) }
+    }
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+
+    @Subject
+    ReactiveUserServiceImpl userService = new ReactiveUserServiceImpl(databaseClient,
+            TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory)),
+            passwordHashService, tokenService, lastLoginService,
+            new TimeOrderedIdGenerator(0, Clock.systemUTC()),
+            userProfileService, emailIndexService, new SignUpMetrics(meterRegistry), outboxService)
+
+    def setup() {
+        userService.persistTokenId = true
+        databaseClient.sql("CREATE TABLE users (id BIGINT PRIMARY KEY, created TIMESTAMP, modified TIMESTAMP, " +
+                           "xkey VARCHAR(36) NOT NULL UNIQUE, name VARCHAR(255) NOT NULL, email VARCHAR(255) NOT NULL UNIQUE, " +
+                           "password VARCHAR(255) NOT NULL, token_id VARCHAR(32), last_login TIMESTAMP, phones VARCHAR(4096))")
+                      .then().block()
+        databaseClient.sql("CREATE TABLE outbox (id BIGINT PRIMARY KEY, aggregate_key VARCHAR(36) NOT NULL, " +
+                           "event_type VARCHAR(64) NOT NULL, payload VARCHAR(2048) NOT NULL, created TIMESTAMP(6) NOT NULL)")
+                      .then().block()
+    }
+
+    def cleanup() {
+        databaseClient.sql("SHUTDOWN").then().block()
+    }
+
+    def "should insert the user, their phones and their event"() {
+        given:
+            def userDTO = new UserDTO(name: "John Doe", email: "john.doe@example.com", password: "SecureP@ssw0rd",
+                                      phones: [new PhoneDTO("8093433232", "1", "57"), new PhoneDTO("8093433233", "1", "57")])
+        when:
+            def result = userService.create(userDTO).block()
+        then:
+            1 * emailIndexService.mightExist("john.doe@example.com") >> false
+            1 * passwordHashService.encodeAsync("SecureP@ssw0rd") >> CompletableFuture.completedFuture("hash")
+            1 * tokenService.issue(_) >> new IssuedToken("signed-jwt", "token-id")
+            1 * emailIndexService.add("john.doe@example.com")
+            result.token == "signed-jwt"
+            count("SELECT COUNT(*) FROM users WHERE xkey = '${result.id}' AND password = 'hash' AND token_id = 'token-id'") == 1
+            count("SELECT COUNT(*) FROM users WHERE phones = '57-1-8093433232,57-1-8093433233'") == 1
+            count("SELECT COUNT(*) FROM outbox WHERE aggregate_key = '${result.id}'") == 1
+            meterRegistry.get("user.signup.outcome").tag("outcome", "created").counter().count() == 1
+    }
+
+    def "should reject a registered email before hashing the password"() {
+        given:
+            insertUser("jane.doe@example.com", "hash")
+            def userDTO = new UserDTO(name: "Jane Doe", email: "jane.doe@example.com", password: "P@ssw0rd", phones: [])
+            emailIndexService.mightExist(_) >> true
+        when:
+            StepVerifier.create(userService.create(userDTO))
+                        .expectError(DuplicateEmailException)
+                        .verify()
+        then:
+            0 * passwordHashService.encodeAsync(_)
+            meterRegistry.get("user.signup.outcome").tag("outcome", "duplicate").counter().count() == 1
+    }
+
+    def "should report a duplicate caught by the unique constraint"() {
+        given:
+            insertUser("jane.doe@example.com", "hash")
+            def userDTO = new UserDTO(name: "Jane Doe", email: "jane.doe@example.com", password: "P@ssw0rd", phones: [])
+            emailIndexService.mightExist(_) >>> [false, true]
+            passwordHashService.encodeAsync(_) >> CompletableFuture.completedFuture("hash")
+            tokenService.issue(_) >> new IssuedToken("signed-jwt", "token-id")
+        expect:
+            StepVerifier.create(userService.create(userDTO))
+                        .expectError(DuplicateEmailException)
+                        .verify()
+            count("SELECT COUNT(*) FROM users") == 1
+            count("SELECT COUNT(*) FROM outbox") == 0
+    }
+
+    def "should login with valid credentials and buffer the last login"() {
+        given:
+            def id = insertUser("john.doe@example.com", "stored-hash")
+        when:
+            def result = userService.login(new LoginDTO("john.doe@example.com", "SecureP@ssw0rd")).block()
+        then:
+            1 * passwordHashService.matchesAsync("SecureP@ssw0rd", "stored-hash") >> CompletableFuture.completedFuture(true)
+            1 * passwordHashService.upgradeEncoding("stored-hash") >> false
+            1 * lastLoginService.record(id, _ as LocalDateTime)
+            1 * tokenService.generate({ it.id == id }) >> "fresh-token"
+            result.token == "fresh-token"
+    }
+
+    def "should rehash the password on login when the stored hash is weaker than the current settings"() {
+        given:
+            insertUser("john.doe@example.com", "weak-hash")
+            passwordHashService.matchesAsync(_, "weak-hash") >> CompletableFuture.completedFuture(true)
+            passwordHashService.upgradeEncoding("weak-hash") >> true
+            tokenService.generate(_) >> "fresh-token"
+        when:
+            userService.login(new LoginDTO("john.doe@example.com", "SecureP@ssw0rd")).block()
+        then:
+            1 * passwordHashService.encodeAsync("SecureP@ssw0rd") >> CompletableFuture.completedFuture("strong-hash")
+            1 * userProfileService.evict("user-key")
+            count("SELECT COUNT(*) FROM users WHERE password = 'strong-hash'") == 1
+    }
+
+    def "should verify a hash before rejecting a wrong password or an unknown email"() {
+        given:
+            insertUser("john.doe@example.com", "stored-hash")
+            passwordHashService.dummyHash() >> "dummy-hash"
+        when:
+            StepVerifier.create(userService.login(new LoginDTO(email, "wrong")))
+                        .expectError(AuthenticationFailedException)
+                        .verify()
+        then:
+            1 * passwordHashService.matchesAsync("wrong", verifiedHash) >> CompletableFuture.completedFuture(false)
+            0 * lastLoginService.record(_, _)
+        where:
+            email                  | verifiedHash
+            "john.doe@example.com" | "stored-hash"
+            "nobody@example.com"   | "dummy-hash"
+    }
+
+    private long insertUser(String email, String password) {
+        databaseClient.sql("INSERT INTO users (id, created, modified, xkey, name, email, password) " +
+                           "VALUES (1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 'user-key', 'John Doe', :email, :password)")
+                      .bind("email", email)
+                      .bind("password", password)
+                      .then()
+                      .block()
+        return 1L
+    }
+
+    private long count(String sql) {
+        return databaseClient.sql(sql).map(row -> row.get(0, Long)).one().block()
+    }
+}
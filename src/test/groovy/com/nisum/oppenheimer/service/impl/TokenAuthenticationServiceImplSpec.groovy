@@ -0,0 +1,50 @@
+package com.nisum.oppenheimer.service.impl
+
+import com.nisum.oppenheimer.model.User
+import com.nisum.oppenheimer.security.SigningKeyRing
+import com.nisum.oppenheimer.service.spec.TokenService
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.test.context.ActiveProfiles
+import spock.lang.Specification
+
+/**
+ * TokenAuthenticationServiceImplSpec is a Spock specification for testing the
+ * {@link TokenAuthenticationServiceImpl} class.
+ *
+ * <p>
+ * The tests verify that a token is verified only once while it stays cached,
+ * that invalid tokens are never cached, and that cache statistics are exported.
+ * </p>
+ */
+@ActiveProfiles("test")
+class TokenAuthenticationServiceImplSpec extends Specification {
+
+    TokenService realTokenService = new TokenServiceImpl(SigningKeyRing.hmac("secretKey"), 3600000L)
+    TokenService tokenService = Spy(realTokenService)
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    TokenAuthenticationServiceImpl authenticationService = new TokenAuthenticationServiceImpl(tokenService, meterRegistry, 100)
+
+    def "should verify a token once and serve repeated requests from the cache"() {
+        given:
+            def token = realTokenService.generate(new User(email: "test@example.com", name: "Test User"))
+        when:
+            def first = authenticationService.authenticate(token)
+            def second = authenticationService.authenticate(token)
+        then:
+            1 * tokenService.validate(token)
+            first.get() == "test@example.com"
+            second.get() == "test@example.com"
+            meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count() == 1
+            meterRegistry.get("cache.hit.ratio").gauge().value() == 0.5
+    }
+
+    def "should not cache invalid tokens"() {
+        when:
+            def first = authenticationService.authenticate("invalid.token")
+            def second = authenticationService.authenticate("invalid.token")
+        then:
+            2 * tokenService.validate("invalid.token")
+            first.isEmpty()
+            second.isEmpty()
+    }
+}
@@ -1,12 +1,23 @@
 package com.nisum.oppenheimer.service.impl
 
+import com.auth0.jwt.JWT
 import com.auth0.jwt.interfaces.Claim
 import com.nisum.oppenheimer.model.User
+import com.nisum.oppenheimer.security.SigningKey
+import com.nisum.oppenheimer.security.SigningKeyRing
 import com.nisum.oppenheimer.service.spec.TokenService
 import org.springframework.test.context.ActiveProfiles
 import spock.lang.Specification
 import spock.lang.Subject
 
+import java.security.KeyPairGenerator
+import java.security.spec.ECGenParameterSpec
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneId
+import java.time.ZoneOffset
+import java.time.temporal.ChronoUnit
+
 import static org.junit.jupiter.api.Assertions.assertNotNull
 
 /**
@@ -36,7 +47,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull
 class TokenServiceImplSpec extends Specification {
 
     @Subject
-    TokenService tokenService = new TokenServiceImpl(key: "secretKey", expiration: 3600000)
+    TokenService tokenService = new TokenServiceImpl(SigningKeyRing.hmac("secretKey"), 3600000L)
 
     /**
      * Test case to verify the generation of a valid JWT token.
@@ -151,4 +162,92 @@ class TokenServiceImplSpec extends Specification {
             claims.get("name").asString() == user.getName()
             claims.get("sub").asString() == user.getEmail()
     }
+
+    /**
+     * Test case to verify that issued tokens carry a compact identifier in their jti claim.
+     */
+    def "should issue a token with a compact jti"() {
+        given:
+            User user = new User(email: "test@example.com", name: "Test User")
+        when:
+            def issued = tokenService.issue(user)
+        then:
+            issued.id().length() == 22
+            tokenService.decode(issued.token()).get("jti").asString() == issued.id()
+            tokenService.issue(user).id() != issued.id()
+    }
+
+    /**
+     * Test case to verify asymmetric signing with key rotation.
+     *
+     * <p>
+     * A token signed with the previous ES256 key must keep verifying while that key
+     * has not expired, new tokens must carry the kid of the newest active key, and
+     * tokens must stop verifying once their key expires.
+     * </p>
+     */
+    def "should sign with the newest ES256 key and verify tokens of overlapping keys"() {
+        given:
+            def now = Instant.parse("2026-10-16T00:00:00Z")
+            def clock = new MutableClock(now)
+            def oldKey = ecKey("old", now.minus(30, ChronoUnit.DAYS), now.plus(1, ChronoUnit.DAYS))
+            def newKey = ecKey("new", now.minus(1, ChronoUnit.HOURS), null)
+            def futureKey = ecKey("future", now.plus(10, ChronoUnit.DAYS), null)
+            def user = new User(email: "test@example.com", name: "Test User")
+
+            def previous = new TokenServiceImpl(SigningKeyRing.asymmetric("ES256", [oldKey], clock), 3600000L)
+            def current = new TokenServiceImpl(SigningKeyRing.asymmetric("ES256", [oldKey, newKey, futureKey], clock), 3600000L)
+            def oldToken = previous.generate(user)
+        when:
+            def newToken = current.generate(user)
+        then:
+            JWT.decode(newToken).keyId == "new"
+            JWT.decode(newToken).algorithm == "ES256"
+            current.verify(newToken)
+            current.verify(oldToken)
+
+        when: "The old key expires"
+            clock.instant = now.plus(2, ChronoUnit.DAYS)
+        then:
+            !current.verify(oldToken)
+    }
+
+    def "should not verify an ES256 token with an unknown kid"() {
+        given:
+            def now = Instant.now()
+            def signer = new TokenServiceImpl(SigningKeyRing.asymmetric("ES256", [ecKey("a", now, null)], Clock.systemUTC()), 3600000L)
+            def verifier = new TokenServiceImpl(SigningKeyRing.asymmetric("ES256", [ecKey("b", now, null)], Clock.systemUTC()), 3600000L)
+        expect:
+            !verifier.verify(signer.generate(new User(email: "test@example.com", name: "Test User")))
+    }
+
+    private static SigningKey ecKey(String kid, Instant activeFrom, Instant expiresAt) {
+        def generator = KeyPairGenerator.getInstance("EC")
+        generator.initialize(new ECGenParameterSpec("secp256r1"))
+        def keyPair = generator.generateKeyPair()
+        new SigningKey(kid, keyPair.public, keyPair.private, activeFrom, expiresAt)
+    }
+
+    static class MutableClock extends Clock {
+        Instant instant
+
+        MutableClock(Instant instant) {
+            this.instant = instant
+        }
+
+        @Override
+        ZoneId getZone() {
+            ZoneOffset.UTC
+        }
+
+        @Override
+        Clock withZone(ZoneId zone) {
+            this
+        }
+
+        @Override
+        Instant instant() {
+            instant
+        }
+    }
 }
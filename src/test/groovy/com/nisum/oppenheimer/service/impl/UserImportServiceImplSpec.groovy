@@ -0,0 +1,158 @@
+package com.nisum.oppenheimer.service.impl
+
+import com.fasterxml.jackson.databind.DeserializationFeature
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.nisum.oppenheimer.model.User
+import com.nisum.oppenheimer.model.id.TimeOrderedIdGenerator
+import com.nisum.oppenheimer.repository.UserRepository
+import com.nisum.oppenheimer.service.exception.ServiceOverloadedException
+import com.nisum.oppenheimer.service.record.ImportResultRecord
+import com.nisum.oppenheimer.service.record.OutboxEventRecord
+import com.nisum.oppenheimer.service.spec.EmailIndexService
+import com.nisum.oppenheimer.service.spec.OutboxService
+import com.nisum.oppenheimer.service.spec.PasswordHashService
+import jakarta.validation.Validation
+import org.springframework.dao.DataIntegrityViolationException
+import org.springframework.test.context.ActiveProfiles
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Duration
+import java.time.LocalDateTime
+
+/**
+ * UserImportServiceImplSpec is a Spock specification for testing the
+ * {@link UserImportServiceImpl} class.
+ *
+ * <p>
+ * The tests verify that JSON arrays and NDJSON streams are imported in batches, that
+ * passwords are hashed once per batch, that every record is reported in input
+ * order as created, duplicate or invalid, and that a saturated hashing stage is waited
+ * for and, past the timeout, ends the import with an aborted result.
+ * </p>
+ */
+@ActiveProfiles("test")
+class UserImportServiceImplSpec extends Specification {
+
+    static final String PASSWORD = "@Password123"
+
+    UserRepository userRepository = Mock(UserRepository)
+    PasswordHashService passwordHashService = Mock(PasswordHashService)
+    EmailIndexService emailIndexService = Mock(EmailIndexService)
+    OutboxService outboxService = Mock(OutboxService) {
+        userCreated(_) >> { User user -> new OutboxEventRecord(1L, user.xkey, OutboxEventRecord.USER_CREATED, '{}', LocalDateTime.now()) }
+    }
+    ObjectMapper objectMapper = new ObjectMapper().enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+
+    UserImportServiceImpl userImportService = new UserImportServiceImpl(
+            objectMapper,
+            Validation.buildDefaultValidatorFactory().validator,
+            userRepository,
+            passwordHashService,
+            emailIndexService,
+            new TimeOrderedIdGenerator(0, Clock.systemUTC()),
+            new TransactionTemplate(Mock(PlatformTransactionManager)),
+            outboxService)
+
+    def setup() {
+        userImportService.batchSize = 2
+        userImportService.overloadTimeout = Duration.ofSeconds(1)
+        emailIndexService.existing(_) >> ([] as Set)
+        passwordHashService.encodeAll(_) >> { List passwords -> passwords.collect { "hash" } }
+    }
+
+    private static String user(String email) {
+        """{"name":"Jane","email":"${email}","password":"${PASSWORD}","phones":[{"number":"1234","citycode":"1","countrycode":"57"}]}"""
+    }
+
+    private List<ImportResultRecord> importUsers(String body, List<List<ImportResultRecord>> batches = []) {
+        userImportService.importUsers(new ByteArrayInputStream(body.bytes), { batches << it })
+        batches.flatten() as List<ImportResultRecord>
+    }
+
+    def "should import an NDJSON stream in batches"() {
+        given:
+            def batches = []
+        when:
+            def results = importUsers([user("a@nisum.com"), user("b@nisum.com"), user("c@nisum.com")].join("\n"), batches)
+        then:
+            batches.size() == 2
+            results*.status == ["created", "created", "created"]
+            results*.index == [0L, 1L, 2L]
+            results.every { it.id() != null }
+            2 * userRepository.saveAll(_)
+    }
+
+    def "should import a JSON array"() {
+        when:
+            def results = importUsers("[" + user("a@nisum.com") + "," + user("b@nisum.com") + "]")
+        then:
+            results*.status == ["created", "created"]
+    }
+
+    def "should report invalid, unknown and duplicate records without stopping"() {
+        given:
+            userImportService.batchSize = 10
+            def body = [user("not-an-email"),
+                        '{"name":"Jane","unknown":true}',
+                        user("taken@nisum.com"),
+                        user("a@nisum.com"),
+                        user("a@nisum.com")].join("\n")
+        when:
+            def results = importUsers(body)
+        then:
+            emailIndexService.existing(_) >> { args -> args[0].contains("taken@nisum.com") ? ["taken@nisum.com"] as Set : [] as Set }
+            results*.status == ["invalid", "invalid", "duplicate", "created", "duplicate"]
+            results[0].message().contains("email")
+    }
+
+    def "should fall back to one insert per user when the batch hits a unique constraint"() {
+        when:
+            def results = importUsers([user("a@nisum.com"), user("b@nisum.com")].join("\n"))
+        then:
+            1 * userRepository.saveAll(_) >> { throw new DataIntegrityViolationException("uc_users_email") }
+            1 * userRepository.save({ it.email == "a@nisum.com" }) >> { throw new DataIntegrityViolationException("uc_users_email") }
+            1 * userRepository.save({ it.email == "b@nisum.com" }) >> { args -> args[0] }
+            results*.status == ["duplicate", "created"]
+    }
+
+    def "should stop at malformed JSON after reporting the records before it"() {
+        when:
+            def results = importUsers(user("a@nisum.com") + "\n{\"name\": ")
+        then:
+            results*.status == ["created", "invalid"]
+            results[1].message() == "Malformed JSON"
+    }
+
+    def "should wait for the hashing stage while it is saturated"() {
+        when:
+            def results = importUsers([user("a@nisum.com"), user("b@nisum.com")].join("\n"))
+        then:
+            2 * passwordHashService.encodeAll(_) >> { throw overloaded() }
+            1 * passwordHashService.encodeAll(_) >> ["hash", "hash"]
+            results*.status == ["created", "created"]
+    }
+
+    def "should end the import with an aborted result when the hashing stage stays saturated"() {
+        given:
+            userImportService.overloadTimeout = Duration.ofMillis(50)
+            def body = [user("a@nisum.com"), user("b@nisum.com"),
+                        user("not-an-email"), user("c@nisum.com"),
+                        user("d@nisum.com")].join("\n")
+        when:
+            def results = importUsers(body)
+        then:
+            1 * passwordHashService.encodeAll(_) >> ["hash", "hash"]
+            _ * passwordHashService.encodeAll(_) >> { throw overloaded() }
+            results*.status == ["created", "created", "invalid", "aborted"]
+            results[3].index() == 3L
+            results[3].email() == "c@nisum.com"
+            0 * userRepository.saveAll({ it.any { it.email == "d@nisum.com" } })
+    }
+
+    private static ServiceOverloadedException overloaded() {
+        new ServiceOverloadedException("Too many concurrent sign-ups, please retry later", Duration.ofMillis(10))
+    }
+}
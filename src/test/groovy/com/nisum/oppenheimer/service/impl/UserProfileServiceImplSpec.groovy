@@ -0,0 +1,68 @@
+package com.nisum.oppenheimer.service.impl
+
+import com.nisum.oppenheimer.repository.UserRepository
+import com.nisum.oppenheimer.repository.projection.UserSummary
+import com.nisum.oppenheimer.repository.routing.ReplicaRouting
+import com.nisum.oppenheimer.service.exception.UserNotFoundException
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.test.context.ActiveProfiles
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.LocalDateTime
+
+/**
+ * UserProfileServiceImplSpec is a Spock specification for testing the
+ * {@link UserProfileServiceImpl} class.
+ *
+ * <p>
+ * The tests verify that profiles are read through the cache, that unknown keys are
+ * neither cached nor hidden, and that eviction forces the next read to hit the repository.
+ * </p>
+ */
+@ActiveProfiles("test")
+class UserProfileServiceImplSpec extends Specification {
+
+    UserRepository userRepository = Mock(UserRepository)
+    UserProfileServiceImpl userProfileService =
+            new UserProfileServiceImpl(userRepository, ReplicaRouting.disabled(), new SimpleMeterRegistry(), 100,
+                                       Duration.ofMinutes(1))
+
+    def summary = new UserSummary("user-key", "Jane Doe", "jane.doe@nisum.com",
+                                  LocalDateTime.parse("2023-09-22T12:00:00"),
+                                  LocalDateTime.parse("2023-09-22T12:30:00.123456"))
+
+    def "should load the profile once and serve it from the cache afterwards"() {
+        when:
+            def first = userProfileService.find("user-key")
+            def second = userProfileService.find("user-key")
+        then:
+            1 * userRepository.findSummaryByXkey("user-key") >> Optional.of(summary)
+            first.is(second)
+            first.email() == "jane.doe@nisum.com"
+            first.modified() == "2023-09-22T12:30:00.123456"
+            first.etag() == '"20230922123000123456"'
+    }
+
+    def "should reload the profile after it is evicted"() {
+        when:
+            userProfileService.find("user-key")
+            userProfileService.evict("user-key")
+            userProfileService.find("user-key")
+        then:
+            2 * userRepository.findSummaryByXkey("user-key") >> Optional.of(summary)
+    }
+
+    def "should not cache unknown keys"() {
+        when:
+            userProfileService.find("missing")
+        then:
+            1 * userRepository.findSummaryByXkey("missing") >> Optional.empty()
+            thrown(UserNotFoundException)
+        when:
+            userProfileService.find("missing")
+        then:
+            1 * userRepository.findSummaryByXkey("missing") >> Optional.empty()
+            thrown(UserNotFoundException)
+    }
+}
@@ -0,0 +1,119 @@
+package com.nisum.oppenheimer.service.impl
+
+import com.nisum.oppenheimer.model.id.TimeOrderedIdGenerator
+import com.nisum.oppenheimer.repository.UserRepository
+import com.nisum.oppenheimer.repository.projection.UserListing
+import com.nisum.oppenheimer.util.Constants
+import org.springframework.data.domain.Limit
+import org.springframework.test.context.ActiveProfiles
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Duration
+import java.time.LocalDateTime
+import java.time.ZoneId
+
+/**
+ * UserSearchServiceImplSpec is a Spock specification for testing the
+ * {@link UserSearchServiceImpl} class.
+ *
+ * <p>
+ * The tests verify that one extra row is asked for to detect the next page, that the continuation
+ * token carries the keyset position, that the created range becomes a range of ids in the configured
+ * zone, widened by the clock skew, together with the exact range, that the email prefix is escaped, and
+ * that bad limits and tokens are rejected.
+ * </p>
+ */
+@ActiveProfiles("test")
+class UserSearchServiceImplSpec extends Specification {
+
+    UserRepository userRepository = Mock(UserRepository)
+    TimeOrderedIdGenerator idGenerator = new TimeOrderedIdGenerator(0, Clock.systemUTC())
+    UserSearchServiceImpl userSearchService = new UserSearchServiceImpl(userRepository, idGenerator)
+
+    def setup() {
+        userSearchService.defaultPageSize = 2
+        userSearchService.maxPageSize = 10
+        userSearchService.zone = ZoneId.of("America/Santiago")
+        userSearchService.clockSkew = Duration.ofSeconds(1)
+    }
+
+    def "should return a full page with the token of its last user"() {
+        when:
+            def page = userSearchService.search(null, null, null, null, null)
+        then:
+            1 * userRepository.findPage(0, Long.MAX_VALUE, null, null, "%", Limit.of(3)) >> [listing(1), listing(2), listing(3)]
+            page.users()*.id() == ["key-1", "key-2"]
+            UserSearchServiceImpl.decode(page.next()) == 2
+    }
+
+    def "should resume after the token and end on a short page"() {
+        given:
+            def from = LocalDateTime.parse("2023-09-01T00:00:00")
+        when:
+            def page = userSearchService.search("jane", from, null, 5, UserSearchServiceImpl.encode(2))
+        then: "2023 is before the first id, so it does not raise the lower bound"
+            1 * userRepository.findPage(2, Long.MAX_VALUE, from, null, "jane%", Limit.of(6)) >> [listing(3)]
+            page.users()*.id() == ["key-3"]
+            page.next() == null
+    }
+
+    def "should search a created range as a wider range of ids and the exact range"() {
+        given:
+            def from = LocalDateTime.parse("2026-10-01T00:00:00")
+            def to = LocalDateTime.parse("2026-10-16T00:00:00")
+            def fromId = idGenerator.firstIdAt(from.minusSeconds(1).atZone(ZoneId.of("America/Santiago")).toInstant())
+            def toId = idGenerator.firstIdAt(to.plusSeconds(1).atZone(ZoneId.of("America/Santiago")).toInstant())
+        when:
+            userSearchService.search(null, from, to, null, null)
+            userSearchService.search(null, from, to, null, UserSearchServiceImpl.encode(fromId + 10))
+        then:
+            1 * userRepository.findPage(fromId - 1, toId, from, to, "%", Limit.of(3)) >> []
+            1 * userRepository.findPage(fromId + 10, toId, from, to, "%", Limit.of(3)) >> []
+    }
+
+    def "should escape the wildcards of the email prefix"() {
+        expect:
+            UserSearchServiceImpl.toPattern(prefix) == pattern
+        where:
+            prefix       | pattern
+            null         | "%"
+            ""           | "%"
+            "jane_doe"   | "jane\\_doe%"
+            "100%"       | "100\\%%"
+            "back\\"     | "back\\\\%"
+    }
+
+    def "should reject a limit out of range"() {
+        when:
+            userSearchService.search(null, null, null, limit, null)
+        then:
+            def e = thrown(IllegalArgumentException)
+            e.message == Constants.PAGE_LIMIT_INVALID + 10
+            0 * userRepository._
+        where:
+            limit << [0, 11]
+    }
+
+    def "should reject a malformed token"() {
+        when:
+            userSearchService.search(null, null, null, null, token)
+        then:
+            def e = thrown(IllegalArgumentException)
+            e.message == Constants.PAGE_TOKEN_INVALID
+        where:
+            token << ["not base64!", "AAAA"]
+    }
+
+    private UserListing listing(long id) {
+        def created = LocalDateTime.parse("2023-09-22T12:00:00").plusMinutes(id)
+        Stub(UserListing) {
+            getId() >> id
+            getXkey() >> "key-" + id
+            getName() >> "User " + id
+            getEmail() >> "user" + id + "@nisum.com"
+            getCreated() >> created
+            getModified() >> created
+        }
+    }
+}
@@ -1,19 +1,38 @@
 package com.nisum.oppenheimer.service.impl
 
+import com.nisum.oppenheimer.api.restful.controllers.dto.LoginDTO
 import com.nisum.oppenheimer.api.restful.controllers.dto.PhoneDTO
 import com.nisum.oppenheimer.api.restful.controllers.dto.UserDTO
+import com.nisum.oppenheimer.metrics.SignUpMetrics
 import com.nisum.oppenheimer.model.Phone
 import com.nisum.oppenheimer.model.User
+import com.nisum.oppenheimer.model.id.TimeOrderedIdGenerator
 import com.nisum.oppenheimer.repository.UserRepository
+import com.nisum.oppenheimer.repository.routing.ReplicaRouting
+import com.nisum.oppenheimer.service.exception.AuthenticationFailedException
+import com.nisum.oppenheimer.service.exception.DuplicateEmailException
+import com.nisum.oppenheimer.service.record.IssuedToken
+import com.nisum.oppenheimer.service.record.OutboxEventRecord
 import com.nisum.oppenheimer.service.record.UserRecord
+import com.nisum.oppenheimer.service.spec.EmailIndexService
+import com.nisum.oppenheimer.service.spec.LastLoginService
+import com.nisum.oppenheimer.service.spec.OutboxService
+import com.nisum.oppenheimer.service.spec.PasswordHashService
 import com.nisum.oppenheimer.service.spec.TokenService
+import com.nisum.oppenheimer.service.spec.UserProfileService
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest
-import org.springframework.security.crypto.argon2.Argon2PasswordEncoder
+import org.springframework.dao.DataIntegrityViolationException
 import org.springframework.test.context.ActiveProfiles
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
 import spock.lang.Ignore
 import spock.lang.Specification
 import spock.lang.Subject
 
+import java.time.Clock
+import java.time.LocalDateTime
+
 import static org.junit.jupiter.api.Assertions.assertNotNull
 
 /**
@@ -27,11 +46,26 @@ import static org.junit.jupiter.api.Assertions.assertNotNull
 class UserServiceImplSpec extends Specification {
 
     UserRepository userRepository = Mock(UserRepository)
-    Argon2PasswordEncoder passwordEncoder = Mock(Argon2PasswordEncoder)
+    PasswordHashService passwordHashService = Mock(PasswordHashService)
     TokenService tokenService = Mock(TokenService)
+    LastLoginService lastLoginService = Mock(LastLoginService)
+    UserProfileService userProfileService = Mock(UserProfileService)
+    EmailIndexService emailIndexService = Mock(EmailIndexService)
+    OutboxService outboxService = Mock(OutboxService) {
+        userCreated(_) >> { User user -> new OutboxEventRecord(1L, user.xkey, OutboxEventRecord.USER_CREATED, '{}', LocalDateTime.now()) }
+    }
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
 
     @Subject
-    UserServiceImpl userService = new UserServiceImpl(userRepository,passwordEncoder,tokenService)
+    UserServiceImpl userService = new UserServiceImpl(userRepository,passwordHashService,tokenService,lastLoginService,
+                                                      new TimeOrderedIdGenerator(0, Clock.systemUTC()),
+                                                      userProfileService, emailIndexService,
+                                                      new SignUpMetrics(meterRegistry), ReplicaRouting.disabled(),
+                                                      outboxService, new TransactionTemplate(Mock(PlatformTransactionManager)))
+
+    def setup() {
+        userService.persistTokenId = true
+    }
 
     def "should create user successfully"() {
         given:
@@ -47,9 +81,8 @@ class UserServiceImplSpec extends Specification {
                                 .name(userDTO.getName())
                                 .email(userDTO.getEmail())
                                 .password(userDTO.getPassword())
-                                .token(UUID.randomUUID().toString())
-                                .phones(Set.of(Phone.builder()
-                                                .xkey(UUID.randomUUID().toString())
+                                .tokenId("token-id")
+                                .phones(List.of(Phone.builder()
                                                 .number(Long.parseLong("8093433232"))
                                                 .cityCode(Short.parseShort("1"))
                                                 .countryCode(Short.parseShort("57"))
@@ -59,14 +92,79 @@ class UserServiceImplSpec extends Specification {
         when:
             UserRecord result = userService.create(userDTO)
         then:
-            1 * userRepository.existsByEmail(userDTO.getEmail()) >> false
-            1 * userRepository.save(_) >> savedUser
+            1 * emailIndexService.exists(userDTO.getEmail()) >> false
+            1 * emailIndexService.add(userDTO.getEmail())
+            1 * tokenService.issue(_) >> new IssuedToken("signed-jwt", "token-id")
+            1 * userRepository.save({ it.tokenId == "token-id" && it.phones == savedUser.phones }) >> savedUser
+            1 * outboxService.append({ it*.aggregateKey() == [savedUser.xkey] })
             assertNotNull(result)
             result.id == savedUser.getXkey()
-            result.token == savedUser.getToken()
+            result.token == "signed-jwt"
             result.isActive()
     }
 
+    def "should login with valid credentials and buffer the last login"() {
+        given:
+            def user = User.builder()
+                           .id(7L)
+                           .xkey(UUID.randomUUID().toString())
+                           .name("John Doe")
+                           .email("john.doe@example.com")
+                           .password("stored-hash")
+                           .build()
+            user.setCreated(LocalDateTime.now().minusDays(1))
+            user.setModified(user.getCreated())
+        when:
+            UserRecord result = userService.login(new LoginDTO("john.doe@example.com", "SecureP@ssw0rd"))
+        then:
+            1 * userRepository.findByEmail("john.doe@example.com") >> Optional.of(user)
+            1 * passwordHashService.matches("SecureP@ssw0rd", "stored-hash") >> true
+            1 * passwordHashService.upgradeEncoding("stored-hash") >> false
+            1 * lastLoginService.record(7L, _ as LocalDateTime)
+            1 * tokenService.generate(user) >> "fresh-token"
+            0 * userRepository.save(_)
+            result.token == "fresh-token"
+            result.lastLogin != result.created
+    }
+
+    def "should rehash the password on login when the stored hash is weaker than the current settings"() {
+        given:
+            def user = User.builder().id(7L).xkey("user-key").email("john.doe@example.com").password("weak-hash").build()
+            user.setCreated(LocalDateTime.now())
+        when:
+            userService.login(new LoginDTO("john.doe@example.com", "SecureP@ssw0rd"))
+        then:
+            1 * userRepository.findByEmail(_) >> Optional.of(user)
+            1 * passwordHashService.matches(_, "weak-hash") >> true
+            1 * passwordHashService.upgradeEncoding("weak-hash") >> true
+            1 * passwordHashService.encode("SecureP@ssw0rd") >> "strong-hash"
+            1 * userRepository.save({ it.password == "strong-hash" }) >> { args -> args[0] }
+            1 * userProfileService.evict("user-key")
+    }
+
+    def "should reject login with a wrong password"() {
+        given:
+            def user = User.builder().id(7L).email("john.doe@example.com").password("stored-hash").build()
+        when:
+            userService.login(new LoginDTO("john.doe@example.com", "wrong"))
+        then:
+            1 * userRepository.findByEmail(_) >> Optional.of(user)
+            1 * passwordHashService.matches("wrong", "stored-hash") >> false
+            0 * lastLoginService.record(_, _)
+            thrown(AuthenticationFailedException)
+    }
+
+    def "should reject login for an unknown email after verifying the dummy hash"() {
+        when:
+            userService.login(new LoginDTO("nobody@example.com", "SecureP@ssw0rd"))
+        then:
+            1 * userRepository.findByEmail(_) >> Optional.empty()
+            1 * passwordHashService.dummyHash() >> "dummy-hash"
+            1 * passwordHashService.matches("SecureP@ssw0rd", "dummy-hash") >> false
+            0 * lastLoginService.record(_, _)
+            thrown(AuthenticationFailedException)
+    }
+
     @Ignore
     def "should create a new user successfully"() {
         given: "A valid UserDTO with no existing email in the database"
@@ -86,17 +184,16 @@ class UserServiceImplSpec extends Specification {
                     .password(userDTO.password)
                     .phones([
                             Phone.builder()
-                                    .xkey(UUID.randomUUID().toString())
                                     .number(Long.parseLong("1234567890"))
                                     .cityCode(Short.parseShort("01"))
                                     .countryCode(Short.parseShort("1"))
                                     .build()
-                    ] as Set)
-                    .token(UUID.randomUUID().toString())
+                    ])
+                    .tokenId("token-id")
                     .build()
 
         when: "The create method is called"
-            1 * userRepository.existsByEmail(userDTO.email) >> false
+            1 * emailIndexService.exists(userDTO.email) >> false
             1 * userRepository.save(_) >> savedUser
 
             def result = userService.create(userDTO)
@@ -105,13 +202,13 @@ class UserServiceImplSpec extends Specification {
             result instanceof UserRecord
             result.id == savedUser.id
             result.created != null
-            result.token == savedUser.token
-            1 * userRepository.existsByEmail(userDTO.email)
+            result.token != null
+            1 * emailIndexService.exists(userDTO.email)
             1 * userRepository.save(_)
     }
 
     @Ignore
-    def "should throw IllegalArgumentException when email already exists"() {
+    def "should throw DuplicateEmailException when email already exists"() {
         given: "A UserDTO with an email that already exists"
             def userDTO = new UserDTO(
                     name: "Jane Doe",
@@ -120,11 +217,58 @@ class UserServiceImplSpec extends Specification {
                     phones: []
             )
         when: "The create method is called"
-            userRepository.existsByEmail(userDTO.email) >> true
+            emailIndexService.exists(userDTO.email) >> true
             userService.create(userDTO)
         then: "An exception is thrown"
-            thrown(IllegalArgumentException)
-            1 * userRepository.existsByEmail(userDTO.email)
+            thrown(DuplicateEmailException)
+            1 * emailIndexService.exists(userDTO.email)
             0 * userRepository.save(_)
     }
+
+    def "should reject a duplicate email found by the index before hashing the password"() {
+        given:
+            def userDTO = new UserDTO(name: "Jane Doe", email: "jane.doe@example.com", password: "P@ssw0rd", phones: [])
+        when:
+            userService.create(userDTO)
+        then:
+            1 * emailIndexService.exists("jane.doe@example.com") >> true
+            0 * passwordHashService.encode(_)
+            0 * userRepository.save(_)
+            thrown(DuplicateEmailException)
+    }
+
+    def "should report a duplicate caught by the unique constraint"() {
+        given:
+            def userDTO = new UserDTO(name: "Jane Doe", email: "jane.doe@example.com", password: "P@ssw0rd", phones: [])
+        when:
+            userService.create(userDTO)
+        then:
+            1 * emailIndexService.exists("jane.doe@example.com") >> false
+            1 * tokenService.issue(_) >> new IssuedToken("signed-jwt", "token-id")
+            1 * userRepository.save(_) >> { throw new DataIntegrityViolationException("uc_users_email") }
+            1 * userRepository.existsByEmail("jane.doe@example.com") >> true
+            1 * emailIndexService.add("jane.doe@example.com")
+            thrown(DuplicateEmailException)
+    }
+
+    def "should time each sign-up stage and count the outcome"() {
+        given:
+            def userDTO = new UserDTO(name: "Jane Doe", email: "jane.doe@example.com", password: "P@ssw0rd", phones: [])
+            emailIndexService.exists(_) >>> [false, true]
+            passwordHashService.encode(_) >> "hash"
+            tokenService.issue(_) >> new IssuedToken("signed-jwt", "token-id")
+            userRepository.save(_) >> { args -> args[0] }
+        when:
+            userService.create(userDTO)
+            userService.create(userDTO)
+        then:
+            thrown(DuplicateEmailException)
+            meterRegistry.get("user.signup.stage").tag("stage", "email_check").timer().count() == 2
+            ["password_hash", "token", "insert"].every {
+                meterRegistry.get("user.signup.stage").tag("stage", it).timer().count() == 1
+            }
+            meterRegistry.get("user.signup.outcome").tag("outcome", "created").counter().count() == 1
+            meterRegistry.get("user.signup.outcome").tag("outcome", "duplicate").counter().count() == 1
+            meterRegistry.get("user.signup.outcome").tag("outcome", "error").counter().count() == 0
+    }
 }
@@ -0,0 +1,58 @@
+package com.nisum.oppenheimer.util
+
+import org.springframework.test.context.ActiveProfiles
+import spock.lang.Specification
+
+/**
+ * BloomFilterSpec is a Spock specification for testing the {@link BloomFilter} class.
+ *
+ * <p>
+ * The tests verify that the filter never reports an added string as absent, that its
+ * false-positive rate stays close to the configured one at capacity, and that it is
+ * sized from the expected entries and the target rate.
+ * </p>
+ */
+@ActiveProfiles("test")
+class BloomFilterSpec extends Specification {
+
+    def "should never give false negatives and keep false positives near the target rate"() {
+        given:
+            def filter = new BloomFilter(10_000, 0.01)
+            (0..<10_000).each { filter.put("user${it}@nisum.com") }
+        when:
+            def falsePositives = (0..<10_000).count { filter.mightContain("other${it}@nisum.com") }
+        then:
+            (0..<10_000).every { filter.mightContain("user${it}@nisum.com") }
+            falsePositives < 200
+            Math.abs(filter.approximateEntries() - 10_000) < 500
+            filter.expectedFalsePositiveRate() < 0.02
+    }
+
+    def "should be sized from the expected entries and false-positive rate"() {
+        when:
+            def filter = new BloomFilter(1_000_000, 0.01)
+        then: "About 9.6 bits and 7 hash functions per entry"
+            filter.sizeInBytes() in (1_190_000..1_210_000)
+            filter.hashFunctions() == 7
+    }
+
+    def "should report whether an addition changed the filter"() {
+        given:
+            def filter = new BloomFilter(100, 0.01)
+        expect:
+            filter.put("jane.doe@nisum.com")
+            !filter.put("jane.doe@nisum.com")
+    }
+
+    def "should reject invalid sizing"() {
+        when:
+            new BloomFilter(entries, rate)
+        then:
+            thrown(IllegalArgumentException)
+        where:
+            entries | rate
+            0       | 0.01
+            100     | 0
+            100     | 1
+    }
+}
@@ -0,0 +1,93 @@
+package com.nisum.oppenheimer.validation
+
+import com.nisum.oppenheimer.util.Constants
+import jakarta.validation.Validation
+import jakarta.validation.Validator
+import jakarta.validation.constraints.Email
+import jakarta.validation.constraints.Pattern
+import org.springframework.test.context.ActiveProfiles
+import spock.lang.Shared
+import spock.lang.Specification
+
+/**
+ * CharacterRulesSpec checks {@link CharacterRules} against the regular expressions and the
+ * {@code @Email} constraint it replaces.
+ *
+ * <p>
+ * Every rule is run over a hand-picked corpus of edge cases and over a seeded random corpus
+ * drawn from the characters that matter to each expression, and must give exactly the same
+ * accept/reject decision as the original constraints.
+ * </p>
+ */
+@ActiveProfiles("test")
+class CharacterRulesSpec extends Specification {
+
+    static final long SEED = 20261016L
+
+    @Shared
+    Validator validator = Validation.buildDefaultValidatorFactory().validator
+
+    static class RegexEmail {
+        @Email
+        @Pattern(regexp = Constants.EMAIL_REGEX)
+        String email
+    }
+
+    static final List<String> EMAILS = [
+            "", "@", "a@", "@x.com", "a@x", "a@x.", "a@.com", "a@x.c", "a@x.co", "a@x.comm", "a@x.commm",
+            "jane.doe@nisum.com", "jane-doe_1@mail.nisum.co", "JANE@NISUM.COM", ".jane@nisum.com", "jane.@nisum.com",
+            "ja..ne@nisum.com", "jane@@nisum.com", "ja@ne@nisum.com", "jane@-nisum.com", "jane@nisum-.com",
+            "jane@ni-sum.com", "jane@nisum.-com", "jane@nisum.co-", "jane@nisum..com", "jane@nisum.com.",
+            "jane@_.com", "jane@nisum._m", "jane+1@nisum.com", "jane doe@nisum.com", "jane@nisum.com\n",
+            "j\u00e9ne@nisum.com", "jane@n\u00efsum.com", "a" * 64 + "@x.com", "a" * 65 + "@x.com",
+            "-@x.com", "_@x.com", "a@x.c-m", "a@1.23"
+    ]
+
+    static final List<String> PASSWORDS = [
+            "", "@Password123", "Password123", "@PASSWORD123", "@password123", "@Password", "Aa1@", "Aa1#", "Aa1\$",
+            "Aa1%", "Aa1^", "Aa1&", "Aa1+", "Aa1=", "Aa1!", "Aa1@\n", "\nAa1@", "Aa1@\r", "Aa1@\u2028", "Aa1@\u0085",
+            "Aa1@ spaced", "\u00c1a1@", "A\u00e11@", "Aa\u0661@"
+    ]
+
+    static final List<String> DIGITS = ["", "0", "0123456789", "12a", " 1", "1 ", "-1", "+1", "\u0661", "1\n", "\u0661\u0662"]
+
+    private boolean regexEmail(String value) {
+        validator.validate(new RegexEmail(email: value)).isEmpty()
+    }
+
+    private static List<String> fuzz(String alphabet, int maxLength, int count) {
+        def random = new Random(SEED)
+        (1..count).collect {
+            def length = random.nextInt(maxLength + 1)
+            (0..<length).collect { alphabet[random.nextInt(alphabet.length())] }.join()
+        }
+    }
+
+    def "should accept exactly the emails accepted by @Email and EMAIL_REGEX"() {
+        given:
+            def corpus = EMAILS + fuzz("aZ9_.-@x", 12, 20_000)
+        when:
+            def mismatches = corpus.findAll { CharacterRules.isEmail(it) != regexEmail(it) }
+        then:
+            mismatches.isEmpty()
+    }
+
+    def "should accept exactly the passwords accepted by PASSWORD_REGEX"() {
+        given:
+            def regex = java.util.regex.Pattern.compile(Constants.PASSWORD_REGEX)
+            def corpus = PASSWORDS + fuzz("aZ9@#! \n\u2028\u00e9", 7, 20_000)
+        when:
+            def mismatches = corpus.findAll { CharacterRules.isStrongPassword(it) != regex.matcher(it).matches() }
+        then:
+            mismatches.isEmpty()
+    }
+
+    def "should accept exactly the values accepted by the digit regexes"() {
+        given:
+            def regexes = [Constants.PHONE_NUMBER_REGEX, Constants.CITY_CODE_REGEX, Constants.COUNTRY_CODE_REGEX]
+                    .collect { java.util.regex.Pattern.compile(it) }
+            def corpus = DIGITS + fuzz("09a \u0661", 5, 5_000)
+        expect:
+            regexes.every { regex -> corpus.every { CharacterRules.isDigits(it) == regex.matcher(it).matches() } }
+    }
+}